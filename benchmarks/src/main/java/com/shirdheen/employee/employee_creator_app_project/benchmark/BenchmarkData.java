@@ -0,0 +1,66 @@
+package com.shirdheen.employee.employee_creator_app_project.benchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeDto;
+import com.shirdheen.employee.employee_creator_app_project.model.ContractType;
+import com.shirdheen.employee.employee_creator_app_project.model.Employee;
+import com.shirdheen.employee.employee_creator_app_project.model.EmploymentType;
+
+// Deterministic employees for the benchmarks. Names are built from syllables so the search
+// index sees a vocabulary that grows with the data set instead of a handful of repeated terms.
+final class BenchmarkData {
+
+    private static final String[] FIRST_NAMES = { "John", "Jane", "Alice", "Bob", "Priya", "Wei", "Omar", "Sofia",
+            "Liam", "Mia", "Noah", "Ava", "Ethan", "Zoe", "Lucas", "Chloe", "Mateo", "Isla", "Hiro", "Amara" };
+
+    private static final String[] SYLLABLES = { "smi", "th", "jo", "nes", "ber", "gar", "son", "ton", "wil",
+            "lia", "ms", "bro", "wn", "ta", "ylor", "mar", "tin", "lee", "wal", "ker", "har", "ris", "cla", "rk",
+            "lew", "is", "rob", "in", "kin", "ng" };
+
+    private BenchmarkData() {
+    }
+
+    static List<Employee> employees(int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(employee(i + 1L, random));
+        }
+        return employees;
+    }
+
+    static List<EmployeeDto> dtos(int count) {
+        return employees(count).stream().map(EmployeeDto::new).toList();
+    }
+
+    static Employee employee(long id, SplittableRandom random) {
+        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String lastName = capitalize(SYLLABLES[random.nextInt(SYLLABLES.length)]
+                + SYLLABLES[random.nextInt(SYLLABLES.length)] + SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        boolean permanent = random.nextBoolean();
+
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setFirstName(firstName);
+        employee.setLastName(lastName);
+        employee.setEmail(firstName.toLowerCase() + "." + lastName.toLowerCase() + id + "@example.com");
+        employee.setMobileNumber("+61 4" + (10000000 + random.nextInt(89999999)));
+        employee.setResidentialAddress(random.nextInt(200) + " " + lastName + " Street");
+        employee.setContractType(permanent ? ContractType.PERMANENT : ContractType.CONTRACT);
+        employee.setEmploymentType(random.nextInt(4) == 0 ? EmploymentType.PART_TIME : EmploymentType.FULL_TIME);
+        employee.setStartDate(LocalDate.of(2015, 1, 1).plusDays(random.nextInt(3650)));
+        employee.setFinishDate(permanent ? null : employee.getStartDate().plusYears(2));
+        employee.setOngoing(permanent);
+        employee.setSalary(60000 + random.nextInt(90000) * 1.0);
+        employee.setHoursPerWeek(employee.getEmploymentType() == EmploymentType.FULL_TIME ? 38 : 20);
+        return employee;
+    }
+
+    private static String capitalize(String value) {
+        return Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+}
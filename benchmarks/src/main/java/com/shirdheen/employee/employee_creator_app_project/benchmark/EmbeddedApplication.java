@@ -0,0 +1,47 @@
+package com.shirdheen.employee.employee_creator_app_project.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.shirdheen.employee.employee_creator_app_project.EmployeeCreatorAppProjectApplication;
+import com.shirdheen.employee.employee_creator_app_project.model.Employee;
+import com.shirdheen.employee.employee_creator_app_project.repository.EmployeeBatchWriter;
+import com.shirdheen.employee.employee_creator_app_project.search.EmployeeSearchIndexer;
+
+// Boots the whole application on a random port against in-memory H2 (see
+// application-benchmark.properties) and seeds it with BenchmarkData employees.
+final class EmbeddedApplication {
+
+    private EmbeddedApplication() {
+    }
+
+    static ConfigurableApplicationContext start(int employees, String... args) {
+        return start(employees, true, args);
+    }
+
+    // Leaving out the search index saves a lot of heap for benchmarks that don't search
+    static ConfigurableApplicationContext start(int employees, boolean searchIndex, String... args) {
+        String[] arguments = Arrays.copyOf(args, args.length + 1);
+        arguments[args.length] = "--server.port=0";
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                EmployeeCreatorAppProjectApplication.class)
+                .profiles("benchmark")
+                .run(arguments);
+
+        List<Employee> seed = BenchmarkData.employees(employees);
+        seed.forEach(employee -> employee.setId(null));
+        context.getBean(EmployeeBatchWriter.class).insertAll(seed, 1000);
+        if (searchIndex) {
+            // The index was built on startup from the empty table
+            context.getBean(EmployeeSearchIndexer.class).rebuild();
+        }
+        return context;
+    }
+
+    static String baseUrl(ConfigurableApplicationContext context) {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/employees";
+    }
+}
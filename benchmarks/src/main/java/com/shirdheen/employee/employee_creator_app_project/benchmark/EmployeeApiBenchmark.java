@@ -0,0 +1,94 @@
+package com.shirdheen.employee.employee_creator_app_project.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// End-to-end HTTP calls against the running application: Tomcat, MVC, JSON, service, cache
+// and the embedded database. Allocation figures include the server and the client.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeApiBenchmark {
+
+    private static final int EMPLOYEES = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = EmbeddedApplication.start(EMPLOYEES);
+        baseUrl = EmbeddedApplication.baseUrl(context);
+        client = HttpClient.newHttpClient();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String getById() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/" + randomId())).GET());
+    }
+
+    @Benchmark
+    public String firstPage() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/page?size=50")).GET());
+    }
+
+    @Benchmark
+    public String filter() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(
+                URI.create(baseUrl + "/filter?employmentType=PART_TIME&contractType=PERMANENT")).GET());
+    }
+
+    @Benchmark
+    public String search() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/search?keyword=smi&limit=20")).GET());
+    }
+
+    @Benchmark
+    public String patch() throws IOException, InterruptedException {
+        String body = "{\"salary\":" + ThreadLocalRandom.current().nextInt(60_000, 150_000)
+                + ",\"startDate\":\"2021-07-01\"}";
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/" + randomId()))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(body)));
+    }
+
+    private String send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(response.statusCode() + " " + response.body());
+        }
+        return response.body();
+    }
+
+    private static long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, EMPLOYEES + 1);
+    }
+}
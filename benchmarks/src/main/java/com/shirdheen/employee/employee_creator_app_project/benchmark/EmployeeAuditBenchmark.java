@@ -0,0 +1,93 @@
+package com.shirdheen.employee.employee_creator_app_project.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// The same PATCHes from several client threads with the audit log off and on. Budget: with
+// the audit log on, PATCH throughput stays within 5% of having it off. A synchronous audit
+// insert per write would add a second statement and commit to every request. Three forks of
+// ten iterations, as a single fork's error bars are wider than the budget.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+@Threads(4)
+public class EmployeeAuditBenchmark {
+
+    private static final int EMPLOYEES = 10_000;
+    private static final int THREADS = 4;
+
+    @Param({ "off", "on" })
+    private String audit;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private final AtomicInteger threads = new AtomicInteger();
+
+    // Each client thread patches its own slice of the employees, so no two threads race for
+    // one row's version
+    @State(Scope.Thread)
+    public static class Slice {
+        private int first;
+
+        @Setup(Level.Trial)
+        public void setUp(EmployeeAuditBenchmark benchmark) {
+            first = benchmark.threads.getAndIncrement() % THREADS * (EMPLOYEES / THREADS) + 1;
+        }
+
+        long randomId() {
+            return first + ThreadLocalRandom.current().nextInt(EMPLOYEES / THREADS);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = EmbeddedApplication.start(EMPLOYEES, false, "--employee.audit.enabled=" + audit.equals("on"));
+        baseUrl = EmbeddedApplication.baseUrl(context);
+        client = HttpClient.newHttpClient();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String patch(Slice slice) throws IOException, InterruptedException {
+        String body = "{\"salary\":" + ThreadLocalRandom.current().nextInt(60_000, 150_000)
+                + ",\"hoursPerWeek\":" + ThreadLocalRandom.current().nextInt(20, 40) + "}";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/" + slice.randomId()))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(body)).build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(response.statusCode() + " " + response.body());
+        }
+        return response.body();
+    }
+}
@@ -0,0 +1,121 @@
+package com.shirdheen.employee.employee_creator_app_project.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeDto;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeePageFilterDto;
+import com.shirdheen.employee.employee_creator_app_project.model.ContractType;
+import com.shirdheen.employee.employee_creator_app_project.service.EmployeeDerivedAttributes;
+import com.shirdheen.employee.employee_creator_app_project.service.EmployeeService;
+
+// First page of 50 for the date questions clients used to answer by fetching every employee
+// and filtering: "clientSide" loads the full list the way GET /api/employees does and filters
+// it in memory, "rangeQuery" is the /page query with the same filters.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EmployeeDateRangeBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    // A million rows do not fit next to the application in an in-memory database, so this one
+    // runs on an H2 file that each fork starts afresh
+    private static final Path DATABASE = Path.of(System.getProperty("java.io.tmpdir"), "employee-date-range-benchmark");
+    private static final Path DATABASE_FILE = Path.of(DATABASE + ".mv.db");
+
+    @Param({ "1000000" })
+    private int size;
+
+    // FINISHING_SOON: contracts ending in the next 30 days
+    // TENURE: current employees with at least 10 years of tenure
+    // WINDOW: anyone starting or finishing in a 30-day window
+    @Param({ "FINISHING_SOON", "TENURE", "WINDOW" })
+    private String query;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private EmployeeDerivedAttributes.AsOf asOf;
+    private EmployeePageFilterDto filter;
+    private Predicate<EmployeeDto> matches;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Files.deleteIfExists(DATABASE_FILE);
+        context = EmbeddedApplication.start(size, false, "--spring.datasource.url=jdbc:h2:file:" + DATABASE
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        employeeService = context.getBean(EmployeeService.class);
+        // BenchmarkData start dates run from 2015 to 2024
+        asOf = EmployeeDerivedAttributes.asOf(LocalDate.of(2025, 6, 1));
+        LocalDate today = asOf.date();
+        LocalDate in30Days = today.plusDays(30);
+
+        filter = new EmployeePageFilterDto();
+        switch (query) {
+            case "FINISHING_SOON" -> {
+                filter.setContractType(ContractType.CONTRACT);
+                filter.setFinishDateFrom(today);
+                filter.setFinishDateBefore(in30Days);
+                matches = employee -> employee.getContractType() == ContractType.CONTRACT
+                        && inRange(employee.getFinishDate(), today, in30Days);
+            }
+            case "TENURE" -> {
+                filter.setMinTenureYears(10);
+                filter.setOngoing(true);
+                LocalDate tenBefore = asOf.tenureBelowStartsOnOrAfter(10);
+                matches = employee -> employee.isOngoing() && employee.getStartDate().isBefore(tenBefore);
+            }
+            case "WINDOW" -> {
+                LocalDate windowFrom = LocalDate.of(2020, 3, 1);
+                filter.setStartOrFinishFrom(windowFrom);
+                filter.setStartOrFinishBefore(windowFrom.plusDays(30));
+                matches = employee -> inRange(employee.getStartDate(), windowFrom, windowFrom.plusDays(30))
+                        || inRange(employee.getFinishDate(), windowFrom, windowFrom.plusDays(30));
+            }
+            default -> throw new IllegalArgumentException(query);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        Files.deleteIfExists(DATABASE_FILE);
+    }
+
+    @Benchmark
+    public List<EmployeeDto> clientSide() {
+        return employeeService.getAllEmployees().stream().filter(matches).limit(PAGE_SIZE).toList();
+    }
+
+    @Benchmark
+    public List<EmployeeDto> rangeQuery() {
+        return employeeService.getEmployeesAfter(filter, null, PAGE_SIZE, asOf);
+    }
+
+    private static boolean inRange(LocalDate date, LocalDate from, LocalDate before) {
+        return date != null && !date.isBefore(from) && date.isBefore(before);
+    }
+}
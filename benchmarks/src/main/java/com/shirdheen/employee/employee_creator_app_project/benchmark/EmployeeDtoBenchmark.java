@@ -0,0 +1,115 @@
+package com.shirdheen.employee.employee_creator_app_project.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeDto;
+import com.shirdheen.employee.employee_creator_app_project.model.Employee;
+
+// Building EmployeeDto lists the three ways the app does (entity mapping, projection
+// constructor, cache copy) and writing them as a JSON array or as NDJSON.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeeDtoBenchmark {
+
+    @Param({ "100", "10000" })
+    private int size;
+
+    private List<Employee> employees;
+    private List<EmployeeDto> dtos;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        employees = BenchmarkData.employees(size);
+        dtos = employees.stream().map(EmployeeDto::new).toList();
+        // Same settings Spring Boot applies to the application's mapper
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    @Benchmark
+    public List<EmployeeDto> fromEntities() {
+        List<EmployeeDto> result = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            result.add(new EmployeeDto(employee));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<EmployeeDto> fromProjection() {
+        List<EmployeeDto> result = new ArrayList<>(employees.size());
+        for (Employee e : employees) {
+            result.add(new EmployeeDto(e.getId(), e.getFirstName(), e.getMiddleName(), e.getLastName(),
+                    e.getEmail(), e.getMobileNumber(), e.getResidentialAddress(), e.getContractType(),
+                    e.getEmploymentType(), e.getStartDate(), e.getFinishDate(), e.getSalary(),
+                    e.getHoursPerWeek(), e.isOngoing(), e.getVersion()));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<EmployeeDto> copies() {
+        List<EmployeeDto> result = new ArrayList<>(dtos.size());
+        for (EmployeeDto dto : dtos) {
+            result.add(new EmployeeDto(dto));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public byte[] serializeArray() throws IOException {
+        return objectMapper.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public long serializeNdjson() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+            for (EmployeeDto dto : dtos) {
+                writer.write(dto);
+            }
+        }
+        return out.count;
+    }
+
+    // Discards the bytes so only serialization is measured, not buffer growth
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
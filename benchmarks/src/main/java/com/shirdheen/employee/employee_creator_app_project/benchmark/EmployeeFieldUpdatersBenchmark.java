@@ -0,0 +1,101 @@
+package com.shirdheen.employee.employee_creator_app_project.benchmark;
+
+import java.lang.reflect.Field;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.ReflectionUtils;
+
+import com.shirdheen.employee.employee_creator_app_project.model.Employee;
+import com.shirdheen.employee.employee_creator_app_project.service.EmployeeFieldUpdaters;
+
+// PATCH type conversion: the field-updater registry used by EmployeeService.updateEmployee
+// against the per-request reflection it replaced.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeeFieldUpdatersBenchmark {
+
+    private Employee employee;
+    private Map<String, Object> updates;
+
+    @Setup
+    public void setUp() {
+        employee = BenchmarkData.employee(1L, new SplittableRandom(42));
+
+        // A typical edit-form PATCH: strings, an enum, a date and JSON numbers/booleans
+        updates = new LinkedHashMap<>();
+        updates.put("firstName", "Jane");
+        updates.put("lastName", "Citizen");
+        updates.put("contractType", "CONTRACT");
+        updates.put("startDate", "2024-03-01");
+        updates.put("finishDate", "2026-03-01");
+        updates.put("salary", 95000);
+        updates.put("hoursPerWeek", 38);
+        updates.put("ongoing", false);
+    }
+
+    @Benchmark
+    public Employee registry() {
+        EmployeeFieldUpdaters.apply(employee, updates);
+        return employee;
+    }
+
+    @Benchmark
+    public Employee reflection() {
+        updates.forEach((key, value) -> setReflectively(employee, key, value));
+        return employee;
+    }
+
+    // The conversion EmployeeService.updateEmployee did before the registry, kept as the baseline
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static void setReflectively(Employee employee, String key, Object value) {
+        try {
+            Field field = Employee.class.getDeclaredField(key);
+            field.setAccessible(true);
+            Class<?> fieldType = field.getType();
+            Object convertedValue = value;
+
+            if (fieldType.isEnum() && value instanceof String) {
+                convertedValue = Enum.valueOf((Class<? extends Enum>) fieldType, value.toString());
+            }
+            if (fieldType.equals(LocalDate.class) && value instanceof String) {
+                convertedValue = LocalDate.parse(value.toString());
+            }
+            if (fieldType.equals(Integer.class) || fieldType.equals(int.class)) {
+                if (value instanceof Number) {
+                    convertedValue = ((Number) value).intValue();
+                } else if (value instanceof String) {
+                    convertedValue = Integer.parseInt((String) value);
+                }
+            }
+            if (fieldType.equals(Double.class) || fieldType.equals(double.class)) {
+                if (value instanceof Number) {
+                    convertedValue = ((Number) value).doubleValue();
+                } else if (value instanceof String) {
+                    convertedValue = Double.parseDouble((String) value);
+                }
+            }
+
+            ReflectionUtils.setField(field, employee, convertedValue);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalArgumentException("Field '" + key + "' not found in Employee entity.");
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.shirdheen.employee.employee_creator_app_project.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shirdheen.employee.employee_creator_app_project.model.Employee;
+
+// One 100k-row CSV import end to end: upload, spool, parse, validate, de-duplicate, batch
+// insert and the change listeners, timed until the job reports COMPLETED. Every iteration
+// starts the application on an empty database, so each measures the same import rather than
+// one into an ever larger table and read models.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class EmployeeImportBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final String BOUNDARY = "employee-import-benchmark";
+    private static final String HEADER = "firstName,lastName,email,mobileNumber,residentialAddress,contractType,"
+            + "employmentType,startDate,finishDate,ongoing,salary,hoursPerWeek\n";
+
+    // On an H2 file, which each iteration starts afresh
+    private static final Path DATABASE = Path.of(System.getProperty("java.io.tmpdir"), "employee-import-benchmark");
+    private static final Path DATABASE_FILE = Path.of(DATABASE + ".mv.db");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ConfigurableApplicationContext context;
+    private String baseUrl;
+    private HttpClient client;
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void createFile() {
+        SplittableRandom random = new SplittableRandom(42);
+        StringBuilder csv = new StringBuilder(ROWS * 160).append(HEADER);
+        for (int i = 1; i <= ROWS; i++) {
+            Employee employee = BenchmarkData.employee(i, random);
+            csv.append(employee.getFirstName()).append(',')
+                    .append(employee.getLastName()).append(',')
+                    .append(employee.getEmail()).append(',')
+                    .append(employee.getMobileNumber()).append(',')
+                    .append(employee.getResidentialAddress()).append(',')
+                    .append(employee.getContractType()).append(',')
+                    .append(employee.getEmploymentType()).append(',')
+                    .append(employee.getStartDate()).append(',')
+                    .append(employee.getFinishDate() == null ? "" : employee.getFinishDate()).append(',')
+                    .append(employee.isOngoing()).append(',')
+                    .append(employee.getSalary()).append(',')
+                    .append(employee.getHoursPerWeek()).append('\n');
+        }
+
+        body = ("--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"employees.csv\"\r\n"
+                + "Content-Type: text/csv\r\n\r\n"
+                + csv
+                + "\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8);
+        client = HttpClient.newHttpClient();
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        Files.deleteIfExists(DATABASE_FILE);
+        context = EmbeddedApplication.start(0, false, "--spring.datasource.url=jdbc:h2:file:" + DATABASE
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        baseUrl = EmbeddedApplication.baseUrl(context);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        context.close();
+        Files.deleteIfExists(DATABASE_FILE);
+    }
+
+    @Benchmark
+    public long importCsv() throws IOException, InterruptedException {
+        HttpResponse<String> submitted = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/imports"))
+                .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (submitted.statusCode() != 202) {
+            throw new IllegalStateException("Import was not accepted: " + submitted.body());
+        }
+        String location = baseUrl + "/imports/" + objectMapper.readTree(submitted.body()).get("id").asText();
+
+        while (true) {
+            JsonNode job = objectMapper.readTree(client.send(HttpRequest.newBuilder(URI.create(location)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString()).body());
+            String state = job.get("state").asText();
+            if (state.equals("COMPLETED") && job.get("rowsImported").asLong() == ROWS) {
+                return job.get("rowsImported").asLong();
+            }
+            if (state.equals("COMPLETED") || state.equals("FAILED")) {
+                throw new IllegalStateException("Import did not load every row: " + job);
+            }
+            Thread.sleep(20);
+        }
+    }
+}
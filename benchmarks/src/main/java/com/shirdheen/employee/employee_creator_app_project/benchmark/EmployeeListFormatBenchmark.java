@@ -0,0 +1,110 @@
+package com.shirdheen.employee.employee_creator_app_project.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeDto;
+import com.shirdheen.employee.employee_creator_app_project.format.EmployeeListFormat;
+import com.shirdheen.employee.employee_creator_app_project.format.EmployeeListWriter;
+
+// Serialising the full employee list in each response format, with and without gzip. "LIST" is
+// the format the list endpoint used before: a materialised List<EmployeeDto> written as JSON.
+// The bytes each combination puts on the wire are reported as wireSize:bytes.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeListFormatBenchmark {
+
+    @Param({ "100000" })
+    private int size;
+
+    @Param({ "LIST", "JSON", "SMILE", "COLUMNS" })
+    private String format;
+
+    @Param({ "none", "gzip" })
+    private String compression;
+
+    private List<EmployeeDto> dtos;
+    private ObjectWriter listWriter;
+    private EmployeeListWriter employeeListWriter;
+
+    @Setup
+    public void setUp() throws IOException {
+        dtos = BenchmarkData.dtos(size);
+        // Same settings Spring Boot applies to the application's mapper
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        listWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, EmployeeDto.class));
+        employeeListWriter = new EmployeeListWriter(objectMapper);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WireSize {
+        public long bytes;
+    }
+
+    @Benchmark
+    public long write() throws IOException {
+        CountingOutputStream counter = new CountingOutputStream();
+        OutputStream out = "gzip".equals(compression) ? new GZIPOutputStream(counter, 8192) : counter;
+        if ("LIST".equals(format)) {
+            listWriter.writeValue(out, dtos);
+        } else {
+            employeeListWriter.write(EmployeeListFormat.valueOf(format), out, dtos::forEach);
+        }
+        out.close();
+        return counter.count;
+    }
+
+    // One write in a single measured iteration, as JMH adds event counters up over iterations
+    // and the size of one response is what matters here
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public long wireSize(WireSize wireSize) throws IOException {
+        wireSize.bytes = write();
+        return wireSize.bytes;
+    }
+
+    // Discards the bytes so only serialisation and compression are measured
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
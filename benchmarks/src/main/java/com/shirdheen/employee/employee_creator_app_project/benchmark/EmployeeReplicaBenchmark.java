@@ -0,0 +1,103 @@
+package com.shirdheen.employee.employee_creator_app_project.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jol.info.GraphLayout;
+
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeDto;
+import com.shirdheen.employee.employee_creator_app_project.model.ContractType;
+import com.shirdheen.employee.employee_creator_app_project.model.EmploymentType;
+import com.shirdheen.employee.employee_creator_app_project.replica.EmployeeReplica;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Replica reads and the cost of the snapshot swap after a one-row write as the table grows,
+// and the heap the loaded replica retains per employee (rows plus indexes), walked with JOL and
+// reported as footprint:bytesPerEmployee.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+// JOL attaches an agent to its own JVM for exact object sizes
+@Fork(value = 1, jvmArgsAppend = { "-Xmx2g", "-Djdk.attach.allowAttachSelf=true",
+        "-XX:+EnableDynamicAgentLoading" })
+public class EmployeeReplicaBenchmark {
+
+    @Param({ "10000", "100000" })
+    private int size;
+
+    private EmployeeReplica replica;
+    private EmployeeDto changed;
+    private long id;
+
+    @Setup
+    public void setUp() {
+        replica = new EmployeeReplica(new SimpleMeterRegistry(), true);
+        replica.startLoading();
+        replica.finishLoading(BenchmarkData.dtos(size));
+
+        changed = new EmployeeDto(BenchmarkData.employee(size / 2, new SplittableRandom(7)));
+        id = size / 3;
+    }
+
+    // Everything reachable from the loaded replica less what an empty one holds (its meter
+    // registry), so only the rows and indexes are counted. A public accessor rather than a field,
+    // as JMH zeroes counter fields before each iteration.
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        private long bytesPerEmployee;
+
+        @Setup
+        public void measure(EmployeeReplicaBenchmark benchmark) {
+            long empty = GraphLayout.parseInstance(new EmployeeReplica(new SimpleMeterRegistry(), true)).totalSize();
+            long loaded = GraphLayout.parseInstance(benchmark.replica).totalSize();
+            bytesPerEmployee = (loaded - empty) / benchmark.size;
+        }
+
+        public long bytesPerEmployee() {
+            return bytesPerEmployee;
+        }
+    }
+
+    // A single measured iteration, as JMH adds event counters up over iterations
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public long footprint(Footprint footprint) {
+        return footprint.bytesPerEmployee();
+    }
+
+    @Benchmark
+    public EmployeeDto findById() {
+        return replica.findById(id);
+    }
+
+    @Benchmark
+    public List<EmployeeDto> filter() {
+        return replica.filter(EmploymentType.PART_TIME, ContractType.CONTRACT, employee -> true);
+    }
+
+    @Benchmark
+    public int swap() {
+        replica.apply(Map.of(changed.getId(), changed));
+        return replica.size();
+    }
+}
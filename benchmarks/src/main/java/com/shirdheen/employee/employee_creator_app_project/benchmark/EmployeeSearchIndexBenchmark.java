@@ -0,0 +1,80 @@
+package com.shirdheen.employee.employee_creator_app_project.benchmark;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeDto;
+import com.shirdheen.employee.employee_creator_app_project.model.Employee;
+import com.shirdheen.employee.employee_creator_app_project.search.EmployeeSearchIndex;
+
+// Search latency per match tier as the index grows, plus the cost of applying one change.
+// Sampled, so the results carry p50/p99; EmployeeSearchLikeBenchmark runs the same keywords
+// through the LIKE query the index replaced. The 1M index needs about 3.5 GB of heap; on
+// smaller machines pass -p size=10000,100000.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx5g")
+public class EmployeeSearchIndexBenchmark {
+
+    private static final int LIMIT = 20;
+
+    @Param({ "10000", "100000", "1000000" })
+    private int size;
+
+    private EmployeeSearchIndex searchIndex;
+    private Employee changed;
+
+    @Setup
+    public void setUp() {
+        searchIndex = new EmployeeSearchIndex();
+        searchIndex.beginRebuild();
+        SplittableRandom random = new SplittableRandom(42);
+        for (long id = 1; id <= size; id++) {
+            searchIndex.addToRebuild(new EmployeeDto(BenchmarkData.employee(id, random)));
+        }
+        searchIndex.finishRebuild();
+        changed = BenchmarkData.employee(size / 2, new SplittableRandom(7));
+    }
+
+    @Benchmark
+    public List<Long> exact() {
+        return searchIndex.search("alice", LIMIT);
+    }
+
+    @Benchmark
+    public List<Long> prefix() {
+        return searchIndex.search("smi", LIMIT);
+    }
+
+    @Benchmark
+    public List<Long> infix() {
+        return searchIndex.search("arto", LIMIT);
+    }
+
+    @Benchmark
+    public List<Long> fuzzy() {
+        return searchIndex.search("alcie", LIMIT);
+    }
+
+    @Benchmark
+    public int update() {
+        searchIndex.put(changed);
+        return searchIndex.size();
+    }
+}
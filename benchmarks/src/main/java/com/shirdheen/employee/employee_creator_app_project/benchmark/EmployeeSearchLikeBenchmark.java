@@ -0,0 +1,89 @@
+package com.shirdheen.employee.employee_creator_app_project.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeDto;
+import com.shirdheen.employee.employee_creator_app_project.repository.EmployeeRepository;
+
+// The search keywords of EmployeeSearchIndexBenchmark through the LIKE query that served
+// search before the index (and still does until it has been built), on the same employees.
+// The LIKE query can't match typos, so "fuzzy" finds nothing here but still scans every row.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class EmployeeSearchLikeBenchmark {
+
+    private static final int LIMIT = 20;
+
+    // On an H2 file that each fork starts afresh, as a million rows don't fit in memory next to
+    // the application
+    private static final Path DATABASE = Path.of(System.getProperty("java.io.tmpdir"), "employee-search-benchmark");
+    private static final Path DATABASE_FILE = Path.of(DATABASE + ".mv.db");
+
+    @Param({ "10000", "100000", "1000000" })
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeRepository employeeRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Files.deleteIfExists(DATABASE_FILE);
+        context = EmbeddedApplication.start(size, false, "--spring.datasource.url=jdbc:h2:file:" + DATABASE
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        employeeRepository = context.getBean(EmployeeRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        Files.deleteIfExists(DATABASE_FILE);
+    }
+
+    @Benchmark
+    public List<EmployeeDto> exact() {
+        return search("alice");
+    }
+
+    @Benchmark
+    public List<EmployeeDto> prefix() {
+        return search("smi");
+    }
+
+    @Benchmark
+    public List<EmployeeDto> infix() {
+        return search("arto");
+    }
+
+    @Benchmark
+    public List<EmployeeDto> fuzzy() {
+        return search("alcie");
+    }
+
+    // As EmployeeService runs it: every match is read, then the first LIMIT are kept
+    private List<EmployeeDto> search(String keyword) {
+        return employeeRepository.searchEmployees(keyword).stream().limit(LIMIT).toList();
+    }
+}
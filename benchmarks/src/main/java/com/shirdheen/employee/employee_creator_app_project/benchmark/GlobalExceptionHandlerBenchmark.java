@@ -0,0 +1,95 @@
+package com.shirdheen.employee.employee_creator_app_project.benchmark;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import com.shirdheen.employee.employee_creator_app_project.exception.GlobalExceptionHandler;
+import com.shirdheen.employee.employee_creator_app_project.model.Employee;
+
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+
+// Error response building for the exceptions the API actually raises. The exceptions are
+// created up front so only the handler's work is measured.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GlobalExceptionHandlerBenchmark {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    private IllegalArgumentException illegalArgument;
+    private RuntimeException notFound;
+    private ConstraintViolationException constraintViolation;
+    private MethodArgumentNotValidException argumentNotValid;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        illegalArgument = new IllegalArgumentException("Field 'id' cannot be updated.");
+        notFound = new RuntimeException(new EntityNotFoundException("Employee not found with id: 42"));
+
+        Employee invalid = BenchmarkData.employee(1L, new SplittableRandom(42));
+        invalid.setFirstName("");
+        invalid.setEmail("not-an-email");
+        invalid.setMobileNumber("0412");
+        invalid.setSalary(0.0);
+        try (ValidatorFactory factory = Validation.buildDefaultValidatorFactory()) {
+            Set<ConstraintViolation<Employee>> violations = factory.getValidator().validate(invalid);
+            constraintViolation = new ConstraintViolationException("Validation failed during update", violations);
+
+            BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(invalid, "employee");
+            violations.forEach(violation -> bindingResult.rejectValue(violation.getPropertyPath().toString(),
+                    "invalid", violation.getMessage()));
+            MethodParameter parameter = new MethodParameter(
+                    GlobalExceptionHandlerBenchmark.class.getDeclaredMethod("createEmployee", Employee.class), 0);
+            argumentNotValid = new MethodArgumentNotValidException(parameter, bindingResult);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> illegalArgument() {
+        return handler.handleIllegalArgumentException(illegalArgument);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> notFound() {
+        return handler.handleRuntimeException(notFound);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> constraintViolation() {
+        return handler.handleConstraintViolationException(constraintViolation);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> argumentNotValid() {
+        return handler.handleValidationException(argumentNotValid);
+    }
+
+    // Stands in for the @Valid controller parameter the binding result belongs to
+    void createEmployee(Employee employee) {
+    }
+}
@@ -0,0 +1,94 @@
+package com.shirdheen.employee.employee_creator_app_project.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// The same uncached requests with request metrics off, on, and on with query tracing, from
+// several client threads. The gap between the modes is the cost of leaving them enabled.
+// Client and server share the machine, so run to run noise is large next to that gap: five
+// forks of ten iterations each keep the error well below it.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(5)
+@Threads(4)
+public class InstrumentationOverheadBenchmark {
+
+    private static final int EMPLOYEES = 10_000;
+
+    @Param({ "off", "metrics", "trace" })
+    private String mode;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] args = switch (mode) {
+            case "off" -> new String[] { "--employee.metrics.enabled=false",
+                    "--management.observations.enable.http.server.requests=false" };
+            case "metrics" -> new String[] { "--employee.metrics.trace.enabled=false" };
+            default -> new String[0];
+        };
+        // Caching would hide the per-statement work being measured
+        context = EmbeddedApplication.start(EMPLOYEES, append(args, "--employee.cache.enabled=false"));
+        baseUrl = EmbeddedApplication.baseUrl(context);
+        client = HttpClient.newHttpClient();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String getById() throws IOException, InterruptedException {
+        long id = ThreadLocalRandom.current().nextLong(1, EMPLOYEES + 1);
+        return send(URI.create(baseUrl + "/" + id));
+    }
+
+    @Benchmark
+    public String firstPage() throws IOException, InterruptedException {
+        return send(URI.create(baseUrl + "/page?size=50"));
+    }
+
+    private String send(URI uri) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(response.statusCode() + " " + response.body());
+        }
+        return response.body();
+    }
+
+    private static String[] append(String[] args, String arg) {
+        String[] result = Arrays.copyOf(args, args.length + 1);
+        result[args.length] = arg;
+        return result;
+    }
+}
@@ -0,0 +1,155 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Closed-loop load generator for the employee API. Needs only the JDK:
+//
+//   java scripts/LoadTest.java [baseUrl] [concurrency] [secondsPerScenario] [scenario,...]
+//
+// Each scenario runs for the given time with the given number of concurrent clients and
+// prints throughput plus p50/p95/p99/max latency, the count of 429/503 responses (requests
+// refused by admission control) and of other non-2xx responses. Scenarios joined with "+",
+// such as list+get, run at the same time with that many clients each. Every simulated client
+// sends its own X-Client-Id header.
+public class LoadTest {
+
+    record Scenario(String name, Function<Integer, HttpRequest> request) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080/api/employees";
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        List<String> selected = args.length > 3 ? Arrays.asList(args[3].split(",")) : List.of();
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        long[] ids = sampleIds(client, baseUrl);
+
+        List<Scenario> scenarios = List.of(
+                new Scenario("get", n -> get(baseUrl + "/" + ids[n % ids.length])),
+                new Scenario("list", n -> get(baseUrl)),
+                new Scenario("filter", n -> get(baseUrl + "/filter?employmentType="
+                        + (n % 2 == 0 ? "FULL_TIME" : "PART_TIME"))),
+                new Scenario("search", n -> get(baseUrl + "/search?keyword=" + (char) ('a' + n % 26) + "a")),
+                new Scenario("patch", n -> HttpRequest.newBuilder(URI.create(baseUrl + "/" + ids[n % ids.length]))
+                        .header("Content-Type", "application/json")
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString(
+                                "{\"hoursPerWeek\":" + (20 + n % 20) + "}"))
+                        .timeout(Duration.ofSeconds(30))
+                        .build()));
+
+        System.out.printf("%-8s %10s %10s %10s %10s %10s %8s %8s%n", "scenario", "req/s", "p50 ms", "p95 ms",
+                "p99 ms", "max ms", "refused", "errors");
+        if (selected.isEmpty()) {
+            selected = scenarios.stream().map(Scenario::name).toList();
+        }
+        for (String names : selected) {
+            List<Scenario> group = Arrays.stream(names.split("\\+"))
+                    .map(name -> scenarios.stream().filter(scenario -> scenario.name().equals(name)).findFirst()
+                            .orElseThrow(() -> new IllegalArgumentException("Unknown scenario " + name)))
+                    .toList();
+            run(client, group, concurrency, seconds);
+        }
+        System.exit(0);
+    }
+
+    private static void run(HttpClient client, List<Scenario> group, int concurrency, int seconds)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        int clientCount = group.size() * concurrency;
+        // Per scenario: refused (429/503), then other errors
+        AtomicLongArray failures = new AtomicLongArray(group.size() * 2);
+        List<long[]> perClient = new ArrayList<>();
+        int[] counts = new int[clientCount];
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clientCount; c++) {
+                long[] latencies = new long[1 << 16];
+                perClient.add(latencies);
+                int clientIndex = c;
+                int scenarioIndex = c / concurrency;
+                Scenario scenario = group.get(scenarioIndex);
+                String clientId = scenario.name() + "-" + c % concurrency;
+                clients.submit(() -> {
+                    int n = ThreadLocalRandom.current().nextInt(1 << 20);
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = HttpRequest.newBuilder(scenario.request().apply(n++), (name, value) -> true)
+                                .header("X-Client-Id", clientId).build();
+                        long start = System.nanoTime();
+                        try {
+                            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (status == 429 || status == 503) {
+                                failures.incrementAndGet(scenarioIndex * 2);
+                            } else if (status / 100 != 2) {
+                                failures.incrementAndGet(scenarioIndex * 2 + 1);
+                            }
+                        } catch (Exception e) {
+                            failures.incrementAndGet(scenarioIndex * 2 + 1);
+                        }
+                        long[] samples = perClient.get(clientIndex);
+                        samples[counts[clientIndex]++ & (samples.length - 1)] = System.nanoTime() - start;
+                    }
+                });
+            }
+        }
+
+        for (int s = 0; s < group.size(); s++) {
+            int from = s * concurrency;
+            long total = Arrays.stream(counts, from, from + concurrency).asLongStream().sum();
+            long[] all = new long[(int) Math.min(total, (long) concurrency << 16)];
+            int offset = 0;
+            for (int c = from; c < from + concurrency; c++) {
+                int kept = Math.min(counts[c], 1 << 16);
+                System.arraycopy(perClient.get(c), 0, all, offset, kept);
+                offset += kept;
+            }
+            Arrays.sort(all);
+
+            String name = (group.size() > 1 ? "+" : "") + group.get(s).name();
+            System.out.printf("%-8s %10.1f %10.2f %10.2f %10.2f %10.2f %8d %8d%n", name, total / (double) seconds,
+                    percentile(all, 0.50), percentile(all, 0.95), percentile(all, 0.99), percentile(all, 1.0),
+                    failures.get(s * 2), failures.get(s * 2 + 1));
+        }
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    // Ids for the get and PATCH scenarios, taken from the first page of the listing
+    private static long[] sampleIds(HttpClient client, String baseUrl) throws Exception {
+        String body = client.send(get(baseUrl + "/page?size=500"), HttpResponse.BodyHandlers.ofString()).body();
+        Matcher matcher = Pattern.compile("\"id\":(\\d+)").matcher(body);
+        List<Long> ids = new ArrayList<>();
+        while (matcher.find()) {
+            ids.add(Long.parseLong(matcher.group(1)));
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("No employees found at " + baseUrl + "; seed the database first");
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+}
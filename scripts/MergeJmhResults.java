@@ -0,0 +1,102 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+// Merges a JMH CSV result file into the checked-in baseline. Needs only the JDK:
+//
+//   java scripts/MergeJmhResults.java <baseline.csv> <new-results.csv>
+//
+// Every row of a benchmark class that appears in the new results replaces that class's rows in
+// the baseline; other classes keep theirs. Param columns are the union of both files, so a run
+// of one suite does not drop the columns of the others.
+public class MergeJmhResults {
+
+    private static final int FIXED_COLUMNS = 7;
+
+    public static void main(String[] args) throws IOException {
+        Path baseline = Path.of(args[0]);
+        List<Map<String, String>> previous = Files.exists(baseline) ? read(baseline) : List.of();
+        List<Map<String, String>> fresh = read(Path.of(args[1]));
+
+        Set<String> rerun = new TreeSet<>();
+        fresh.forEach(row -> rerun.add(benchmarkClass(row)));
+
+        List<Map<String, String>> merged = new ArrayList<>();
+        previous.stream().filter(row -> !rerun.contains(benchmarkClass(row))).forEach(merged::add);
+        merged.addAll(fresh);
+        // Stable, so each class keeps JMH's own order of methods and params
+        merged.sort((a, b) -> benchmarkClass(a).compareTo(benchmarkClass(b)));
+
+        List<String> header = new ArrayList<>(header(args[1]));
+        header.subList(FIXED_COLUMNS, header.size()).clear();
+        Set<String> params = new TreeSet<>();
+        for (Map<String, String> row : merged) {
+            row.keySet().stream().filter(column -> column.startsWith("Param: ")).forEach(params::add);
+        }
+        header.addAll(params);
+
+        List<String> lines = new ArrayList<>();
+        lines.add(String.join(",", header.stream().map(MergeJmhResults::quote).toList()));
+        for (Map<String, String> row : merged) {
+            List<String> cells = new ArrayList<>();
+            for (int i = 0; i < header.size(); i++) {
+                String value = row.getOrDefault(header.get(i), "");
+                // Numbers are unquoted, text and params quoted, as JMH writes them
+                boolean numeric = i >= 2 && i <= 5 && !value.equals("NaN");
+                cells.add(numeric ? value : quote(value));
+            }
+            lines.add(String.join(",", cells));
+        }
+        Files.write(baseline, lines);
+    }
+
+    private static String benchmarkClass(Map<String, String> row) {
+        String benchmark = row.get("Benchmark");
+        int colon = benchmark.indexOf(':');
+        String method = colon < 0 ? benchmark : benchmark.substring(0, colon);
+        return method.substring(0, method.lastIndexOf('.'));
+    }
+
+    private static List<String> header(String file) throws IOException {
+        return split(Files.readAllLines(Path.of(file)).get(0));
+    }
+
+    private static List<Map<String, String>> read(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file);
+        List<String> header = split(lines.get(0));
+        List<Map<String, String>> rows = new ArrayList<>();
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> cells = split(line);
+            Map<String, String> row = new LinkedHashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                row.put(header.get(i), i < cells.size() ? cells.get(i) : "");
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    // JMH quotes every text cell and never puts a quote or comma inside one
+    private static List<String> split(String line) {
+        List<String> cells = new ArrayList<>();
+        for (String cell : line.split(",", -1)) {
+            cells.add(cell.startsWith("\"") && cell.endsWith("\"") && cell.length() >= 2
+                    ? cell.substring(1, cell.length() - 1)
+                    : cell);
+        }
+        return cells;
+    }
+
+    private static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+}
@@ -0,0 +1,46 @@
+#!/usr/bin/env bash
+# Saturates the expensive endpoints (full listing, filter) while measuring lookups by id, once
+# with admission control off and once with it on. With it on, the get p99 should stay close to
+# its unloaded baseline while the list and filter clients get 503s instead of a queue.
+# Needs the MySQL database from application.properties, already seeded with employees.
+#
+#   scripts/admission-load-test.sh [concurrency] [secondsPerScenario]
+#
+# The output of the last checked-in run is in benchmarks/baselines/admission-load-test.txt.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+CONCURRENCY=${1:-100}
+SECONDS_PER_SCENARIO=${2:-30}
+PORT=${PORT:-8080}
+BASE_URL="http://localhost:${PORT}/api/employees"
+
+./mvnw -q -DskipTests package
+JAR=$(ls target/employee-creator-app-project-*-exec.jar | head -n 1)
+
+run_mode() {
+    local mode=$1
+    shift
+    echo "=== admission ${mode}"
+    # Every load-test client is its own X-Client-Id, so the per-client rate only limits
+    # clients that go over it on their own
+    java -jar "$JAR" --server.port="$PORT" --spring.jpa.show-sql=false \
+        --employee.admission.client-header=X-Client-Id "$@" > "target/admission-load-test-${mode}.log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+
+    until curl -sf "${BASE_URL}/page?size=1" > /dev/null; do
+        sleep 1
+    done
+
+    java scripts/LoadTest.java "$BASE_URL" "$CONCURRENCY" "$SECONDS_PER_SCENARIO" get,list+get,filter+get
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+run_mode off --employee.admission.enabled=false
+# A closed-loop client sends far more than a real one; raise the per-client rate so the
+# comparison is about the concurrency limits and shedding
+run_mode on --employee.admission.enabled=true --employee.admission.client.rate=10000 \
+    --employee.admission.client.burst=20000
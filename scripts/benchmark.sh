@@ -0,0 +1,20 @@
+#!/usr/bin/env bash
+# Runs the JMH suites in benchmarks/ with the GC profiler and merges the results into the
+# checked-in baseline, replacing the rows of the suites that ran, so a regression shows up in
+# `git diff benchmarks/baselines`. Compare runs from the same machine only.
+#
+#   scripts/benchmark.sh                          # every suite
+#   scripts/benchmark.sh EmployeeDtoBenchmark     # JMH include regex and/or other JMH options
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RESULTS=${RESULTS:-benchmarks/baselines/jmh-results.csv}
+
+./mvnw -q -DskipTests install
+./mvnw -q -f benchmarks/pom.xml package dependency:build-classpath \
+    -Dmdep.outputFile=target/classpath.txt
+
+RUN=benchmarks/target/jmh-results.csv
+java -cp "benchmarks/target/classes:$(cat benchmarks/target/classpath.txt)" org.openjdk.jmh.Main \
+    -prof gc -rf csv -rff "$RUN" "$@"
+java scripts/MergeJmhResults.java "$RESULTS" "$RUN"
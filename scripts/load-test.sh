@@ -0,0 +1,37 @@
+#!/usr/bin/env bash
+# Compares the default platform-thread mode with the virtual-threads profile.
+# Needs the MySQL database from application.properties, already seeded with employees.
+#
+#   scripts/load-test.sh [concurrency] [secondsPerScenario]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+CONCURRENCY=${1:-200}
+SECONDS_PER_SCENARIO=${2:-30}
+PORT=${PORT:-8080}
+BASE_URL="http://localhost:${PORT}/api/employees"
+
+./mvnw -q -DskipTests package
+JAR=$(ls target/employee-creator-app-project-*-exec.jar | head -n 1)
+
+run_mode() {
+    local mode=$1
+    shift
+    echo "=== ${mode}"
+    java "$@" -jar "$JAR" --server.port="$PORT" --spring.jpa.show-sql=false > "target/load-test-${mode}.log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+
+    until curl -sf "${BASE_URL}/page?size=1" > /dev/null; do
+        sleep 1
+    done
+
+    java scripts/LoadTest.java "$BASE_URL" "$CONCURRENCY" "$SECONDS_PER_SCENARIO"
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+run_mode platform
+# Pinned-thread stack traces end up in target/load-test-virtual.log
+run_mode virtual -Djdk.tracePinnedThreads=short -Dspring.profiles.active=virtual-threads
@@ -0,0 +1,92 @@
+#!/usr/bin/env bash
+# Compares cold start of the default jar with the prod profile build (Spring AOT), with and
+# without a class data sharing (CDS) archive: time until /actuator/health answers, Spring's own
+# "Started ... in" figure, and the resident set size once the instance is up.
+# Needs the MySQL database from application.properties; pass other connection settings as
+# Spring arguments in APP_ARGS, e.g. APP_ARGS="--spring.datasource.url=jdbc:mysql://db/employee_db".
+#
+#   scripts/startup-benchmark.sh [runsPerVariant]
+#
+# Per-run results go to target/startup/results.csv; copy them over
+# benchmarks/baselines/startup-results.csv to update the checked-in baseline.
+#
+# Starting a prod instance the same way, from target/startup/prod:
+#   java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true \
+#        -Dspring.profiles.active=prod -jar employee-creator-app-project-0.0.1-SNAPSHOT-exec.jar
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS=${1:-5}
+PORT=${PORT:-8080}
+JAVA_OPTS=${JAVA_OPTS:-}
+APP_ARGS=${APP_ARGS:-}
+OUT=target/startup
+
+# clean: classes generated by an earlier prod build would otherwise end up in the default jar
+./mvnw -q -DskipTests clean package
+mkdir -p "$OUT"
+cp target/employee-creator-app-project-*-exec.jar "$OUT/default.jar"
+
+./mvnw -q -Pprod -DskipTests package
+java -Djarmode=tools -jar target/employee-creator-app-project-*-exec.jar extract --destination "$OUT/prod"
+PROD_JAR=$(ls "$OUT"/prod/*.jar)
+PROD_OPTS="-Dspring.aot.enabled=true -Dspring.profiles.active=prod"
+
+# Training run: starts the context, writes the classes it loaded to the archive and exits
+echo "=== training run for the CDS archive"
+# shellcheck disable=SC2086
+java -XX:ArchiveClassesAtExit="$OUT/prod/application.jsa" -Dspring.context.exit=onRefresh $PROD_OPTS \
+    -jar "$PROD_JAR" --server.port="$PORT" $APP_ARGS > "$OUT/training.log" 2>&1
+
+now_ms() {
+    echo $(($(date +%s%N) / 1000000))
+}
+
+run_variant() {
+    local name=$1
+    shift
+    echo "=== ${name}"
+    for run in $(seq 1 "$RUNS"); do
+        local log="$OUT/${name}-${run}.log"
+        local start
+        start=$(now_ms)
+        # shellcheck disable=SC2086
+        java $JAVA_OPTS "$@" --server.port="$PORT" $APP_ARGS > "$log" 2>&1 &
+        local pid=$!
+        trap 'kill $pid 2>/dev/null || true' EXIT
+
+        until curl -sf "http://localhost:${PORT}/actuator/health" > /dev/null; do
+            if ! kill -0 "$pid" 2>/dev/null; then
+                echo "${name} exited during startup, see ${log}" >&2
+                exit 1
+            fi
+            sleep 0.05
+        done
+        local ready=$(($(now_ms) - start))
+        local rss
+        rss=$(ps -o rss= -p "$pid" | tr -d ' ')
+        local started
+        started=$(grep -o 'Started .* in [0-9.]* seconds' "$log" | grep -o '[0-9.]* seconds' || true)
+
+        printf '%-14s run %d: ready after %5d ms, started in %s, RSS %6d MB\n' \
+            "$name" "$run" "$ready" "$started" $((rss / 1024))
+        echo "${name},${run},${ready},${rss}" >> "$OUT/results.csv"
+
+        kill "$pid"
+        wait "$pid" 2>/dev/null || true
+        trap - EXIT
+    done
+}
+
+echo "variant,run,ready_ms,rss_kb" > "$OUT/results.csv"
+run_variant default -jar "$OUT/default.jar"
+# shellcheck disable=SC2086
+run_variant prod-aot $PROD_OPTS -jar "$PROD_JAR"
+# shellcheck disable=SC2086
+run_variant prod-aot-cds -XX:SharedArchiveFile="$OUT/prod/application.jsa" $PROD_OPTS -jar "$PROD_JAR"
+
+echo "=== median ready time / RSS"
+for name in default prod-aot prod-aot-cds; do
+    grep "^${name}," "$OUT/results.csv" | sort -t, -k3 -n | awk -F, -v n="$RUNS" -v name="$name" \
+        'NR == int((n + 1) / 2) { printf "%-14s %5d ms  %6d MB\n", name, $3, $4 / 1024 }'
+done
@@ -2,8 +2,10 @@ package com.shirdheen.employee.employee_creator_app_project;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(EmployeeRuntimeHints.class)
 public class EmployeeCreatorAppProjectApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,62 @@
+package com.shirdheen.employee.employee_creator_app_project;
+
+import java.util.List;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import com.shirdheen.employee.employee_creator_app_project.dto.CacheStatsDto;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeAuditEntryDto;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeBatchResultDto;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeBatchUpdateDto;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeBulkUpdateDto;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeChangeDto;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeDto;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeExportStatusDto;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeImportStatusDto;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeePageDto;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeePageFilterDto;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeStatsDto;
+import com.shirdheen.employee.employee_creator_app_project.dto.SlowRequestDto;
+import com.shirdheen.employee.employee_creator_app_project.event.EmployeeFieldChange;
+import com.shirdheen.employee.employee_creator_app_project.metrics.RequestMetricsSessionListener;
+import com.shirdheen.employee.employee_creator_app_project.metrics.RequestMetricsStatementInspector;
+
+// Reflection the AOT build cannot see on its own, for a native image built with -Pprod,native.
+// Controller bodies are covered by Spring already; these DTOs are also written outside of a
+// controller return type (the streamed list, the event stream, the audit table's JSON) and are
+// registered together, with every other class in dto/ (the page filter is bound from query
+// parameters, which AOT does not follow either).
+// PATCH and import field updates go through EmployeeFieldUpdaters' setter references and need
+// no reflection.
+public class EmployeeRuntimeHints implements RuntimeHintsRegistrar {
+
+    static final List<Class<?>> JSON_TYPES = List.of(
+            EmployeeDto.class,
+            EmployeeChangeDto.class,
+            EmployeePageDto.class,
+            EmployeeStatsDto.class,
+            EmployeeBatchResultDto.class,
+            EmployeeBatchUpdateDto.class,
+            EmployeeBulkUpdateDto.class,
+            EmployeeImportStatusDto.class,
+            EmployeeExportStatusDto.class,
+            EmployeePageFilterDto.class,
+            EmployeeAuditEntryDto.class,
+            CacheStatsDto.class,
+            SlowRequestDto.class,
+            EmployeeFieldChange.class);
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                JSON_TYPES.toArray(Class<?>[]::new));
+
+        // Hibernate creates these from the class names in application.properties
+        hints.reflection()
+                .registerType(RequestMetricsSessionListener.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)
+                .registerType(RequestMetricsStatementInspector.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+    }
+}
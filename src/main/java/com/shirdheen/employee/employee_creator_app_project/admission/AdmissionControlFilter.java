@@ -0,0 +1,255 @@
+package com.shirdheen.employee.employee_creator_app_project.admission;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Admission control for /api/employees, checked before anything else runs, so a refused
+// request costs a few atomic operations and never reaches the connection pool:
+//
+// 1. Per-client rate: each client has a token bucket refilled at client.rate cost units per
+//    second, holding up to client.burst. Requests are charged their RequestClass cost; an
+//    empty bucket gets 429 with Retry-After.
+// 2. Pool pressure: while shed.pool-waiters or more threads are waiting for a JDBC connection,
+//    QUERY and BULK requests get 503, so lookups and single writes keep the pool.
+// 3. Concurrency: each class may have capacity / cost requests in flight (so 32 lookups but
+//    only 4 full listings by default). Once a class's average latency exceeds shed.latency
+//    times its cost, its limit drops to a quarter until the average recovers. Over the limit
+//    gets 503.
+//
+// All state is in atomics; clients are keyed by client-header if set (e.g. X-Forwarded-For
+// behind a proxy, last address only) and by the remote address otherwise.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 100)
+@ConditionalOnProperty(name = "employee.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    // In-flight requests of one class and its average latency
+    private static final class Lane {
+        private final int limit;
+        private final long latencyThresholdNanos;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        // Exponentially weighted, each new sample counting for 1/8
+        private final AtomicLong averageNanos = new AtomicLong();
+
+        Lane(int limit, long latencyThresholdNanos) {
+            this.limit = limit;
+            this.latencyThresholdNanos = latencyThresholdNanos;
+        }
+
+        int currentLimit() {
+            return averageNanos.get() > latencyThresholdNanos ? Math.max(1, limit / 4) : limit;
+        }
+
+        boolean tryEnter() {
+            int limitNow = currentLimit();
+            while (true) {
+                int current = inFlight.get();
+                if (current >= limitNow) {
+                    return false;
+                }
+                if (inFlight.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        void exit(long elapsedNanos) {
+            inFlight.decrementAndGet();
+            averageNanos.updateAndGet(average -> average == 0 ? elapsedNanos : average + (elapsedNanos - average) / 8);
+        }
+    }
+
+    private enum Rejection {
+        RATE_LIMITED, POOL_PRESSURE, LATENCY, CONCURRENCY
+    }
+
+    private final ClientRateLimiter rateLimiter;
+    private final Map<RequestClass, Lane> lanes = new EnumMap<>(RequestClass.class);
+    private final Map<RequestClass, Map<Rejection, Counter>> rejections = new EnumMap<>(RequestClass.class);
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final String clientHeader;
+    private final int poolWaitersThreshold;
+    private volatile HikariPoolMXBean pool;
+
+    public AdmissionControlFilter(DataSource dataSource, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${employee.admission.client.rate:100}") double clientRate,
+            @Value("${employee.admission.client.burst:200}") int clientBurst,
+            @Value("${employee.admission.client.max-tracked:100000}") long maxClients,
+            @Value("${employee.admission.client-header:}") String clientHeader,
+            @Value("${employee.admission.capacity:32}") int capacity,
+            @Value("${employee.admission.shed.pool-waiters:5}") int poolWaitersThreshold,
+            @Value("${employee.admission.shed.latency:500ms}") Duration latencyThreshold) {
+        this.rateLimiter = new ClientRateLimiter(clientRate, clientBurst, maxClients);
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.clientHeader = clientHeader;
+        this.poolWaitersThreshold = poolWaitersThreshold;
+
+        for (RequestClass requestClass : RequestClass.values()) {
+            Lane lane = new Lane(Math.max(1, capacity / requestClass.cost()),
+                    latencyThreshold.toNanos() * requestClass.cost());
+            lanes.put(requestClass, lane);
+            String tag = requestClass.name().toLowerCase();
+            Gauge.builder("employee.admission.in-flight", lane.inFlight, AtomicInteger::get)
+                    .tag("class", tag).register(meterRegistry);
+            Map<Rejection, Counter> counters = new EnumMap<>(Rejection.class);
+            for (Rejection rejection : Rejection.values()) {
+                counters.put(rejection, Counter.builder("employee.admission.rejected")
+                        .tags("class", tag, "reason", rejection.name().toLowerCase()).register(meterRegistry));
+            }
+            rejections.put(requestClass, counters);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return RequestClass.of(request.getMethod(), request.getRequestURI()) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestClass requestClass = RequestClass.of(request.getMethod(), request.getRequestURI());
+        long start = System.nanoTime();
+
+        long waitNanos = rateLimiter.tryAcquire(client(request), requestClass.cost(), start);
+        if (waitNanos > 0) {
+            reject(response, requestClass, Rejection.RATE_LIMITED, HttpStatus.TOO_MANY_REQUESTS,
+                    TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1, "Too many requests from this client");
+            return;
+        }
+        if (requestClass.cost() >= RequestClass.QUERY.cost() && poolUnderPressure()) {
+            reject(response, requestClass, Rejection.POOL_PRESSURE, HttpStatus.SERVICE_UNAVAILABLE, 1,
+                    "The server is busy; try again shortly");
+            return;
+        }
+        Lane lane = lanes.get(requestClass);
+        if (!lane.tryEnter()) {
+            Rejection rejection = lane.currentLimit() < lane.limit ? Rejection.LATENCY : Rejection.CONCURRENCY;
+            reject(response, requestClass, rejection, HttpStatus.SERVICE_UNAVAILABLE, 1,
+                    "Too many " + requestClass.name().toLowerCase() + " requests in progress; try again shortly");
+            return;
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                lane.exit(System.nanoTime() - start);
+            }
+        };
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Streaming responses hold their slot until the body has been written
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        release.run();
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                        release.run();
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                        release.run();
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    // The last entry of a list header is the address our proxy appended: the one it received
+    // the request from. Everything before it came from the client, which could otherwise get a
+    // fresh bucket per request by making up a first address.
+    private String client(HttpServletRequest request) {
+        if (!clientHeader.isEmpty()) {
+            String value = request.getHeader(clientHeader);
+            if (value != null && !value.isBlank()) {
+                return value.substring(value.lastIndexOf(',') + 1).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private boolean poolUnderPressure() {
+        HikariPoolMXBean poolBean = pool;
+        if (poolBean == null) {
+            // The pool starts with the first connection; until then there is nothing to wait for
+            try {
+                if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+                    return false;
+                }
+                poolBean = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+            } catch (SQLException e) {
+                return false;
+            }
+            if (poolBean == null) {
+                return false;
+            }
+            pool = poolBean;
+        }
+        return poolBean.getThreadsAwaitingConnection() >= poolWaitersThreshold;
+    }
+
+    private void reject(HttpServletResponse response, RequestClass requestClass, Rejection rejection,
+            HttpStatus status, long retryAfterSeconds, String message) throws IOException {
+        rejections.get(requestClass).get(rejection).increment();
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", status.value());
+        body.put("error", status.getReasonPhrase());
+        body.put("message", message);
+
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
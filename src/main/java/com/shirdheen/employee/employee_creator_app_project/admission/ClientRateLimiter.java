@@ -0,0 +1,48 @@
+package com.shirdheen.employee.employee_creator_app_project.admission;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// A token bucket per client, kept as a single "theoretical arrival time" (the generic cell
+// rate algorithm): each request pushes the client's time forward by cost / rate, and is
+// refused if that would put it more than a full burst ahead of now. One compare-and-set per
+// request, no locks. Clients idle for longer than a full refill are forgotten, since their
+// bucket would be full anyway.
+final class ClientRateLimiter {
+
+    private final long nanosPerUnit;
+    private final long burstNanos;
+    private final Cache<String, AtomicLong> clients;
+
+    ClientRateLimiter(double unitsPerSecond, int burst, long maxClients) {
+        if (unitsPerSecond <= 0 || burst < RequestClass.BULK.cost()) {
+            throw new IllegalArgumentException("The client rate must be positive and the burst at least "
+                    + RequestClass.BULK.cost() + ", the cost of the most expensive request");
+        }
+        this.nanosPerUnit = (long) (1_000_000_000 / unitsPerSecond);
+        this.burstNanos = nanosPerUnit * burst;
+        this.clients = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofNanos(burstNanos).plusSeconds(1))
+                .build();
+    }
+
+    // 0 if the request may go ahead, otherwise how long until it could, in nanoseconds
+    long tryAcquire(String client, int cost, long now) {
+        AtomicLong arrival = clients.get(client, key -> new AtomicLong(now));
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, now) + cost * nanosPerUnit;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.shirdheen.employee.employee_creator_app_project.admission;
+
+// What an /api/employees request costs the server, in units of a lookup by id. The cost is
+// charged against the client's token bucket and sets how many of the class may run at once.
+public enum RequestClass {
+    // One row by primary key, or in-memory state: get by id, history, stats, job status
+    LOOKUP(1),
+    // A single-row create, PATCH or DELETE
+    WRITE(2),
+    // A bounded result: search, a keyset page
+    QUERY(4),
+    // Unbounded reads and multi-row writes: the full list, stream, filter, batch and bulk
+    // PATCH/DELETE, imports and export downloads
+    BULK(8);
+
+    private static final String PREFIX = "/api/employees";
+
+    private final int cost;
+
+    RequestClass(int cost) {
+        this.cost = cost;
+    }
+
+    public int cost() {
+        return cost;
+    }
+
+    // Null for requests admission control leaves alone: anything outside /api/employees, CORS
+    // preflights, and the event stream, whose connections stay open by design
+    public static RequestClass of(String method, String uri) {
+        if (!uri.startsWith(PREFIX) || "OPTIONS".equals(method)) {
+            return null;
+        }
+        String path = uri.substring(PREFIX.length());
+        if (path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        if (path.equals("/events")) {
+            return null;
+        }
+
+        if ("GET".equals(method) || "HEAD".equals(method)) {
+            return switch (path) {
+                case "", "/stream", "/filter" -> BULK;
+                case "/search", "/page" -> QUERY;
+                default -> path.startsWith("/exports/") && path.endsWith("/file") ? BULK : LOOKUP;
+            };
+        }
+        return path.equals("/batch") || path.equals("/bulk") || path.equals("/imports") ? BULK : WRITE;
+    }
+}
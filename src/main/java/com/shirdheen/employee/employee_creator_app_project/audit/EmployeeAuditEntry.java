@@ -0,0 +1,12 @@
+package com.shirdheen.employee.employee_creator_app_project.audit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.shirdheen.employee.employee_creator_app_project.event.EmployeeChangedEvent;
+import com.shirdheen.employee.employee_creator_app_project.event.EmployeeFieldChange;
+
+// One committed change waiting in the audit buffer
+public record EmployeeAuditEntry(Long employeeId, EmployeeChangedEvent.Type type, Long version,
+        List<EmployeeFieldChange> changes, LocalDateTime changedAt) {
+}
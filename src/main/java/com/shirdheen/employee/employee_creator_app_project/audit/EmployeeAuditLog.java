@@ -0,0 +1,267 @@
+package com.shirdheen.employee.employee_creator_app_project.audit;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeAuditEntryDto;
+import com.shirdheen.employee.employee_creator_app_project.event.EmployeeChangedEvent;
+import com.shirdheen.employee.employee_creator_app_project.repository.EmployeeAuditRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+// Write-behind history of committed employee changes.
+//
+// A write only adds an entry to a bounded in-memory buffer once its transaction has
+// committed; a background flusher moves the buffer into the employee_audit table in JDBC
+// batches, every flush-interval or as soon as a batch has filled up. If the buffer is full
+// the writer waits up to max-wait for the flusher to make room and then appends the entry to
+// a local spill file instead (see EmployeeAuditSpill), which the flusher writes once it has
+// caught up. Writers can't wait longer or flush themselves: after-commit listeners still hold
+// the committed transaction's connection, which the flusher may be waiting for.
+//
+// A batch the database keeps refusing is retried max-attempts times, then written entry by
+// entry; an entry the database refuses on its own is moved aside rather than retried forever.
+// Connection failures are not the entry's fault, so those entries stay and are retried.
+//
+// Shutdown flushes whatever is left before the connection pool closes, and spills it if that
+// fails, for the next start to write. A crash can still lose what was buffered since the last
+// flush, at most about one flush-interval of writes.
+@Component
+public class EmployeeAuditLog {
+
+    private final EmployeeAuditRepository auditRepository;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long maxWaitNanos;
+    private final int maxAttempts;
+    private final BlockingQueue<EmployeeAuditEntry> buffer;
+    private final EmployeeAuditSpill spill;
+    // Taken from the buffer or the spill but not yet written; retried first after a failed flush
+    private final List<EmployeeAuditEntry> pending = new ArrayList<>();
+    private int failedAttempts;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("employee-audit-flusher").daemon().factory());
+    private final Counter written;
+    private final Counter writerWaits;
+    private final Counter spilled;
+    private final Counter rejected;
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeAuditLog.class);
+
+    public EmployeeAuditLog(EmployeeAuditRepository auditRepository, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${employee.audit.enabled:true}") boolean enabled,
+            @Value("${employee.audit.buffer-size:65536}") int bufferSize,
+            @Value("${employee.audit.batch-size:500}") int batchSize,
+            @Value("${employee.audit.flush-interval:200ms}") Duration flushInterval,
+            @Value("${employee.audit.max-wait:100ms}") Duration maxWait,
+            @Value("${employee.audit.max-attempts:3}") int maxAttempts,
+            @Value("${employee.audit.spill-directory:${java.io.tmpdir}/employee-audit}") Path spillDirectory)
+            throws IOException {
+        this.auditRepository = auditRepository;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.maxAttempts = maxAttempts;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.spill = new EmployeeAuditSpill(spillDirectory, objectMapper, batchSize);
+        Gauge.builder("employee.audit.buffered", buffer, BlockingQueue::size).register(meterRegistry);
+        Gauge.builder("employee.audit.spill.segments", spill, EmployeeAuditSpill::segmentCount)
+                .description("Spill files of up to batch-size entries waiting to be written")
+                .register(meterRegistry);
+        this.written = Counter.builder("employee.audit.written")
+                .description("Audit entries written to the employee_audit table").register(meterRegistry);
+        this.writerWaits = Counter.builder("employee.audit.writer.waits")
+                .description("Writes that found the audit buffer full and waited for the flusher")
+                .register(meterRegistry);
+        this.spilled = Counter.builder("employee.audit.spilled")
+                .description("Audit entries written to the spill file because the buffer stayed full")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("employee.audit.rejected")
+                .description("Audit entries the database refused, moved aside to rejected.ndjson")
+                .register(meterRegistry);
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushInterval.toMillis(), flushInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Order(EmployeeChangedEvent.READ_MODEL_ORDER)
+    @TransactionalEventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        EmployeeAuditEntry entry = new EmployeeAuditEntry(event.getId(), event.getType(),
+                event.getEmployee() == null ? null : event.getEmployee().getVersion(), event.getChanges(),
+                LocalDateTime.now());
+        if (!buffer.offer(entry)) {
+            writerWaits.increment();
+            scheduleFlush();
+            if (!offer(entry)) {
+                spill(entry);
+                return;
+            }
+        }
+        // Start on a full batch now rather than at the next tick
+        if (buffer.size() >= batchSize) {
+            scheduleFlush();
+        }
+    }
+
+    // The employee's history, oldest first, including changes still in the buffer
+    public List<EmployeeAuditEntryDto> history(Long employeeId) {
+        flush();
+        return auditRepository.findByEmployeeId(employeeId);
+    }
+
+    // Writes everything buffered or spilled before the call. Throws if the database rejects a
+    // batch, which stays pending for the next flush.
+    public synchronized void flush() {
+        while (true) {
+            if (pending.isEmpty()) {
+                buffer.drainTo(pending, batchSize);
+            }
+            // Spilled entries go in once the buffer has been caught up with
+            if (pending.isEmpty()) {
+                try {
+                    pending.addAll(spill.takeOldest());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            if (pending.isEmpty()) {
+                return;
+            }
+            writePending();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(30, TimeUnit.SECONDS);
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                List<EmployeeAuditEntry> left = new ArrayList<>(pending);
+                buffer.drainTo(left);
+                try {
+                    spill.append(left);
+                    pending.clear();
+                    logger.warn("Could not write {} audit entries at shutdown; spilled them for the next start",
+                            left.size(), e);
+                } catch (IOException spillFailure) {
+                    e.addSuppressed(spillFailure);
+                    logger.error("Could not write {} audit entries at shutdown", left.size(), e);
+                }
+            }
+        }
+    }
+
+    // Waits up to max-wait for room in the buffer
+    private boolean offer(EmployeeAuditEntry entry) {
+        try {
+            return buffer.offer(entry, maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void spill(EmployeeAuditEntry entry) {
+        try {
+            spill.append(List.of(entry));
+            spilled.increment();
+        } catch (IOException e) {
+            logger.error("Audit buffer full and spill failed; lost entry {}", entry, e);
+        }
+    }
+
+    private void writePending() {
+        try {
+            auditRepository.insertAll(pending);
+        } catch (RuntimeException e) {
+            if (++failedAttempts < maxAttempts) {
+                throw e;
+            }
+            logger.warn("Audit batch failed {} times; writing its {} entries one at a time", failedAttempts,
+                    pending.size(), e);
+            writePendingOneByOne();
+            return;
+        }
+        written.increment(pending.size());
+        pending.clear();
+        failedAttempts = 0;
+    }
+
+    // Stops at the first entry that fails for want of a connection, leaving it and the rest pending
+    private void writePendingOneByOne() {
+        for (Iterator<EmployeeAuditEntry> entries = pending.iterator(); entries.hasNext();) {
+            EmployeeAuditEntry entry = entries.next();
+            try {
+                auditRepository.insertAll(List.of(entry));
+                written.increment();
+            } catch (NonTransientDataAccessException e) {
+                if (e instanceof DataAccessResourceFailureException) {
+                    throw e;
+                }
+                reject(entry, e);
+            }
+            entries.remove();
+        }
+        failedAttempts = 0;
+    }
+
+    private void reject(EmployeeAuditEntry entry, RuntimeException reason) {
+        try {
+            spill.reject(entry);
+        } catch (IOException e) {
+            reason.addSuppressed(e);
+        }
+        rejected.increment();
+        logger.error("Database refused audit entry {}; moved it aside", entry, reason);
+    }
+
+    // After shutdown the final flush in shutdown() takes care of everything
+    private void scheduleFlush() {
+        if (!flusher.isShutdown() && flushScheduled.compareAndSet(false, true)) {
+            flusher.execute(() -> {
+                flushScheduled.set(false);
+                flushQuietly();
+            });
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.warn("Audit flush failed; {} buffered entries will be retried", buffer.size(), e);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.shirdheen.employee.employee_creator_app_project.audit;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Local append-only files for audit entries the buffer could not take: writes that found it
+// full, and whatever was still unwritten when the final flush at shutdown failed. Entries are
+// JSON lines in numbered segments of at most segmentSize entries, which the flusher takes back
+// oldest first, so a segment is one batch and is deleted as soon as it is back in memory.
+//
+// Entries the database refuses outright are moved aside to rejected.ndjson and not retried.
+class EmployeeAuditSpill {
+
+    private static final String SEGMENT_PREFIX = "spill-";
+    private static final String SEGMENT_SUFFIX = ".ndjson";
+
+    private final Path directory;
+    private final Path rejected;
+    private final ObjectMapper objectMapper;
+    private final int segmentSize;
+    // Segments on disk, oldest first; the last one is appended to until it is full
+    private final TreeSet<Long> segments = new TreeSet<>();
+    private int entriesInLast;
+
+    EmployeeAuditSpill(Path directory, ObjectMapper objectMapper, int segmentSize) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.rejected = directory.resolve("rejected.ndjson");
+        this.objectMapper = objectMapper;
+        this.segmentSize = segmentSize;
+        // Left behind by an earlier run; they are replayed before anything spilled from now on
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                segments.add(Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                        name.length() - SEGMENT_SUFFIX.length())));
+            }
+        }
+        // Never append to a segment from an earlier run, whose entry count is unknown
+        entriesInLast = segmentSize;
+    }
+
+    synchronized void append(List<EmployeeAuditEntry> entries) throws IOException {
+        int from = 0;
+        while (from < entries.size()) {
+            if (entriesInLast >= segmentSize) {
+                segments.add(segments.isEmpty() ? 0 : segments.last() + 1);
+                entriesInLast = 0;
+            }
+            int to = Math.min(entries.size(), from + segmentSize - entriesInLast);
+            List<String> lines = new ArrayList<>(to - from);
+            for (EmployeeAuditEntry entry : entries.subList(from, to)) {
+                lines.add(objectMapper.writeValueAsString(entry));
+            }
+            write(segment(segments.last()), lines);
+            entriesInLast += to - from;
+            from = to;
+        }
+    }
+
+    synchronized boolean isEmpty() {
+        return segments.isEmpty();
+    }
+
+    synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    // Removes the oldest segment and returns its entries, or nothing if there is none
+    synchronized List<EmployeeAuditEntry> takeOldest() throws IOException {
+        if (segments.isEmpty()) {
+            return List.of();
+        }
+        long oldest = segments.first();
+        Path file = segment(oldest);
+        List<EmployeeAuditEntry> entries = new ArrayList<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                entries.add(objectMapper.readValue(line, EmployeeAuditEntry.class));
+            } catch (JsonProcessingException e) {
+                // Only a crash mid-write leaves a line like this; keep it for a person to look at
+                write(rejected, List.of(line));
+            }
+        }
+        Files.delete(file);
+        segments.remove(oldest);
+        if (segments.isEmpty()) {
+            entriesInLast = segmentSize;
+        }
+        return entries;
+    }
+
+    synchronized void reject(EmployeeAuditEntry entry) throws IOException {
+        write(rejected, List.of(objectMapper.writeValueAsString(entry)));
+    }
+
+    private Path segment(long number) {
+        return directory.resolve(SEGMENT_PREFIX + String.format("%012d", number) + SEGMENT_SUFFIX);
+    }
+
+    private static void write(Path file, List<String> lines) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.newLine();
+            }
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.shirdheen.employee.employee_creator_app_project.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.shirdheen.employee.employee_creator_app_project.dto.CacheStatsDto;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeDto;
+import com.shirdheen.employee.employee_creator_app_project.event.EmployeeChangedEvent;
+import com.shirdheen.employee.employee_creator_app_project.event.EmployeeFieldChange;
+import com.shirdheen.employee.employee_creator_app_project.model.ContractType;
+import com.shirdheen.employee.employee_creator_app_project.model.EmploymentType;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// Read-through cache for single employees and for the id lists behind /filter.
+//
+// Every invalidation bumps a generation counter (striped by id, one global counter for
+// filter lists). A loader records the generation before it reads the database and its
+// result is only stored if no invalidation happened in between, so a slow read that
+// raced a PATCH can never put the pre-PATCH row back into the cache.
+//
+// Callers get their own copy of each cached row, because the derived flags are filled in
+// per request on the returned DTOs.
+@Component
+public class EmployeeCache {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private record FilterKey(EmploymentType employmentType, ContractType contractType) {
+    }
+
+    private final boolean enabled;
+    private final Cache<Long, EmployeeDto> employeesById;
+    private final Cache<FilterKey, List<Long>> filterResults;
+    private final AtomicLongArray idGenerations = new AtomicLongArray(GENERATION_STRIPES);
+    private final AtomicLong filterGeneration = new AtomicLong();
+    private final AtomicLong stalePutsSkipped = new AtomicLong();
+    // Time spent in the database on a miss, per cache
+    private final Timer employeeLoads;
+    private final Timer filterLoads;
+
+    public EmployeeCache(@Value("${employee.cache.enabled:true}") boolean enabled,
+            @Value("${employee.cache.max-size:10000}") long maxSize,
+            @Value("${employee.cache.ttl:5m}") Duration ttl,
+            @Value("${employee.cache.filter-ttl:30s}") Duration filterTtl,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.employeesById = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build();
+        this.filterResults = Caffeine.newBuilder().maximumSize(16).expireAfterWrite(filterTtl).recordStats().build();
+        this.employeeLoads = Timer.builder("employee.cache.load").tag("cache", "employees").register(meterRegistry);
+        this.filterLoads = Timer.builder("employee.cache.load").tag("cache", "filters").register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, employeesById, "employees");
+        CaffeineCacheMetrics.monitor(meterRegistry, filterResults, "filters");
+    }
+
+    public EmployeeDto getById(Long id, Supplier<EmployeeDto> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        EmployeeDto cached = employeesById.getIfPresent(id);
+        if (cached != null) {
+            return new EmployeeDto(cached);
+        }
+
+        long generation = idGeneration(id);
+        EmployeeDto loaded = employeeLoads.record(loader);
+        putIfCurrent(new EmployeeDto(loaded), generation);
+        return loaded;
+    }
+
+    // Resolves a filter through its cached id list, loading only the rows missing from the
+    // per-id cache in one bulk call. The unfiltered case is the whole table and is not cached.
+    public List<EmployeeDto> getFiltered(EmploymentType employmentType, ContractType contractType,
+            Supplier<List<EmployeeDto>> loader, Function<List<Long>, List<EmployeeDto>> bulkLoader) {
+        if (!enabled || (employmentType == null && contractType == null)) {
+            return loader.get();
+        }
+
+        FilterKey key = new FilterKey(employmentType, contractType);
+        List<Long> ids = filterResults.getIfPresent(key);
+        if (ids != null) {
+            return resolve(ids, bulkLoader);
+        }
+
+        long generation = filterGeneration.get();
+        List<EmployeeDto> loaded = filterLoads.record(loader);
+        List<Long> loadedIds = loaded.stream().map(EmployeeDto::getId).toList();
+        filterResults.asMap().compute(key, (k, current) -> {
+            if (filterGeneration.get() == generation) {
+                return loadedIds;
+            }
+            stalePutsSkipped.incrementAndGet();
+            return current;
+        });
+        return loaded;
+    }
+
+    // Drops the row and every cached filter, for callers that don't know what changed
+    public void invalidate(Long id) {
+        invalidateRow(id);
+        filterGeneration.incrementAndGet();
+        filterResults.invalidateAll();
+    }
+
+    // Drops the row and only the filters the change can have altered: those matching the
+    // row's types before or after it. The cached lists hold ids in lastName order and rows are
+    // resolved through the per-id cache, so an update touching neither the types nor lastName
+    // leaves every list as it was.
+    public void invalidate(EmployeeChangedEvent event) {
+        if (event.getEmployee() == null) {
+            invalidate(event.getId());
+            return;
+        }
+        invalidateRow(event.getId());
+
+        EmploymentType employmentType = event.getEmployee().getEmploymentType();
+        ContractType contractType = event.getEmployee().getContractType();
+        EmploymentType previousEmploymentType = employmentType;
+        ContractType previousContractType = contractType;
+        boolean listsChanged = event.getType() != EmployeeChangedEvent.Type.UPDATED;
+        for (EmployeeFieldChange change : event.getChanges()) {
+            if (change.field().equals("employmentType")) {
+                previousEmploymentType = (EmploymentType) change.oldValue();
+                listsChanged = true;
+            } else if (change.field().equals("contractType")) {
+                previousContractType = (ContractType) change.oldValue();
+                listsChanged = true;
+            } else if (change.field().equals("lastName")) {
+                listsChanged = true;
+            }
+        }
+        if (!listsChanged) {
+            return;
+        }
+
+        Set<FilterKey> keys = new HashSet<>();
+        addKeys(keys, employmentType, contractType);
+        addKeys(keys, previousEmploymentType, previousContractType);
+        // The generation stays global: a load racing any write is not stored, which is only
+        // ever too cautious
+        filterGeneration.incrementAndGet();
+        filterResults.invalidateAll(keys);
+    }
+
+    // Runs before the writing transaction commits and again once it has committed, so
+    // readers cannot keep serving the old row in the window between the two
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void beforeEmployeeChangeCommits(EmployeeChangedEvent event) {
+        invalidate(event);
+    }
+
+    @Order(EmployeeChangedEvent.READ_MODEL_ORDER)
+    @TransactionalEventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        invalidate(event);
+    }
+
+    public CacheStatsDto stats() {
+        CacheStats byId = employeesById.stats();
+        CacheStats filters = filterResults.stats();
+        return new CacheStatsDto(enabled, employeesById.estimatedSize(), byId.hitCount(), byId.missCount(),
+                byId.evictionCount(), filterResults.estimatedSize(), filters.hitCount(), filters.missCount(),
+                filters.evictionCount(), stalePutsSkipped.get());
+    }
+
+    private List<EmployeeDto> resolve(List<Long> ids, Function<List<Long>, List<EmployeeDto>> bulkLoader) {
+        Map<Long, EmployeeDto> cached = employeesById.getAllPresent(ids);
+        if (cached.size() == ids.size()) {
+            return ids.stream().map(cached::get).map(EmployeeDto::new).toList();
+        }
+
+        List<Long> missing = new ArrayList<>();
+        Map<Long, Long> generations = new HashMap<>();
+        for (Long id : ids) {
+            if (!cached.containsKey(id)) {
+                missing.add(id);
+                generations.put(id, idGeneration(id));
+            }
+        }
+
+        Map<Long, EmployeeDto> resolved = new HashMap<>();
+        cached.forEach((id, employee) -> resolved.put(id, new EmployeeDto(employee)));
+        List<EmployeeDto> loaded = employeeLoads.record(() -> bulkLoader.apply(missing));
+        for (EmployeeDto employee : loaded) {
+            resolved.put(employee.getId(), employee);
+            putIfCurrent(new EmployeeDto(employee), generations.get(employee.getId()));
+        }
+
+        // Rows deleted since the list was cached simply drop out
+        return ids.stream().map(resolved::get).filter(Objects::nonNull).toList();
+    }
+
+    private void invalidateRow(Long id) {
+        idGenerations.incrementAndGet(stripe(id));
+        employeesById.invalidate(id);
+    }
+
+    // The three filters a row with these types appears in; the unfiltered list is never cached
+    private static void addKeys(Set<FilterKey> keys, EmploymentType employmentType, ContractType contractType) {
+        keys.add(new FilterKey(employmentType, contractType));
+        keys.add(new FilterKey(employmentType, null));
+        keys.add(new FilterKey(null, contractType));
+    }
+
+    private void putIfCurrent(EmployeeDto employee, long generation) {
+        employeesById.asMap().compute(employee.getId(), (id, current) -> {
+            if (idGeneration(id) == generation) {
+                return employee;
+            }
+            stalePutsSkipped.incrementAndGet();
+            return current;
+        });
+    }
+
+    private long idGeneration(Long id) {
+        return idGenerations.get(stripe(id));
+    }
+
+    private static int stripe(Long id) {
+        return Long.hashCode(id) & (GENERATION_STRIPES - 1);
+    }
+}
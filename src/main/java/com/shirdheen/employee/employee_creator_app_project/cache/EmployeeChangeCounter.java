@@ -0,0 +1,35 @@
+package com.shirdheen.employee.employee_creator_app_project.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.shirdheen.employee.employee_creator_app_project.event.EmployeeChangedEvent;
+
+// Table-level change counter behind the list ETags: checking whether any list may have
+// changed is a counter read instead of a query or a hash of the body.
+//
+// It is bumped only after a write commits, and after every other listener has applied the
+// write to its read model (the cache, search index, replica and so on). A reader takes the
+// value before it queries, so a response can be newer than its tag (costing one extra
+// download) but never older.
+// The epoch changes on every start, so tags handed out before a restart never match.
+// Like EmployeeCache, it only sees writes made through this instance.
+@Component
+public class EmployeeChangeCounter {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong changes = new AtomicLong();
+
+    public String current() {
+        return epoch + "." + changes.get();
+    }
+
+    @Order(EmployeeChangedEvent.CHANGE_COUNTER_ORDER)
+    @TransactionalEventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        changes.incrementAndGet();
+    }
+}
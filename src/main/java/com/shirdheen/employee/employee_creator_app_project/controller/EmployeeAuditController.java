@@ -0,0 +1,35 @@
+package com.shirdheen.employee.employee_creator_app_project.controller;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.shirdheen.employee.employee_creator_app_project.audit.EmployeeAuditLog;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeAuditEntryDto;
+
+@RestController
+@RequestMapping("/api/employees")
+@CrossOrigin(origins = "*")
+public class EmployeeAuditController {
+
+    private final EmployeeAuditLog auditLog;
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeAuditController.class);
+
+    public EmployeeAuditController(EmployeeAuditLog auditLog) {
+        this.auditLog = auditLog;
+    }
+
+    // Oldest first. Deleted employees keep their history; an unknown id just has none.
+    @GetMapping("/{id}/history")
+    public ResponseEntity<List<EmployeeAuditEntryDto>> getHistory(@PathVariable Long id) {
+        logger.debug("Fetching history of employee with ID: {}", id);
+        return ResponseEntity.ok(auditLog.history(id));
+    }
+}
@@ -0,0 +1,27 @@
+package com.shirdheen.employee.employee_creator_app_project.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.shirdheen.employee.employee_creator_app_project.cache.EmployeeCache;
+import com.shirdheen.employee.employee_creator_app_project.dto.CacheStatsDto;
+
+@RestController
+@RequestMapping("/api/employees/cache")
+@CrossOrigin(origins = "*")
+public class EmployeeCacheController {
+
+    private final EmployeeCache employeeCache;
+
+    public EmployeeCacheController(EmployeeCache employeeCache) {
+        this.employeeCache = employeeCache;
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<CacheStatsDto> getCacheStats() {
+        return ResponseEntity.ok(employeeCache.stats());
+    }
+}
@@ -1,23 +1,46 @@
 package com.shirdheen.employee.employee_creator_app_project.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+import com.shirdheen.employee.employee_creator_app_project.cache.EmployeeChangeCounter;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeBatchResultDto;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeBatchUpdateDto;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeBulkUpdateDto;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeCursor;
 import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeDto;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeStatsDto;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeePageDto;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeePageFilterDto;
+import com.shirdheen.employee.employee_creator_app_project.format.EmployeeListFormat;
+import com.shirdheen.employee.employee_creator_app_project.format.EmployeeListWriter;
 import com.shirdheen.employee.employee_creator_app_project.model.ContractType;
 import com.shirdheen.employee.employee_creator_app_project.model.Employee;
 import com.shirdheen.employee.employee_creator_app_project.model.EmploymentType;
+import com.shirdheen.employee.employee_creator_app_project.service.EmployeeDerivedAttributes;
 import com.shirdheen.employee.employee_creator_app_project.service.EmployeeService;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -25,73 +48,220 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
+import jakarta.validation.Valid;
+
 @RestController
 @RequestMapping("/api/employees")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = HttpHeaders.ETAG)
 public class EmployeeController {
 
     private final EmployeeService employeeService;
+    private final EmployeeDerivedAttributes derivedAttributes;
+    private final EmployeeChangeCounter changeCounter;
+    private final EmployeeListWriter listWriter;
+    private final ObjectMapper objectMapper;
     private static final Logger logger = LoggerFactory.getLogger(EmployeeController.class);
 
-    public EmployeeController(EmployeeService employeeService) {
+    @Value("${employee.pagination.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${employee.pagination.max-size:500}")
+    private int maxPageSize;
+
+    @Value("${employee.search.default-limit:50}")
+    private int defaultSearchLimit;
+
+    @Value("${employee.search.max-limit:500}")
+    private int maxSearchLimit;
+
+    public EmployeeController(EmployeeService employeeService, EmployeeDerivedAttributes derivedAttributes,
+            EmployeeChangeCounter changeCounter, EmployeeListWriter listWriter, ObjectMapper objectMapper) {
         this.employeeService = employeeService;
+        this.derivedAttributes = derivedAttributes;
+        this.changeCounter = changeCounter;
+        this.listWriter = listWriter;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<EmployeeDto> getEmployeeById(@PathVariable Long id) {
-        logger.info("Fetching employee with ID: {}", id);
-        Employee employee = employeeService.getEmployeeById(id);
-        return ResponseEntity.ok(new EmployeeDto(employee));
+    public ResponseEntity<EmployeeDto> getEmployeeById(@PathVariable Long id, WebRequest request) {
+        logger.debug("Fetching employee with ID: {}", id);
+        EmployeeDerivedAttributes.AsOf asOf = derivedAttributes.current();
+        EmployeeDto employee = employeeService.getEmployeeById(id);
+        String etag = EmployeeETags.forEmployee(employee, asOf);
+        if (request.checkNotModified(etag)) {
+            // 304 is already set up; nothing gets serialised
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(asOf.apply(employee));
+    }
+
+    // Rows go from the database cursor straight to the response in whichever list format the
+    // Accept header asks for, so the full list is never held in memory
+    @GetMapping(produces = { MediaType.APPLICATION_JSON_VALUE, EmployeeListFormat.SMILE_VALUE,
+            EmployeeListFormat.COLUMNS_VALUE })
+    public ResponseEntity<StreamingResponseBody> getAllEmployees(WebRequest request) {
+        logger.debug("Fetching all employees");
+        EmployeeListFormat format = EmployeeListFormat.negotiate(request.getHeader(HttpHeaders.ACCEPT));
+        EmployeeDerivedAttributes.AsOf asOf = derivedAttributes.current();
+        String etag = EmployeeETags.forList(changeCounter.current(), asOf, format);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        StreamingResponseBody body = out -> listWriter.write(format, out, rows -> employeeService.streamEmployees(
+                employee -> rows.accept(asOf.apply(employee))));
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT)
+                .contentType(format.mediaType()).body(body);
+    }
+
+    // Keyset pages of everyone, or of the employees matching the optional filters, e.g.
+    // /page?contractType=CONTRACT&finishDateFrom=2025-03-01&finishDateBefore=2025-03-31 or
+    // /page?minTenureYears=5&ongoing=true. Send the same filters with each cursor.
+    @GetMapping("/page")
+    public ResponseEntity<EmployeePageDto> getEmployeePage(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size, @Valid EmployeePageFilterDto filter, WebRequest request) {
+        int pageSize = size == null ? defaultPageSize : size;
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + maxPageSize);
+        }
+
+        logger.debug("Fetching employee page of size {} after cursor: {}", pageSize, cursor);
+
+        EmployeeCursor after = EmployeeCursor.decode(cursor);
+        EmployeeDerivedAttributes.AsOf asOf = derivedAttributes.current();
+        return listResponse(request, asOf, () -> {
+            // One extra row tells us whether another page follows without a count query
+            List<EmployeeDto> employees = employeeService.getEmployeesAfter(filter, after, pageSize + 1, asOf);
+            boolean hasNext = employees.size() > pageSize;
+            List<EmployeeDto> page = hasNext ? employees.subList(0, pageSize) : employees;
+            String next = hasNext ? EmployeeCursor.of(page.get(pageSize - 1)).encode() : null;
+            return new EmployeePageDto(asOf.applyAll(page), next);
+        });
     }
 
-    @GetMapping
-    public ResponseEntity<List<EmployeeDto>> getAllEmployees() {
-        logger.info("Fetching all employees");
-        List<Employee> employees = employeeService.getAllEmployees();
-        List<EmployeeDto> dtos = employees.stream().map(EmployeeDto::new).collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamEmployees(WebRequest request) {
+        logger.debug("Streaming all employees");
+        EmployeeDerivedAttributes.AsOf asOf = derivedAttributes.current();
+        String etag = EmployeeETags.forList(changeCounter.current(), asOf);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+                employeeService.streamEmployees(employee -> {
+                    try {
+                        writer.write(asOf.apply(employee));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writer.flush();
+                out.write('\n');
+            }
+        };
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
-    @GetMapping("/filter")
+    @GetMapping(value = "/filter", produces = { MediaType.APPLICATION_JSON_VALUE, EmployeeListFormat.SMILE_VALUE,
+            EmployeeListFormat.COLUMNS_VALUE })
     public ResponseEntity<List<EmployeeDto>> filterEmployees(
             @RequestParam(required = false) EmploymentType employmentType,
-            @RequestParam(required = false) ContractType contractType) {
-        logger.info("Filtering employees by employmentType: {} and contractType: {}", employmentType, contractType);
-        List<Employee> filteredEmployees = employeeService.filterEmployees(employmentType, contractType);
-        List<EmployeeDto> dtos = filteredEmployees.stream().map(EmployeeDto::new).toList();
+            @RequestParam(required = false) ContractType contractType,
+            @RequestParam(required = false) Boolean onProbation,
+            @RequestParam(required = false) Integer anniversaryMonth, WebRequest request) {
+        logger.debug("Filtering employees by employmentType: {}, contractType: {}, onProbation: {}, anniversaryMonth: {}",
+                employmentType, contractType, onProbation, anniversaryMonth);
+        EmployeeDerivedAttributes.AsOf asOf = derivedAttributes.current();
+        return listResponse(request, asOf, () -> asOf.applyAll(
+                employeeService.filterEmployees(employmentType, contractType, onProbation, anniversaryMonth, asOf)));
+    }
 
-        return ResponseEntity.ok(dtos);
+    // e.g. /stats?groupBy=employmentType&groupBy=contractType; no groupBy gives company-wide totals
+    @GetMapping("/stats")
+    public ResponseEntity<List<EmployeeStatsDto>> getStatistics(
+            @RequestParam(required = false, defaultValue = "") List<String> groupBy) {
+        logger.debug("Fetching employee statistics grouped by: {}", groupBy);
+        return ResponseEntity.ok(employeeService.getStatistics(groupBy));
     }
 
-    @GetMapping("/search")
-    public ResponseEntity<List<EmployeeDto>> searchEmployees(@RequestParam String keyword) {
-        logger.info("Searching employees with keyword: {}", keyword);
-        List<EmployeeDto> dtos = employeeService.searchEmployees(keyword).stream().map(EmployeeDto::new)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+    @GetMapping(value = "/search", produces = { MediaType.APPLICATION_JSON_VALUE, EmployeeListFormat.SMILE_VALUE,
+            EmployeeListFormat.COLUMNS_VALUE })
+    public ResponseEntity<List<EmployeeDto>> searchEmployees(@RequestParam String keyword,
+            @RequestParam(required = false) Integer limit, WebRequest request) {
+        int resultLimit = limit == null ? defaultSearchLimit : limit;
+        if (resultLimit < 1 || resultLimit > maxSearchLimit) {
+            throw new IllegalArgumentException("Search limit must be between 1 and " + maxSearchLimit);
+        }
+
+        logger.debug("Searching employees with keyword: {}", keyword);
+        EmployeeDerivedAttributes.AsOf asOf = derivedAttributes.current();
+        return listResponse(request, asOf, () -> asOf.applyAll(employeeService.searchEmployees(keyword, resultLimit)));
     }
 
     @PostMapping
     public ResponseEntity<EmployeeDto> createEmployee(@RequestBody Employee employee) {
-        logger.info("Creating new employee with email: {}", employee.getEmail());
+        logger.debug("Creating new employee with email: {}", employee.getEmail());
         Employee savedEmployee = employeeService.createEmployee(employee);
-        return ResponseEntity.status(HttpStatus.CREATED).body(new EmployeeDto(savedEmployee));
+        EmployeeDerivedAttributes.AsOf asOf = derivedAttributes.current();
+        EmployeeDto created = new EmployeeDto(savedEmployee);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(EmployeeETags.forEmployee(created, asOf))
+                .body(asOf.apply(created));
     }
 
+    // With If-Match, the update only goes ahead if the employee is still at that version (else 412)
     @PatchMapping("/{id}")
-    public ResponseEntity<EmployeeDto> updateEmployee(@PathVariable Long id, @RequestBody Map<String, Object> updates) {
+    public ResponseEntity<EmployeeDto> updateEmployee(@PathVariable Long id, @RequestBody Map<String, Object> updates,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
-        logger.info("Updating employee with ID: {}", id);
+        logger.debug("Updating employee with ID: {}", id);
         logger.debug("Fields to update: {}", updates.keySet());
 
-        Employee updatedEmployee = employeeService.updateEmployee(id, updates);
-        return ResponseEntity.ok(new EmployeeDto(updatedEmployee));
+        Employee updatedEmployee = employeeService.updateEmployee(id, updates, EmployeeETags.expectedVersion(ifMatch));
+        EmployeeDerivedAttributes.AsOf asOf = derivedAttributes.current();
+        EmployeeDto updated = new EmployeeDto(updatedEmployee);
+        return ResponseEntity.ok().eTag(EmployeeETags.forEmployee(updated, asOf)).body(asOf.apply(updated));
+    }
+
+    // Many (id, updates) pairs in one transaction; each item is reported separately
+    @PatchMapping("/batch")
+    public ResponseEntity<EmployeeBatchResultDto> updateEmployees(@RequestBody List<EmployeeBatchUpdateDto> items) {
+        logger.debug("Batch updating {} employees", items.size());
+        return ResponseEntity.ok(employeeService.updateEmployees(items));
+    }
+
+    // The same field values for every listed id, e.g. {"ids": [1, 2], "updates": {"contractType": "CONTRACT"}}
+    @PatchMapping("/bulk")
+    public ResponseEntity<EmployeeBatchResultDto> bulkUpdateEmployees(@RequestBody EmployeeBulkUpdateDto request) {
+        logger.debug("Bulk updating employees with fields: {}", request.getUpdates());
+        return ResponseEntity.ok(employeeService.bulkUpdateEmployees(request));
+    }
+
+    @DeleteMapping("/batch")
+    public ResponseEntity<EmployeeBatchResultDto> deleteEmployees(@RequestBody List<Long> ids) {
+        logger.debug("Batch deleting {} employees", ids.size());
+        return ResponseEntity.ok(employeeService.deleteEmployees(ids));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<String> deleteEmployee(@PathVariable Long id) {
+    public ResponseEntity<String> deleteEmployee(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         logger.warn("Deleting employee with ID: {}", id);
-        employeeService.deleteEmployee(id);
+        employeeService.deleteEmployee(id, EmployeeETags.expectedVersion(ifMatch));
         return ResponseEntity.ok("Employee with ID " + id + " deleted successfully.");
     }
+
+    // List ETags come from the table change counter, read before any query runs, so a 304
+    // costs neither a query nor serialisation. no-cache makes browsers revalidate every time.
+    private <T> ResponseEntity<T> listResponse(WebRequest request, EmployeeDerivedAttributes.AsOf asOf,
+            Supplier<T> body) {
+        EmployeeListFormat format = EmployeeListFormat.negotiate(request.getHeader(HttpHeaders.ACCEPT));
+        String etag = EmployeeETags.forList(changeCounter.current(), asOf, format);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT)
+                .body(body.get());
+    }
 }
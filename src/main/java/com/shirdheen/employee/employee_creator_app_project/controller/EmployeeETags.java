@@ -0,0 +1,52 @@
+package com.shirdheen.employee.employee_creator_app_project.controller;
+
+import java.time.format.DateTimeFormatter;
+
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeDto;
+import com.shirdheen.employee.employee_creator_app_project.format.EmployeeListFormat;
+import com.shirdheen.employee.employee_creator_app_project.service.EmployeeDerivedAttributes;
+
+// Weak ETags for employee responses. The derived flags depend on the request date, so the
+// date is part of every tag; the rest is the row version, or the table change counter for lists.
+final class EmployeeETags {
+
+    private EmployeeETags() {
+    }
+
+    static String forEmployee(EmployeeDto employee, EmployeeDerivedAttributes.AsOf asOf) {
+        return "W/\"" + employee.getVersion() + "-" + asOf.date().format(DateTimeFormatter.BASIC_ISO_DATE) + "\"";
+    }
+
+    static String forList(String changeCounter, EmployeeDerivedAttributes.AsOf asOf) {
+        return forList(changeCounter, asOf, EmployeeListFormat.JSON);
+    }
+
+    static String forList(String changeCounter, EmployeeDerivedAttributes.AsOf asOf, EmployeeListFormat format) {
+        return "W/\"" + changeCounter + "-" + asOf.date().format(DateTimeFormatter.BASIC_ISO_DATE)
+                + format.etagSuffix() + "\"";
+    }
+
+    // The row version an If-Match header asks for, or null when any version will do. Only the
+    // version is compared, so a tag from yesterday's GET still matches an unchanged row.
+    // Anything that isn't an employee tag gets -1, which never matches.
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        if (ifMatch.contains(",")) {
+            throw new IllegalArgumentException("If-Match must be a single ETag or *");
+        }
+
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        tag = tag.replace("\"", "");
+        int dash = tag.indexOf('-');
+        try {
+            return Long.parseLong(dash < 0 ? tag : tag.substring(0, dash));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.shirdheen.employee.employee_creator_app_project.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.shirdheen.employee.employee_creator_app_project.stream.EmployeeChangeStream;
+
+@RestController
+@RequestMapping("/api/employees/events")
+@CrossOrigin(origins = "*")
+public class EmployeeEventController {
+
+    private final EmployeeChangeStream changeStream;
+
+    public EmployeeEventController(EmployeeChangeStream changeStream) {
+        this.changeStream = changeStream;
+    }
+
+    // Event names: ready, created, updated, deleted, reset. EventSource resends the last id in
+    // Last-Event-ID when it reconnects; clients that can't set headers may pass lastEventId.
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(required = false) String lastEventId) {
+        return changeStream.subscribe(lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+    }
+}
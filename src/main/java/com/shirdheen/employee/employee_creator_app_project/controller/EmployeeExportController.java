@@ -0,0 +1,79 @@
+package com.shirdheen.employee.employee_creator_app_project.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeExportStatusDto;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeePageFilterDto;
+import com.shirdheen.employee.employee_creator_app_project.exporter.EmployeeExportJob;
+import com.shirdheen.employee.employee_creator_app_project.exporter.EmployeeExportService;
+import com.shirdheen.employee.employee_creator_app_project.exporter.ExportFormat;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/employees/exports")
+@CrossOrigin(origins = "*")
+public class EmployeeExportController {
+
+    private final EmployeeExportService exportService;
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeExportController.class);
+
+    public EmployeeExportController(EmployeeExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    // Takes the same filters as /page, e.g.
+    // POST /api/employees/exports?format=XLSX&contractType=CONTRACT&finishDateFrom=2025-03-01
+    @PostMapping
+    public ResponseEntity<EmployeeExportStatusDto> startExport(@RequestParam ExportFormat format,
+            @Valid EmployeePageFilterDto filter) {
+        EmployeeExportJob job = exportService.submit(filter, format);
+        logger.info("Queued {} employee export {}", format, job.getId());
+        return ResponseEntity.accepted().location(URI.create("/api/employees/exports/" + job.getId()))
+                .body(job.toDto());
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<EmployeeExportStatusDto> getExportStatus(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(exportService.getJob(jobId).toDto());
+    }
+
+    // The response closes the stream once it is sent, which lets the job be evicted again
+    @GetMapping("/{jobId}/file")
+    public ResponseEntity<Resource> downloadExport(@PathVariable UUID jobId) throws IOException {
+        EmployeeExportJob job = exportService.getJob(jobId);
+        InputStream file = exportService.openFile(jobId);
+        return ResponseEntity.ok()
+                .contentType(job.getFormat().mediaType())
+                .contentLength(job.getFileSize())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("employees." + job.getFormat().extension()).build().toString())
+                .body(new InputStreamResource(file));
+    }
+
+    // Cancels the export if it is still queued or running and deletes its file
+    @DeleteMapping("/{jobId}")
+    public ResponseEntity<Void> deleteExport(@PathVariable UUID jobId) {
+        exportService.cancel(jobId);
+        return ResponseEntity.noContent().build();
+    }
+}
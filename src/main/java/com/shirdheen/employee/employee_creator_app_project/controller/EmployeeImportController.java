@@ -0,0 +1,50 @@
+package com.shirdheen.employee.employee_creator_app_project.controller;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeImportStatusDto;
+import com.shirdheen.employee.employee_creator_app_project.importer.EmployeeImportJob;
+import com.shirdheen.employee.employee_creator_app_project.importer.EmployeeImportService;
+import com.shirdheen.employee.employee_creator_app_project.importer.ImportFormat;
+
+@RestController
+@RequestMapping("/api/employees/imports")
+@CrossOrigin(origins = "*")
+public class EmployeeImportController {
+
+    private final EmployeeImportService importService;
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeImportController.class);
+
+    public EmployeeImportController(EmployeeImportService importService) {
+        this.importService = importService;
+    }
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<EmployeeImportStatusDto> startImport(@RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) ImportFormat format) throws IOException {
+        logger.info("Starting employee import from file: {} ({} bytes)", file.getOriginalFilename(), file.getSize());
+        EmployeeImportJob job = importService.submit(file, format);
+        return ResponseEntity.accepted().location(URI.create("/api/employees/imports/" + job.getId()))
+                .body(job.toDto());
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<EmployeeImportStatusDto> getImportStatus(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(importService.getJob(jobId).toDto());
+    }
+}
@@ -0,0 +1,29 @@
+package com.shirdheen.employee.employee_creator_app_project.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.shirdheen.employee.employee_creator_app_project.dto.SlowRequestDto;
+import com.shirdheen.employee.employee_creator_app_project.metrics.SlowRequestLog;
+
+@RestController
+@RequestMapping("/api/employees/traces")
+@CrossOrigin(origins = "*")
+public class EmployeeTraceController {
+
+    private final SlowRequestLog slowRequestLog;
+
+    public EmployeeTraceController(SlowRequestLog slowRequestLog) {
+        this.slowRequestLog = slowRequestLog;
+    }
+
+    @GetMapping("/slow")
+    public ResponseEntity<List<SlowRequestDto>> getSlowRequests() {
+        return ResponseEntity.ok(slowRequestLog.recent());
+    }
+}
@@ -0,0 +1,23 @@
+package com.shirdheen.employee.employee_creator_app_project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CacheStatsDto {
+    private boolean enabled;
+
+    private long employeeEntries;
+    private long employeeHits;
+    private long employeeMisses;
+    private long employeeEvictions;
+
+    private long filterEntries;
+    private long filterHits;
+    private long filterMisses;
+    private long filterEvictions;
+
+    // Loads that lost a race with a write and were not cached
+    private long stalePutsSkipped;
+}
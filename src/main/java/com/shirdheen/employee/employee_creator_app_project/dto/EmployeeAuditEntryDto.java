@@ -0,0 +1,25 @@
+package com.shirdheen.employee.employee_creator_app_project.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.shirdheen.employee.employee_creator_app_project.event.EmployeeChangedEvent;
+import com.shirdheen.employee.employee_creator_app_project.event.EmployeeFieldChange;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// One entry of /api/employees/{id}/history
+@Getter
+@AllArgsConstructor
+public class EmployeeAuditEntryDto {
+    private Long id;
+    private EmployeeChangedEvent.Type type;
+
+    // Employee version after the change
+    private Long version;
+    private LocalDateTime changedAt;
+
+    // Fields an update changed; empty for creates and deletes
+    private List<EmployeeFieldChange> changes;
+}
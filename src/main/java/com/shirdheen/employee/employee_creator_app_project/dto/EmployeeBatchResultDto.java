@@ -0,0 +1,36 @@
+package com.shirdheen.employee.employee_creator_app_project.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class EmployeeBatchResultDto {
+    private int succeeded;
+    private int failed;
+
+    // One entry per requested item, in request order
+    private List<Item> results;
+
+    public enum Status {
+        UPDATED, DELETED, NOT_FOUND, INVALID, CONFLICT, REJECTED
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Item {
+        private Long id;
+        private Status status;
+        // Why the item was not applied, if it wasn't
+        private String message;
+    }
+
+    public static EmployeeBatchResultDto of(List<Item> results) {
+        int succeeded = (int) results.stream()
+                .filter(item -> item.getStatus() == Status.UPDATED || item.getStatus() == Status.DELETED)
+                .count();
+        return new EmployeeBatchResultDto(succeeded, results.size() - succeeded, results);
+    }
+}
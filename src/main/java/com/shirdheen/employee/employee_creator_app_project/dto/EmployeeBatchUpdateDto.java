@@ -0,0 +1,20 @@
+package com.shirdheen.employee.employee_creator_app_project.dto;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// One item of a batch PATCH: the same field map a single PATCH takes, for one employee.
+// An optional version works like If-Match on a single PATCH.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeBatchUpdateDto {
+    private Long id;
+    private Map<String, Object> updates;
+    private Long version;
+}
@@ -0,0 +1,19 @@
+package com.shirdheen.employee.employee_creator_app_project.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// The same field values applied to every listed employee with a single UPDATE
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeBulkUpdateDto {
+    private List<Long> ids;
+    private Map<String, Object> updates;
+}
@@ -0,0 +1,17 @@
+package com.shirdheen.employee.employee_creator_app_project.dto;
+
+import com.shirdheen.employee.employee_creator_app_project.event.EmployeeChangedEvent;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Data of a created/updated/deleted event on /api/employees/events
+@Getter
+@AllArgsConstructor
+public class EmployeeChangeDto {
+    private EmployeeChangedEvent.Type type;
+    private Long id;
+
+    // State after the change; null for deletes
+    private EmployeeDto employee;
+}
@@ -0,0 +1,44 @@
+package com.shirdheen.employee.employee_creator_app_project.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Opaque keyset position in the (lastName, id) ordering used by paginated listing
+@Getter
+@AllArgsConstructor
+public class EmployeeCursor {
+    private static final char SEPARATOR = '\n';
+
+    private final String lastName;
+    private final Long id;
+
+    public static EmployeeCursor of(EmployeeDto employee) {
+        return new EmployeeCursor(employee.getLastName(), employee.getId());
+    }
+
+    public String encode() {
+        String raw = id + String.valueOf(SEPARATOR) + lastName;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Returns null for an absent cursor, i.e. the first page
+    public static EmployeeCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+            return new EmployeeCursor(raw.substring(separator + 1), Long.parseLong(raw.substring(0, separator)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+}
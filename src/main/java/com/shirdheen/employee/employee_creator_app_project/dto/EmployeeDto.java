@@ -32,11 +32,14 @@ public class EmployeeDto {
     private Double salary;
     private Integer hoursPerWeek;
 
+    // Filled in by EmployeeDerivedAttributes for the date of the request
     private boolean onProbation;
     private boolean hasWorkAnniversary;
 
     private boolean ongoing;
 
+    private Long version;
+
     public EmployeeDto (Employee employee) {
         this.id = employee.getId();
         this.firstName = employee.getFirstName();
@@ -56,9 +59,42 @@ public class EmployeeDto {
         this.salary = employee.getSalary();
         this.hoursPerWeek = employee.getHoursPerWeek();
 
-        this.onProbation = employee.isOnProbation();
-        this.hasWorkAnniversary = employee.hasWorkAnniversaryThisMonth();
-
         this.ongoing = employee.isOngoing();
+        this.version = employee.getVersion();
+    }
+
+    // Used by the repository's constructor-expression queries
+    public EmployeeDto(Long id, String firstName, String middleName, String lastName, String email,
+            String mobileNumber, String residentialAddress, ContractType contractType,
+            EmploymentType employmentType, LocalDate startDate, LocalDate finishDate, Double salary,
+            Integer hoursPerWeek, boolean ongoing, Long version) {
+        this.id = id;
+        this.firstName = firstName;
+        this.middleName = middleName;
+        this.lastName = lastName;
+
+        this.email = email;
+        this.mobileNumber = mobileNumber;
+        this.residentialAddress = residentialAddress;
+
+        this.contractType = contractType;
+        this.employmentType = employmentType;
+
+        this.startDate = startDate;
+        this.finishDate = finishDate;
+
+        this.salary = salary;
+        this.hoursPerWeek = hoursPerWeek;
+
+        this.ongoing = ongoing;
+        this.version = version;
+    }
+
+    public EmployeeDto(EmployeeDto other) {
+        this(other.id, other.firstName, other.middleName, other.lastName, other.email, other.mobileNumber,
+                other.residentialAddress, other.contractType, other.employmentType, other.startDate,
+                other.finishDate, other.salary, other.hoursPerWeek, other.ongoing, other.version);
+        this.onProbation = other.onProbation;
+        this.hasWorkAnniversary = other.hasWorkAnniversary;
     }
 }
@@ -0,0 +1,29 @@
+package com.shirdheen.employee.employee_creator_app_project.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.shirdheen.employee.employee_creator_app_project.exporter.EmployeeExportJob;
+import com.shirdheen.employee.employee_creator_app_project.exporter.ExportFormat;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class EmployeeExportStatusDto {
+    private UUID id;
+    private ExportFormat format;
+    private EmployeeExportJob.State state;
+
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    private long rowsWritten;
+    // Size of the finished file, 0 until then
+    private long fileSize;
+
+    // Why the job failed, if it did
+    private String message;
+}
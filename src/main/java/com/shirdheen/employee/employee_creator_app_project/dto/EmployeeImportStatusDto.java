@@ -0,0 +1,41 @@
+package com.shirdheen.employee.employee_creator_app_project.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import com.shirdheen.employee.employee_creator_app_project.importer.EmployeeImportJob;
+import com.shirdheen.employee.employee_creator_app_project.importer.ImportFormat;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class EmployeeImportStatusDto {
+    private UUID id;
+    private ImportFormat format;
+    private String fileName;
+    private EmployeeImportJob.State state;
+
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    private long rowsProcessed;
+    private long rowsImported;
+    private long rowsFailed;
+
+    // Why the whole job failed, if it did
+    private String message;
+
+    private List<RowError> errors;
+    private boolean errorsTruncated;
+
+    @Getter
+    @AllArgsConstructor
+    public static class RowError {
+        private long row;
+        private String message;
+    }
+}
@@ -0,0 +1,15 @@
+package com.shirdheen.employee.employee_creator_app_project.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class EmployeePageDto {
+    private List<EmployeeDto> items;
+
+    // Cursor for the following page, null when this is the last one
+    private String next;
+}
@@ -0,0 +1,45 @@
+package com.shirdheen.employee.employee_creator_app_project.dto;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import com.shirdheen.employee.employee_creator_app_project.model.ContractType;
+import com.shirdheen.employee.employee_creator_app_project.model.EmploymentType;
+
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.Setter;
+
+// Optional /page query parameters, combined with AND. Date ranges include the "from" day and
+// exclude the "before" day, e.g. contracts ending in the next 30 days from 2025-03-01 are
+// ?contractType=CONTRACT&finishDateFrom=2025-03-01&finishDateBefore=2025-03-31
+@Getter
+@Setter
+public class EmployeePageFilterDto {
+    private EmploymentType employmentType;
+    private ContractType contractType;
+    private Boolean ongoing;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startDateFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startDateBefore;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate finishDateFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate finishDateBefore;
+
+    // Starts or finishes within the range
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startOrFinishFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startOrFinishBefore;
+
+    // Whole years since the start date, as of today
+    @Min(value = 0, message = "Tenure years cannot be negative")
+    private Integer minTenureYears;
+    @Min(value = 0, message = "Tenure years cannot be negative")
+    private Integer maxTenureYears;
+}
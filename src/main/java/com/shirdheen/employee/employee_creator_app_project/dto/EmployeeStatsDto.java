@@ -0,0 +1,25 @@
+package com.shirdheen.employee.employee_creator_app_project.dto;
+
+import com.shirdheen.employee.employee_creator_app_project.model.ContractType;
+import com.shirdheen.employee.employee_creator_app_project.model.EmploymentType;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class EmployeeStatsDto {
+    // Null when the statistics are not grouped by that field
+    private EmploymentType employmentType;
+    private ContractType contractType;
+
+    private long headcount;
+    private double totalSalary;
+    private double averageSalary;
+    private long totalHoursPerWeek;
+
+    // Within 0.5% of the exact value; null until the in-memory rollup has been built
+    private Double salaryP50;
+    private Double salaryP90;
+    private Double salaryP99;
+}
@@ -0,0 +1,34 @@
+package com.shirdheen.employee.employee_creator_app_project.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SlowRequestDto {
+    private LocalDateTime timestamp;
+    private String method;
+    private String uri;
+    private String query;
+    private int status;
+
+    private double durationMs;
+    private int statements;
+    private double sqlMs;
+    private double connectionWaitMs;
+    private long responseBytes;
+
+    // Slowest statements first
+    private List<QueryBreakdown> queries;
+
+    @Getter
+    @AllArgsConstructor
+    public static class QueryBreakdown {
+        private String sql;
+        private int count;
+        private double totalMs;
+    }
+}
@@ -0,0 +1,147 @@
+package com.shirdheen.employee.employee_creator_app_project.email;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.shirdheen.employee.employee_creator_app_project.search.EmployeeSearchIndex;
+
+// Bloom filter over the normalised email of every employee, so a create can skip the
+// "is this email taken?" query in the common case where the answer is a definite no.
+//
+// It never forgets: emails of deleted employees and old emails of updated ones stay in and
+// only cost an extra query. When more emails have been added than it was sized for, the false
+// positive rate climbs and the updater rebuilds it at twice the size. Until the first build
+// finishes every email is a "maybe", so callers fall back to the database.
+@Component
+public class EmployeeEmailFilter {
+
+    private final double falsePositiveRate;
+    private final int minCapacity;
+
+    private volatile Bits current;
+    // While a rebuild streams the table, new emails go to both filters so none are missed
+    private volatile Bits next;
+
+    public EmployeeEmailFilter(
+            @Value("${employee.email-filter.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${employee.email-filter.min-capacity:100000}") int minCapacity) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+        this.falsePositiveRate = falsePositiveRate;
+        this.minCapacity = minCapacity;
+    }
+
+    // Same rule the search index uses, so "Ann@X.com " and "ann@x.com" are the same address
+    public static String normalize(String email) {
+        return EmployeeSearchIndex.normalize(email);
+    }
+
+    public boolean isReady() {
+        return current != null;
+    }
+
+    // False means no employee has this email; true means one might, and the database decides
+    public boolean mightContain(String email) {
+        Bits bits = current;
+        return bits == null || bits.mightContain(normalize(email));
+    }
+
+    public void add(String email) {
+        String normalized = normalize(email);
+        Bits bits = current;
+        if (bits != null) {
+            bits.add(normalized);
+        }
+        Bits pending = next;
+        if (pending != null) {
+            pending.add(normalized);
+        }
+    }
+
+    public boolean isSaturated() {
+        Bits bits = current;
+        return bits != null && bits.count.get() > bits.capacity;
+    }
+
+    // Starts a filter sized for the given number of employees; emails added from here on go
+    // into it as well as the current one until finishRebuild swaps it in
+    public void beginRebuild(long employees) {
+        next = new Bits(Math.max(minCapacity, 2 * employees), falsePositiveRate);
+    }
+
+    public void addToRebuild(String email) {
+        next.add(normalize(email));
+    }
+
+    public void finishRebuild() {
+        current = next;
+        next = null;
+    }
+
+    public long capacity() {
+        Bits bits = current;
+        return bits == null ? 0 : bits.capacity;
+    }
+
+    private static final class Bits {
+
+        private final AtomicLongArray words;
+        private final long size;
+        private final int hashes;
+        private final long capacity;
+        private final AtomicLong count = new AtomicLong();
+
+        Bits(long capacity, double falsePositiveRate) {
+            // The standard sizing: m = -n ln p / (ln 2)^2 bits and k = (m / n) ln 2 hashes
+            long bits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, (bits + 63) / 64);
+            this.words = new AtomicLongArray(wordCount);
+            this.size = (long) wordCount * 64;
+            this.hashes = Math.max(1, (int) Math.round((double) size / capacity * Math.log(2)));
+            this.capacity = capacity;
+        }
+
+        void add(String email) {
+            long hash1 = hash(email);
+            long hash2 = mix(hash1);
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, size);
+                long mask = 1L << bit;
+                words.getAndAccumulate((int) (bit >>> 6), mask, (word, add) -> word | add);
+            }
+            count.incrementAndGet();
+        }
+
+        boolean mightContain(String email) {
+            long hash1 = hash(email);
+            long hash2 = mix(hash1);
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, size);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // 64-bit FNV-1a, finished with a mixer; the second hash is derived from the first
+        private static long hash(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            return mix(hash);
+        }
+
+        private static long mix(long value) {
+            value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+            value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+            return value ^ (value >>> 31);
+        }
+    }
+}
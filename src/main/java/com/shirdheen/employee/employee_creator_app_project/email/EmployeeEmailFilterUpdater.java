@@ -0,0 +1,60 @@
+package com.shirdheen.employee.employee_creator_app_project.email;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.shirdheen.employee.employee_creator_app_project.event.EmployeeChangedEvent;
+import com.shirdheen.employee.employee_creator_app_project.service.EmployeeService;
+
+// Builds the email filter once the app is up, adds the email of every committed create or
+// update, and rebuilds it in the background once it has outgrown its size
+@Component
+public class EmployeeEmailFilterUpdater {
+
+    private final EmployeeService employeeService;
+    private final EmployeeEmailFilter emailFilter;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeEmailFilterUpdater.class);
+
+    public EmployeeEmailFilterUpdater(EmployeeService employeeService, EmployeeEmailFilter emailFilter) {
+        this.employeeService = employeeService;
+        this.emailFilter = emailFilter;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            long employees = employeeService.countEmployees();
+            emailFilter.beginRebuild(employees);
+            employeeService.streamEmployees(employee -> emailFilter.addToRebuild(employee.getEmail()));
+            emailFilter.finishRebuild();
+            logger.info("Email filter built for {} employees (capacity {}) in {} ms", employees,
+                    emailFilter.capacity(), System.currentTimeMillis() - start);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    @Order(EmployeeChangedEvent.READ_MODEL_ORDER)
+    @TransactionalEventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (event.getType() == EmployeeChangedEvent.Type.DELETED) {
+            return;
+        }
+        emailFilter.add(event.getEmployee().getEmail());
+        if (emailFilter.isSaturated() && !rebuilding.get()) {
+            Thread.ofVirtual().name("employee-email-filter-rebuild").start(this::rebuild);
+        }
+    }
+}
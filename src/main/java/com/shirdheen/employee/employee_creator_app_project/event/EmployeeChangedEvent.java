@@ -0,0 +1,41 @@
+package com.shirdheen.employee.employee_creator_app_project.event;
+
+import java.util.List;
+
+import org.springframework.core.Ordered;
+
+import com.shirdheen.employee.employee_creator_app_project.model.Employee;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// Published by EmployeeService for every write; listeners should use
+// @TransactionalEventListener so they only see changes that actually committed
+@Getter
+@AllArgsConstructor
+@ToString
+public class EmployeeChangedEvent {
+
+    // Order of the after-commit listeners: every read model first, then the change counter
+    // behind the list ETags, so a reader that sees a new tag also sees the change it stands for
+    public static final int READ_MODEL_ORDER = 0;
+    public static final int CHANGE_COUNTER_ORDER = Ordered.LOWEST_PRECEDENCE;
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Type type;
+    private final Long id;
+
+    // State after the change, or the last known state for deletes
+    private final Employee employee;
+
+    // The fields an update changed, with their old and new values; empty for creates and deletes
+    private final List<EmployeeFieldChange> changes;
+
+    public EmployeeChangedEvent(Type type, Long id, Employee employee) {
+        this(type, id, employee, List.of());
+    }
+}
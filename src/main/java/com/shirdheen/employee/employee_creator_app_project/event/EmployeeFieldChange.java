@@ -0,0 +1,6 @@
+package com.shirdheen.employee.employee_creator_app_project.event;
+
+// One field an update actually changed. Values are the typed attribute values (String,
+// LocalDate, an enum, Double, Integer, Boolean) or null.
+public record EmployeeFieldChange(String field, Object oldValue, Object newValue) {
+}
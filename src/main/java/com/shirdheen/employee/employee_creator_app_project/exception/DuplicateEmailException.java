@@ -0,0 +1,9 @@
+package com.shirdheen.employee.employee_creator_app_project.exception;
+
+// Another employee already has this email, whether the pre-check or the unique constraint found it
+public class DuplicateEmailException extends RuntimeException {
+
+    public DuplicateEmailException(String email) {
+        super("Email already in use: " + email);
+    }
+}
@@ -0,0 +1,9 @@
+package com.shirdheen.employee.employee_creator_app_project.exception;
+
+// Every export worker is busy and the queue behind them is full
+public class ExportQueueFullException extends RuntimeException {
+
+    public ExportQueueFullException(int queued) {
+        super("Too many exports are waiting (" + queued + "). Try again once one has finished.");
+    }
+}
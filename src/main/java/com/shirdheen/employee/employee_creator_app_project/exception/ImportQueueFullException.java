@@ -0,0 +1,9 @@
+package com.shirdheen.employee.employee_creator_app_project.exception;
+
+// Every import worker is busy and the queue behind them is full
+public class ImportQueueFullException extends RuntimeException {
+
+    public ImportQueueFullException(int queued) {
+        super("Too many imports are waiting (" + queued + "). Try again once one has finished.");
+    }
+}
@@ -0,0 +1,9 @@
+package com.shirdheen.employee.employee_creator_app_project.exception;
+
+// An If-Match precondition didn't hold: the client's copy is out of date
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
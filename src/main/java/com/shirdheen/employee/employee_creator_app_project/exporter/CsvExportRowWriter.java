@@ -0,0 +1,58 @@
+package com.shirdheen.employee.employee_creator_app_project.exporter;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeDto;
+
+// RFC 4180: a header row of field names, CRLF line ends, and values containing a comma, quote
+// or line break quoted with doubled quotes. Missing values are empty cells.
+class CsvExportRowWriter implements ExportRowWriter {
+
+    private final Writer writer;
+
+    CsvExportRowWriter(Writer writer) throws IOException {
+        this.writer = writer;
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(COLUMNS.get(i).name());
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void write(EmployeeDto employee) throws IOException {
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = COLUMNS.get(i).value().apply(employee);
+            if (value != null) {
+                writeField(ExportRowWriter.text(value));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeField(String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
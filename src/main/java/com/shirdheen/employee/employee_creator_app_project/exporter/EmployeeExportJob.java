@@ -0,0 +1,103 @@
+package com.shirdheen.employee.employee_creator_app_project.exporter;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeExportStatusDto;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+// Progress of one export, updated by the worker and read by status requests
+@Getter
+public class EmployeeExportJob {
+
+    public enum State {
+        QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED
+    }
+
+    private final UUID id;
+    private final ExportFormat format;
+    private final Path file;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+
+    private volatile State state = State.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String message;
+    private volatile long fileSize;
+    private volatile boolean cancelRequested;
+
+    private final AtomicLong rowsWritten = new AtomicLong();
+
+    // Downloads still reading the file; eviction leaves the job alone until they finish
+    @Getter(AccessLevel.NONE)
+    private final AtomicInteger downloads = new AtomicInteger();
+
+    // What the worker pool was given, so a queued job can be taken off the queue
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    private volatile Runnable task;
+
+    EmployeeExportJob(UUID id, ExportFormat format, Path file) {
+        this.id = id;
+        this.format = format;
+        this.file = file;
+    }
+
+    boolean isFinished() {
+        return state == State.COMPLETED || state == State.FAILED || state == State.CANCELLED;
+    }
+
+    void start() {
+        startedAt = LocalDateTime.now();
+        state = State.RUNNING;
+    }
+
+    void downloadStarted() {
+        downloads.incrementAndGet();
+    }
+
+    void downloadFinished() {
+        downloads.decrementAndGet();
+    }
+
+    boolean isDownloading() {
+        return downloads.get() > 0;
+    }
+
+    void rowWritten() {
+        rowsWritten.incrementAndGet();
+    }
+
+    void complete(long size) {
+        fileSize = size;
+        finishedAt = LocalDateTime.now();
+        state = State.COMPLETED;
+    }
+
+    void fail(String reason) {
+        message = reason;
+        finishedAt = LocalDateTime.now();
+        state = State.FAILED;
+    }
+
+    // The worker stops at the next row once this is set
+    void requestCancel() {
+        cancelRequested = true;
+    }
+
+    void cancelled() {
+        finishedAt = LocalDateTime.now();
+        state = State.CANCELLED;
+    }
+
+    public EmployeeExportStatusDto toDto() {
+        return new EmployeeExportStatusDto(id, format, state, submittedAt, startedAt, finishedAt, rowsWritten.get(),
+                fileSize, message);
+    }
+}
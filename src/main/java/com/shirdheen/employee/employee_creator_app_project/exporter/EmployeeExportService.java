@@ -0,0 +1,232 @@
+package com.shirdheen.employee.employee_creator_app_project.exporter;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeePageFilterDto;
+import com.shirdheen.employee.employee_creator_app_project.exception.ExportQueueFullException;
+import com.shirdheen.employee.employee_creator_app_project.service.EmployeeDerivedAttributes;
+import com.shirdheen.employee.employee_creator_app_project.service.EmployeeService;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+
+// Writes filtered employee lists to files in the background. Each worker reads one forward-only
+// cursor and writes each row straight to disk, so an export of any size needs one database
+// connection and a write buffer; the small worker pool keeps exports from crowding out
+// interactive requests for connections.
+@Service
+public class EmployeeExportService {
+
+    private final EmployeeService employeeService;
+    private final EmployeeDerivedAttributes derivedAttributes;
+    private final ThreadPoolExecutor workers;
+    private final Path directory;
+    private final int maxQueued;
+    private final Map<UUID, EmployeeExportJob> jobs = new ConcurrentHashMap<>();
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeExportService.class);
+
+    @Value("${employee.export.retained-jobs:20}")
+    private int retainedJobs;
+
+    public EmployeeExportService(EmployeeService employeeService, EmployeeDerivedAttributes derivedAttributes,
+            @Value("${employee.export.workers:1}") int workerCount,
+            @Value("${employee.export.max-queued:10}") int maxQueued,
+            @Value("${employee.export.directory:${java.io.tmpdir}/employee-exports}") Path directory,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) throws IOException {
+        this.employeeService = employeeService;
+        this.derivedAttributes = derivedAttributes;
+        this.maxQueued = maxQueued;
+        this.directory = Files.createDirectories(directory);
+        ThreadFactory threadFactory = virtualThreads ? Thread.ofVirtual().name("employee-export-", 0).factory()
+                : Thread.ofPlatform().name("employee-export-", 0).factory();
+        // A bounded queue: past maxQueued waiting exports, new ones are turned away
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxQueued), threadFactory);
+    }
+
+    public EmployeeExportJob submit(EmployeePageFilterDto filter, ExportFormat format) {
+        UUID id = UUID.randomUUID();
+        EmployeeExportJob job = new EmployeeExportJob(id, format, directory.resolve(id + "." + format.extension()));
+        // Tenure filters are resolved against the day the export was requested
+        EmployeeDerivedAttributes.AsOf asOf = derivedAttributes.current();
+
+        job.setTask(() -> run(job, filter, asOf));
+
+        evictFinishedJobs();
+        jobs.put(id, job);
+        try {
+            workers.execute(job.getTask());
+        } catch (RejectedExecutionException e) {
+            jobs.remove(id);
+            throw new ExportQueueFullException(maxQueued);
+        }
+        return job;
+    }
+
+    public EmployeeExportJob getJob(UUID id) {
+        EmployeeExportJob job = jobs.get(id);
+        if (job == null) {
+            throw new EntityNotFoundException("Export job not found with id: " + id);
+        }
+        return job;
+    }
+
+    // The finished file; asking before the export has completed is a client error
+    public Path getFile(UUID id) {
+        EmployeeExportJob job = getJob(id);
+        if (job.getState() != EmployeeExportJob.State.COMPLETED) {
+            throw new IllegalStateException("Export " + id + " is " + job.getState() + ", not COMPLETED");
+        }
+        return job.getFile();
+    }
+
+    // The finished file, open for reading. Until the stream is closed the job is not evicted,
+    // as eviction would delete the file under a download that is still being sent.
+    public InputStream openFile(UUID id) throws IOException {
+        EmployeeExportJob job = getJob(id);
+        InputStream file;
+        synchronized (this) {
+            file = Files.newInputStream(getFile(id));
+            job.downloadStarted();
+        }
+        return new FilterInputStream(file) {
+            private boolean closed;
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    if (!closed) {
+                        closed = true;
+                        job.downloadFinished();
+                    }
+                }
+            }
+        };
+    }
+
+    // Forgets the job and deletes its file. A queued export never starts; a running one stops
+    // at its next row and removes what it had written.
+    public void cancel(UUID id) {
+        EmployeeExportJob job = getJob(id);
+        jobs.remove(id);
+        job.requestCancel();
+        if (workers.remove(job.getTask())) {
+            job.cancelled();
+        }
+        // Finished jobs have no worker left to clean up; if this races with completion, the
+        // worker sees the cancel request once it has moved the file and deletes it itself
+        if (job.isFinished()) {
+            deleteQuietly(job.getFile());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        jobs.values().forEach(EmployeeExportJob::requestCancel);
+        workers.shutdownNow();
+    }
+
+    private void run(EmployeeExportJob job, EmployeePageFilterDto filter, EmployeeDerivedAttributes.AsOf asOf) {
+        if (job.isCancelRequested()) {
+            job.cancelled();
+            return;
+        }
+        job.start();
+        logger.info("Starting {} export job {}", job.getFormat(), job.getId());
+
+        Path partial = job.getFile().resolveSibling(job.getFile().getFileName() + ".part");
+        try {
+            try (ExportRowWriter rows = open(job.getFormat(), Files.newOutputStream(partial))) {
+                employeeService.streamEmployees(filter, asOf, employee -> {
+                    if (job.isCancelRequested()) {
+                        throw new CancellationException();
+                    }
+                    try {
+                        rows.write(employee);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    job.rowWritten();
+                });
+            }
+            Files.move(partial, job.getFile(), StandardCopyOption.REPLACE_EXISTING);
+            job.complete(Files.size(job.getFile()));
+            if (job.isCancelRequested()) {
+                deleteQuietly(job.getFile());
+            }
+            logger.info("Export job {} finished: {} rows, {} bytes", job.getId(), job.getRowsWritten(),
+                    job.getFileSize());
+        } catch (CancellationException e) {
+            logger.info("Export job {} cancelled after {} rows", job.getId(), job.getRowsWritten());
+            job.cancelled();
+        } catch (Exception e) {
+            logger.warn("Export job {} failed", job.getId(), e);
+            job.fail(e instanceof UncheckedIOException unchecked ? unchecked.getCause().getMessage() : e.getMessage());
+        } finally {
+            deleteQuietly(partial);
+        }
+    }
+
+    private static ExportRowWriter open(ExportFormat format, OutputStream file) throws IOException {
+        OutputStream out = new BufferedOutputStream(file, 64 * 1024);
+        try {
+            return format == ExportFormat.CSV
+                    ? new CsvExportRowWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)))
+                    : new XlsxExportRowWriter(out);
+        } catch (RuntimeException | IOException e) {
+            out.close();
+            throw e;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete export file {}", file, e);
+        }
+    }
+
+    // Evicted jobs take their files with them, so jobs still being downloaded are skipped.
+    // Synchronized with openFile, so a download cannot start on a job this is evicting.
+    private synchronized void evictFinishedJobs() {
+        if (jobs.size() < retainedJobs) {
+            return;
+        }
+        jobs.values().stream()
+                .filter(job -> job.isFinished() && !job.isDownloading())
+                .sorted((a, b) -> a.getSubmittedAt().compareTo(b.getSubmittedAt()))
+                .limit(jobs.size() - retainedJobs + 1L)
+                .forEach(job -> {
+                    jobs.remove(job.getId());
+                    deleteQuietly(job.getFile());
+                });
+    }
+}
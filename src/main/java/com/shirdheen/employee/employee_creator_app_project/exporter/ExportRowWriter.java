@@ -0,0 +1,47 @@
+package com.shirdheen.employee.employee_creator_app_project.exporter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Function;
+
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeDto;
+
+// Appends one employee at a time so an export never holds more than a write buffer in memory.
+// close() finishes the file; a writer that is closed after a failure may leave it incomplete.
+interface ExportRowWriter extends Closeable {
+
+    record Column(String name, Function<EmployeeDto, Object> value) {
+    }
+
+    // Stored fields only; the derived ones depend on the day the file is opened. Values are
+    // String, Long, Integer, Double, Boolean, LocalDate, an enum or null.
+    List<Column> COLUMNS = List.of(
+            new Column("id", EmployeeDto::getId),
+            new Column("firstName", EmployeeDto::getFirstName),
+            new Column("middleName", EmployeeDto::getMiddleName),
+            new Column("lastName", EmployeeDto::getLastName),
+            new Column("email", EmployeeDto::getEmail),
+            new Column("mobileNumber", EmployeeDto::getMobileNumber),
+            new Column("residentialAddress", EmployeeDto::getResidentialAddress),
+            new Column("contractType", EmployeeDto::getContractType),
+            new Column("employmentType", EmployeeDto::getEmploymentType),
+            new Column("startDate", EmployeeDto::getStartDate),
+            new Column("finishDate", EmployeeDto::getFinishDate),
+            new Column("ongoing", EmployeeDto::isOngoing),
+            new Column("salary", EmployeeDto::getSalary),
+            new Column("hoursPerWeek", EmployeeDto::getHoursPerWeek));
+
+    void write(EmployeeDto employee) throws IOException;
+
+    static String text(Object value) {
+        if (value instanceof Enum<?> constant) {
+            return constant.name();
+        }
+        if (value instanceof LocalDate date) {
+            return date.toString();
+        }
+        return String.valueOf(value);
+    }
+}
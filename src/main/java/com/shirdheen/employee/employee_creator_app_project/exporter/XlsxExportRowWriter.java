@@ -0,0 +1,166 @@
+package com.shirdheen.employee.employee_creator_app_project.exporter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeDto;
+
+// Minimal SpreadsheetML package written as it goes: each worksheet's XML is streamed into the
+// zip row by row with inline strings (no shared string table to hold in memory), and the
+// workbook part listing the sheets is written last. A sheet holds at most 1,048,576 rows, so
+// larger exports continue on further sheets, each starting with the header row.
+class XlsxExportRowWriter implements ExportRowWriter {
+
+    static final int MAX_ROWS_PER_SHEET = 1_048_576;
+
+    private static final String XML_HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+    private static final String MAIN_NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String RELATIONSHIPS_NS = "http://schemas.openxmlformats.org/package/2006/relationships";
+    private static final String DOCUMENT_RELATIONSHIPS_NS =
+            "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final String CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.";
+    // Spreadsheet serial dates count days from 1899-12-30
+    private static final long EPOCH_DAY_OFFSET = 25_569;
+
+    private final ZipOutputStream zip;
+    private final Writer writer;
+    private int sheets;
+    private int rowsInSheet;
+
+    XlsxExportRowWriter(OutputStream out) throws IOException {
+        this.zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        this.writer = new OutputStreamWriter(zip, StandardCharsets.UTF_8);
+        startSheet();
+    }
+
+    @Override
+    public void write(EmployeeDto employee) throws IOException {
+        if (rowsInSheet == MAX_ROWS_PER_SHEET) {
+            endSheet();
+            startSheet();
+        }
+        writer.write("<row>");
+        for (Column column : COLUMNS) {
+            writeCell(column.value().apply(employee));
+        }
+        writer.write("</row>");
+        rowsInSheet++;
+    }
+
+    private void startSheet() throws IOException {
+        sheets++;
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + sheets + ".xml"));
+        writer.write(XML_HEADER);
+        writer.write("<worksheet xmlns=\"" + MAIN_NS + "\"><sheetData><row>");
+        for (Column column : COLUMNS) {
+            writeCell(column.name());
+        }
+        writer.write("</row>");
+        rowsInSheet = 1;
+    }
+
+    private void endSheet() throws IOException {
+        writer.write("</sheetData></worksheet>");
+        writer.flush();
+        zip.closeEntry();
+    }
+
+    private void writeCell(Object value) throws IOException {
+        if (value == null) {
+            writer.write("<c/>");
+        } else if (value instanceof Number number) {
+            writer.write("<c><v>" + number + "</v></c>");
+        } else if (value instanceof Boolean bool) {
+            writer.write(bool ? "<c t=\"b\"><v>1</v></c>" : "<c t=\"b\"><v>0</v></c>");
+        } else if (value instanceof LocalDate date) {
+            // Style 1 is the built-in short date format
+            writer.write("<c s=\"1\"><v>" + (date.toEpochDay() + EPOCH_DAY_OFFSET) + "</v></c>");
+        } else {
+            writer.write("<c t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+            writeEscaped(ExportRowWriter.text(value));
+            writer.write("</t></is></c>");
+        }
+    }
+
+    // Control characters other than tab and line breaks are not allowed in XML 1.0 and are dropped
+    private void writeEscaped(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> writer.write("&amp;");
+                case '<' -> writer.write("&lt;");
+                case '>' -> writer.write("&gt;");
+                case '\t', '\n', '\r' -> writer.write(c);
+                default -> {
+                    if (c >= 0x20 && c != 0xFFFE && c != 0xFFFF) {
+                        writer.write(c);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        endSheet();
+
+        StringBuilder workbook = new StringBuilder(XML_HEADER)
+                .append("<workbook xmlns=\"").append(MAIN_NS).append("\" xmlns:r=\"")
+                .append(DOCUMENT_RELATIONSHIPS_NS).append("\"><sheets>");
+        StringBuilder workbookRelationships = new StringBuilder(XML_HEADER)
+                .append("<Relationships xmlns=\"").append(RELATIONSHIPS_NS).append("\">");
+        StringBuilder contentTypes = new StringBuilder(XML_HEADER)
+                .append("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">")
+                .append("<Default Extension=\"rels\" ")
+                .append("ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>")
+                .append("<Default Extension=\"xml\" ContentType=\"application/xml\"/>")
+                .append("<Override PartName=\"/xl/workbook.xml\" ContentType=\"")
+                .append(CONTENT_TYPE).append("sheet.main+xml\"/>")
+                .append("<Override PartName=\"/xl/styles.xml\" ContentType=\"")
+                .append(CONTENT_TYPE).append("styles+xml\"/>");
+        for (int sheet = 1; sheet <= sheets; sheet++) {
+            workbook.append("<sheet name=\"Employees").append(sheet == 1 ? "" : " " + sheet)
+                    .append("\" sheetId=\"").append(sheet).append("\" r:id=\"rId").append(sheet).append("\"/>");
+            workbookRelationships.append("<Relationship Id=\"rId").append(sheet)
+                    .append("\" Type=\"").append(DOCUMENT_RELATIONSHIPS_NS)
+                    .append("/worksheet\" Target=\"worksheets/sheet").append(sheet).append(".xml\"/>");
+            contentTypes.append("<Override PartName=\"/xl/worksheets/sheet").append(sheet)
+                    .append(".xml\" ContentType=\"").append(CONTENT_TYPE).append("worksheet+xml\"/>");
+        }
+        workbook.append("</sheets></workbook>");
+        workbookRelationships.append("<Relationship Id=\"rId").append(sheets + 1).append("\" Type=\"")
+                .append(DOCUMENT_RELATIONSHIPS_NS).append("/styles\" Target=\"styles.xml\"/></Relationships>");
+        contentTypes.append("</Types>");
+
+        writeEntry("xl/workbook.xml", workbook.toString());
+        writeEntry("xl/_rels/workbook.xml.rels", workbookRelationships.toString());
+        writeEntry("xl/styles.xml", XML_HEADER + "<styleSheet xmlns=\"" + MAIN_NS + "\">"
+                + "<fonts count=\"1\"><font><sz val=\"11\"/><name val=\"Calibri\"/></font></fonts>"
+                + "<fills count=\"2\"><fill><patternFill patternType=\"none\"/></fill>"
+                + "<fill><patternFill patternType=\"gray125\"/></fill></fills>"
+                + "<borders count=\"1\"><border><left/><right/><top/><bottom/><diagonal/></border></borders>"
+                + "<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/>"
+                + "</cellStyleXfs>"
+                + "<cellXfs count=\"2\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>"
+                + "<xf numFmtId=\"14\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>"
+                + "</cellXfs></styleSheet>");
+        writeEntry("[Content_Types].xml", contentTypes.toString());
+        writeEntry("_rels/.rels", XML_HEADER + "<Relationships xmlns=\"" + RELATIONSHIPS_NS + "\">"
+                + "<Relationship Id=\"rId1\" Type=\"" + DOCUMENT_RELATIONSHIPS_NS
+                + "/officeDocument\" Target=\"xl/workbook.xml\"/></Relationships>");
+        writer.close();
+    }
+
+    private void writeEntry(String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        writer.write(content);
+        writer.flush();
+        zip.closeEntry();
+    }
+}
@@ -0,0 +1,63 @@
+package com.shirdheen.employee.employee_creator_app_project.format;
+
+import java.util.List;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+// The representations a list of employees can be sent in, picked from the Accept header.
+//
+// JSON is the default. SMILE is Jackson's binary JSON: field names and repeated short strings
+// such as the enum values are written once and referred back to. COLUMNS is JSON laid out by
+// column in blocks of rows, with the enums as indexes into a dictionary and dates as epoch days;
+// it is much smaller before compression and compresses better than row-by-row JSON.
+public enum EmployeeListFormat {
+
+    JSON(MediaType.APPLICATION_JSON, ""),
+    SMILE(MediaType.parseMediaType(EmployeeListFormat.SMILE_VALUE), "-smile"),
+    COLUMNS(MediaType.parseMediaType(EmployeeListFormat.COLUMNS_VALUE), "-columns");
+
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+    // Not +json: anything but this converter would answer it with plain row-by-row JSON
+    public static final String COLUMNS_VALUE = "application/vnd.employee.columns";
+
+    private final MediaType mediaType;
+    private final String etagSuffix;
+
+    EmployeeListFormat(MediaType mediaType, String etagSuffix) {
+        this.mediaType = mediaType;
+        this.etagSuffix = etagSuffix;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    // Keeps the ETags of the different representations of one list apart
+    public String etagSuffix() {
+        return etagSuffix;
+    }
+
+    // The client's most preferred format we can produce; JSON when there is no usable Accept header
+    public static EmployeeListFormat negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType type : accepted) {
+            for (EmployeeListFormat format : values()) {
+                if (type.isCompatibleWith(format.mediaType)) {
+                    return format;
+                }
+            }
+        }
+        return JSON;
+    }
+}
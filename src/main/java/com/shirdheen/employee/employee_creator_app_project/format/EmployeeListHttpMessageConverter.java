@@ -0,0 +1,64 @@
+package com.shirdheen.employee.employee_creator_app_project.format;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeDto;
+
+// Lets controller methods that return a List<EmployeeDto> answer in the columnar format too;
+// JSON and Smile stay with the Jackson converters. Endpoints that offer it list it after JSON
+// in "produces", so it is only chosen when asked for.
+@Component
+public class EmployeeListHttpMessageConverter extends AbstractGenericHttpMessageConverter<Collection<EmployeeDto>> {
+
+    private final EmployeeListWriter listWriter;
+
+    public EmployeeListHttpMessageConverter(EmployeeListWriter listWriter) {
+        super(EmployeeListFormat.COLUMNS.mediaType());
+        this.listWriter = listWriter;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return false;
+    }
+
+    // Only collections declared with EmployeeDto elements, e.g. ResponseEntity<List<EmployeeDto>>
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        ResolvableType collection = ResolvableType.forType(type != null ? type : clazz).as(Collection.class);
+        return collection != ResolvableType.NONE && EmployeeDto.class.equals(collection.resolveGeneric(0))
+                && canWrite(mediaType);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected void writeInternal(Collection<EmployeeDto> employees, Type type, HttpOutputMessage outputMessage)
+            throws IOException {
+        listWriter.write(EmployeeListFormat.COLUMNS, outputMessage.getBody(), employees::forEach);
+    }
+
+    @Override
+    public Collection<EmployeeDto> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Employee lists can only be written", inputMessage);
+    }
+
+    @Override
+    protected Collection<EmployeeDto> readInternal(Class<? extends Collection<EmployeeDto>> clazz,
+            HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Employee lists can only be written", inputMessage);
+    }
+}
@@ -0,0 +1,203 @@
+package com.shirdheen.employee.employee_creator_app_project.format;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeDto;
+import com.shirdheen.employee.employee_creator_app_project.model.ContractType;
+import com.shirdheen.employee.employee_creator_app_project.model.EmploymentType;
+
+// Writes employees straight to an output stream in any EmployeeListFormat, one row at a time
+// as they are handed over, so a full-table response never needs the whole list in memory.
+//
+// The COLUMNS shape is
+//   {"columns": [...], "dictionaries": {"contractType": [...], "employmentType": [...]},
+//    "blocks": [{"rows": n, "id": [...], "firstName": [...], ...}, ...]}
+// with up to BLOCK_SIZE rows per block, enums as indexes into their dictionary, dates as
+// days since 1970-01-01 and null for missing values.
+@Component
+public class EmployeeListWriter {
+
+    static final int BLOCK_SIZE = 1024;
+
+    @FunctionalInterface
+    private interface ValueWriter {
+        void write(JsonGenerator generator, EmployeeDto employee) throws IOException;
+    }
+
+    private record Column(String name, ValueWriter writer) {
+    }
+
+    private static final List<Column> COLUMNS = List.of(
+            new Column("id", (generator, employee) -> writeNumber(generator, employee.getId())),
+            new Column("firstName", (generator, employee) -> generator.writeString(employee.getFirstName())),
+            new Column("middleName", (generator, employee) -> generator.writeString(employee.getMiddleName())),
+            new Column("lastName", (generator, employee) -> generator.writeString(employee.getLastName())),
+            new Column("email", (generator, employee) -> generator.writeString(employee.getEmail())),
+            new Column("mobileNumber", (generator, employee) -> generator.writeString(employee.getMobileNumber())),
+            new Column("residentialAddress",
+                    (generator, employee) -> generator.writeString(employee.getResidentialAddress())),
+            new Column("contractType", (generator, employee) -> writeOrdinal(generator, employee.getContractType())),
+            new Column("employmentType",
+                    (generator, employee) -> writeOrdinal(generator, employee.getEmploymentType())),
+            new Column("startDate", (generator, employee) -> writeEpochDay(generator, employee.getStartDate())),
+            new Column("finishDate", (generator, employee) -> writeEpochDay(generator, employee.getFinishDate())),
+            new Column("salary", (generator, employee) -> writeNumber(generator, employee.getSalary())),
+            new Column("hoursPerWeek", (generator, employee) -> writeNumber(generator, employee.getHoursPerWeek())),
+            new Column("onProbation", (generator, employee) -> generator.writeBoolean(employee.isOnProbation())),
+            new Column("hasWorkAnniversary",
+                    (generator, employee) -> generator.writeBoolean(employee.isHasWorkAnniversary())),
+            new Column("ongoing", (generator, employee) -> generator.writeBoolean(employee.isOngoing())),
+            new Column("version", (generator, employee) -> writeNumber(generator, employee.getVersion())));
+
+    private final JsonFactory jsonFactory;
+    private final ObjectWriter jsonWriter;
+    private final ObjectMapper smileMapper;
+    private final ObjectWriter smileWriter;
+
+    public EmployeeListWriter(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+        // One flush for the whole response instead of one per row
+        this.jsonWriter = objectMapper.writerFor(EmployeeDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        // Same configuration as the JSON mapper. Shared string values let Smile refer back to the
+        // enum names instead of repeating them on every row.
+        this.smileMapper = objectMapper.copyWith(SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build());
+        this.smileWriter = smileMapper.writerFor(EmployeeDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    // Also behind every other Smile response, so all of them are written the same way
+    public ObjectMapper smileMapper() {
+        return smileMapper;
+    }
+
+    // rows hands each employee to the consumer it is given, e.g. employeeService::streamEmployees.
+    // The output stream is flushed but left open.
+    public void write(EmployeeListFormat format, OutputStream out, Consumer<Consumer<EmployeeDto>> rows)
+            throws IOException {
+        JsonFactory factory = format == EmployeeListFormat.SMILE ? smileMapper.getFactory() : jsonFactory;
+        try (JsonGenerator generator = factory.createGenerator(StreamUtils.nonClosing(out))) {
+            if (format == EmployeeListFormat.COLUMNS) {
+                writeColumns(generator, rows);
+            } else {
+                writeRows(generator, format == EmployeeListFormat.SMILE ? smileWriter : jsonWriter, rows);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void writeRows(JsonGenerator generator, ObjectWriter writer, Consumer<Consumer<EmployeeDto>> rows)
+            throws IOException {
+        generator.writeStartArray();
+        rows.accept(employee -> {
+            try {
+                writer.writeValue(generator, employee);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        generator.writeEndArray();
+    }
+
+    private static void writeColumns(JsonGenerator generator, Consumer<Consumer<EmployeeDto>> rows)
+            throws IOException {
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("columns");
+        for (Column column : COLUMNS) {
+            generator.writeString(column.name());
+        }
+        generator.writeEndArray();
+
+        generator.writeObjectFieldStart("dictionaries");
+        writeDictionary(generator, "contractType", ContractType.values());
+        writeDictionary(generator, "employmentType", EmploymentType.values());
+        generator.writeEndObject();
+
+        generator.writeArrayFieldStart("blocks");
+        EmployeeDto[] block = new EmployeeDto[BLOCK_SIZE];
+        int[] size = { 0 };
+        rows.accept(employee -> {
+            block[size[0]++] = employee;
+            if (size[0] == BLOCK_SIZE) {
+                writeBlock(generator, block, size[0]);
+                size[0] = 0;
+            }
+        });
+        if (size[0] > 0) {
+            writeBlock(generator, block, size[0]);
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    private static void writeBlock(JsonGenerator generator, EmployeeDto[] block, int size) {
+        try {
+            generator.writeStartObject();
+            generator.writeNumberField("rows", size);
+            for (Column column : COLUMNS) {
+                generator.writeArrayFieldStart(column.name());
+                for (int i = 0; i < size; i++) {
+                    column.writer().write(generator, block[i]);
+                }
+                generator.writeEndArray();
+            }
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeDictionary(JsonGenerator generator, String name, Enum<?>[] values) throws IOException {
+        generator.writeArrayFieldStart(name);
+        for (Enum<?> value : values) {
+            generator.writeString(value.name());
+        }
+        generator.writeEndArray();
+    }
+
+    private static void writeNumber(JsonGenerator generator, Number value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof Double number) {
+            generator.writeNumber(number);
+        } else if (value instanceof Long number) {
+            generator.writeNumber(number);
+        } else {
+            generator.writeNumber(value.intValue());
+        }
+    }
+
+    private static void writeOrdinal(JsonGenerator generator, Enum<?> value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value.ordinal());
+        }
+    }
+
+    private static void writeEpochDay(JsonGenerator generator, LocalDate date) throws IOException {
+        if (date == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(date.toEpochDay());
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.shirdheen.employee.employee_creator_app_project.format;
+
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+// Replaces Spring's default Smile converter, whose mapper doesn't get Spring Boot's Jackson
+// settings (dates would come out as arrays), with the one the streamed lists use
+@Component
+public class EmployeeSmileHttpMessageConverter extends MappingJackson2SmileHttpMessageConverter {
+
+    public EmployeeSmileHttpMessageConverter(EmployeeListWriter listWriter) {
+        super(listWriter.smileMapper());
+    }
+}
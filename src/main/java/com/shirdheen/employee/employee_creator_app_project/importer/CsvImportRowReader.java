@@ -0,0 +1,106 @@
+package com.shirdheen.employee.employee_creator_app_project.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.shirdheen.employee.employee_creator_app_project.service.EmployeeFieldUpdaters;
+
+// RFC 4180 style reader: the header row names Employee fields, quoted values may contain
+// commas, doubled quotes and line breaks, and empty cells are treated as missing values
+class CsvImportRowReader implements ImportRowReader {
+
+    private final BufferedReader reader;
+    private final List<String> header;
+    private long rowNumber;
+
+    CsvImportRowReader(BufferedReader reader) throws IOException {
+        this.reader = reader;
+        List<String> columns = readRecord();
+        if (columns == null) {
+            throw new IllegalArgumentException("CSV file is empty");
+        }
+
+        this.header = columns.stream().map(String::trim).toList();
+        EmployeeFieldUpdaters.checkFields(header);
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        List<String> fields;
+        do {
+            fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+            rowNumber++;
+        } while (fields.size() == 1 && fields.get(0).isEmpty());
+
+        if (fields.size() != header.size()) {
+            return ImportRow.unparseable(rowNumber,
+                    "Expected " + header.size() + " columns but found " + fields.size());
+        }
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String value = fields.get(i);
+            values.put(header.get(i), value.isEmpty() ? null : value);
+        }
+        return ImportRow.parsed(rowNumber, values);
+    }
+
+    private List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean readAnything = false;
+
+        int c;
+        while ((c = reader.read()) != -1) {
+            readAnything = true;
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int following = reader.read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (following != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+
+        if (!readAnything) {
+            return null;
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted value at end of CSV file");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,100 @@
+package com.shirdheen.employee.employee_creator_app_project.importer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeImportStatusDto;
+
+import lombok.Getter;
+
+// Progress of one import, updated by the worker and read by status requests
+@Getter
+public class EmployeeImportJob {
+
+    public enum State {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private final UUID id;
+    private final ImportFormat format;
+    private final String fileName;
+    private final int maxReportedErrors;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+
+    private volatile State state = State.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String message;
+
+    private final AtomicLong rowsProcessed = new AtomicLong();
+    private final AtomicLong rowsImported = new AtomicLong();
+    private final AtomicLong rowsFailed = new AtomicLong();
+    private final List<EmployeeImportStatusDto.RowError> errors = new ArrayList<>();
+    // A lock rather than synchronized so a virtual-thread worker never pins its carrier here
+    private final Lock errorsLock = new ReentrantLock();
+
+    EmployeeImportJob(UUID id, ImportFormat format, String fileName, int maxReportedErrors) {
+        this.id = id;
+        this.format = format;
+        this.fileName = fileName;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    boolean isFinished() {
+        return state == State.COMPLETED || state == State.FAILED;
+    }
+
+    void start() {
+        startedAt = LocalDateTime.now();
+        state = State.RUNNING;
+    }
+
+    void complete() {
+        finishedAt = LocalDateTime.now();
+        state = State.COMPLETED;
+    }
+
+    void fail(String reason) {
+        message = reason;
+        finishedAt = LocalDateTime.now();
+        state = State.FAILED;
+    }
+
+    void rowImported(long count) {
+        rowsProcessed.addAndGet(count);
+        rowsImported.addAndGet(count);
+    }
+
+    // Every failure is counted, but only the first maxReportedErrors are kept for the report
+    void rowFailed(long rowNumber, String reason) {
+        rowsProcessed.incrementAndGet();
+        rowsFailed.incrementAndGet();
+        errorsLock.lock();
+        try {
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new EmployeeImportStatusDto.RowError(rowNumber, reason));
+            }
+        } finally {
+            errorsLock.unlock();
+        }
+    }
+
+    public EmployeeImportStatusDto toDto() {
+        List<EmployeeImportStatusDto.RowError> reportedErrors;
+        errorsLock.lock();
+        try {
+            reportedErrors = List.copyOf(errors);
+        } finally {
+            errorsLock.unlock();
+        }
+
+        return new EmployeeImportStatusDto(id, format, fileName, state, submittedAt, startedAt, finishedAt,
+                rowsProcessed.get(), rowsImported.get(), rowsFailed.get(), message, reportedErrors,
+                rowsFailed.get() > reportedErrors.size());
+    }
+}
@@ -0,0 +1,286 @@
+package com.shirdheen.employee.employee_creator_app_project.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shirdheen.employee.employee_creator_app_project.email.EmployeeEmailFilter;
+import com.shirdheen.employee.employee_creator_app_project.event.EmployeeChangedEvent;
+import com.shirdheen.employee.employee_creator_app_project.exception.ImportQueueFullException;
+import com.shirdheen.employee.employee_creator_app_project.model.Employee;
+import com.shirdheen.employee.employee_creator_app_project.repository.EmployeeBatchWriter;
+import com.shirdheen.employee.employee_creator_app_project.repository.EmployeeRepository;
+import com.shirdheen.employee.employee_creator_app_project.service.EmployeeFieldUpdaters;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+// Runs bulk imports in the background: the upload is spooled to a temp file, then read
+// back a chunk at a time, validated, de-duplicated with one email lookup per chunk and
+// written with JDBC batches, each chunk in its own transaction.
+@Service
+public class EmployeeImportService {
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeBatchWriter batchWriter;
+    private final EmployeeEmailFilter emailFilter;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor workers;
+    private final int maxQueued;
+    private final Map<UUID, EmployeeImportJob> jobs = new ConcurrentHashMap<>();
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeImportService.class);
+
+    @Value("${employee.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${employee.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Value("${employee.import.retained-jobs:100}")
+    private int retainedJobs;
+
+    public EmployeeImportService(EmployeeRepository employeeRepository, EmployeeBatchWriter batchWriter,
+            EmployeeEmailFilter emailFilter, Validator validator, TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher, ObjectMapper objectMapper, @Value("${employee.import.workers:2}") int workerCount,
+            @Value("${employee.import.max-queued:10}") int maxQueued,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.employeeRepository = employeeRepository;
+        this.batchWriter = batchWriter;
+        this.emailFilter = emailFilter;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.maxQueued = maxQueued;
+        // The pool size bounds concurrent imports either way; virtual workers just don't hold
+        // a platform thread while they wait on the database
+        ThreadFactory threadFactory = virtualThreads ? Thread.ofVirtual().name("employee-import-", 0).factory()
+                : Thread.ofPlatform().name("employee-import-", 0).factory();
+        // A bounded queue, as for exports: each waiting import holds a spooled upload on disk, so
+        // past maxQueued waiting imports new ones are turned away
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxQueued), threadFactory);
+    }
+
+    public EmployeeImportJob submit(MultipartFile file, ImportFormat format) throws IOException {
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("Import file is empty");
+        }
+
+        ImportFormat resolvedFormat = format != null ? format : ImportFormat.fromFileName(file.getOriginalFilename());
+        // Checked before spooling so a full queue costs no disk; execute() below still decides
+        if (workers.getQueue().remainingCapacity() == 0) {
+            throw new ImportQueueFullException(maxQueued);
+        }
+        Path spooled = Files.createTempFile("employee-import-", "." + resolvedFormat.name().toLowerCase(Locale.ROOT));
+        file.transferTo(spooled);
+
+        EmployeeImportJob job = new EmployeeImportJob(UUID.randomUUID(), resolvedFormat, file.getOriginalFilename(),
+                maxReportedErrors);
+        evictFinishedJobs();
+        jobs.put(job.getId(), job);
+        try {
+            workers.execute(() -> run(job, spooled));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            Files.deleteIfExists(spooled);
+            throw new ImportQueueFullException(maxQueued);
+        }
+        return job;
+    }
+
+    public EmployeeImportJob getJob(UUID id) {
+        EmployeeImportJob job = jobs.get(id);
+        if (job == null) {
+            throw new EntityNotFoundException("Import job not found with id: " + id);
+        }
+        return job;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private void run(EmployeeImportJob job, Path spooled) {
+        job.start();
+        logger.info("Starting {} import job {} from {}", job.getFormat(), job.getId(), job.getFileName());
+
+        try (ImportRowReader rows = open(job.getFormat(), spooled)) {
+            List<ImportRow> chunk = new ArrayList<>(batchSize);
+            ImportRow row;
+            while ((row = rows.next()) != null) {
+                chunk.add(row);
+                if (chunk.size() == batchSize) {
+                    importChunk(job, chunk);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(job, chunk);
+            }
+            job.complete();
+            logger.info("Import job {} finished: {} imported, {} failed", job.getId(), job.getRowsImported(),
+                    job.getRowsFailed());
+        } catch (Exception e) {
+            logger.warn("Import job {} failed", job.getId(), e);
+            job.fail(e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(spooled);
+            } catch (IOException e) {
+                logger.warn("Could not delete spooled import file {}", spooled, e);
+            }
+        }
+    }
+
+    private ImportRowReader open(ImportFormat format, Path spooled) throws IOException {
+        BufferedReader reader = Files.newBufferedReader(spooled, StandardCharsets.UTF_8);
+        try {
+            return format == ImportFormat.CSV ? new CsvImportRowReader(reader)
+                    : new NdjsonImportRowReader(reader, objectMapper);
+        } catch (RuntimeException | IOException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    private void importChunk(EmployeeImportJob job, List<ImportRow> chunk) {
+        List<Employee> candidates = new ArrayList<>(chunk.size());
+        List<Long> candidateRows = new ArrayList<>(chunk.size());
+        Set<String> chunkEmails = new HashSet<>();
+
+        for (ImportRow row : chunk) {
+            if (row.error() != null) {
+                job.rowFailed(row.rowNumber(), row.error());
+                continue;
+            }
+
+            Employee employee = new Employee();
+            try {
+                EmployeeFieldUpdaters.apply(employee, row.values());
+            } catch (IllegalArgumentException e) {
+                job.rowFailed(row.rowNumber(), e.getMessage());
+                continue;
+            }
+
+            String problem = validate(employee);
+            if (problem == null && !chunkEmails.add(employee.getEmail())) {
+                problem = "Email appears more than once in the file: " + employee.getEmail();
+            }
+            if (problem != null) {
+                job.rowFailed(row.rowNumber(), problem);
+                continue;
+            }
+
+            candidates.add(employee);
+            candidateRows.add(row.rowNumber());
+        }
+
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        // Earlier chunks are already committed, so this also catches duplicates across chunks. Only
+        // the emails the filter can't rule out are looked up, and a chunk of new ones needs no query.
+        // The unique constraint still guards against concurrent creates between here and the insert.
+        List<String> maybeTaken = candidates.stream().map(Employee::getEmail).filter(emailFilter::mightContain)
+                .toList();
+        Set<String> taken = maybeTaken.isEmpty() ? Set.of()
+                : employeeRepository.findExistingEmails(maybeTaken).stream()
+                        .map(EmployeeEmailFilter::normalize)
+                        .collect(Collectors.toSet());
+
+        List<Employee> fresh = new ArrayList<>(candidates.size());
+        List<Long> freshRows = new ArrayList<>(candidates.size());
+        for (int i = 0; i < candidates.size(); i++) {
+            Employee employee = candidates.get(i);
+            if (taken.contains(employee.getEmail())) {
+                job.rowFailed(candidateRows.get(i), "Email already in use: " + employee.getEmail());
+            } else {
+                fresh.add(employee);
+                freshRows.add(candidateRows.get(i));
+            }
+        }
+
+        if (fresh.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertChunk(fresh));
+            job.rowImported(fresh.size());
+        } catch (DataAccessException e) {
+            String reason = "Batch rejected by the database: " + e.getMostSpecificCause().getMessage();
+            freshRows.forEach(rowNumber -> job.rowFailed(rowNumber, reason));
+        }
+    }
+
+    private void insertChunk(List<Employee> employees) {
+        batchWriter.insertAll(employees, batchSize);
+
+        // Reload to learn the generated ids so listeners see the same events as single creates
+        for (Employee saved : employeeRepository.findByEmailIn(employees.stream().map(Employee::getEmail).toList())) {
+            eventPublisher.publishEvent(
+                    new EmployeeChangedEvent(EmployeeChangedEvent.Type.CREATED, saved.getId(), saved));
+        }
+    }
+
+    // Same rules as a single create: bean constraints plus the start/finish date ordering
+    private String validate(Employee employee) {
+        Set<ConstraintViolation<Employee>> violations = validator.validate(employee);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+
+        if (employee.getFinishDate() != null && employee.getStartDate().isAfter(employee.getFinishDate())) {
+            return "Start date must be before finish date";
+        }
+        return null;
+    }
+
+    private void evictFinishedJobs() {
+        if (jobs.size() < retainedJobs) {
+            return;
+        }
+        jobs.values().stream()
+                .filter(EmployeeImportJob::isFinished)
+                .sorted((a, b) -> a.getSubmittedAt().compareTo(b.getSubmittedAt()))
+                .limit(jobs.size() - retainedJobs + 1L)
+                .forEach(job -> jobs.remove(job.getId()));
+    }
+}
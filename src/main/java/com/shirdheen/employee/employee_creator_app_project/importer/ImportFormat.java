@@ -0,0 +1,19 @@
+package com.shirdheen.employee.employee_creator_app_project.importer;
+
+import java.util.Locale;
+
+public enum ImportFormat {
+    CSV, NDJSON;
+
+    public static ImportFormat fromFileName(String fileName) {
+        String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Cannot tell the import format from file name '" + fileName
+                + "'. Use a .csv or .ndjson file or pass the format parameter.");
+    }
+}
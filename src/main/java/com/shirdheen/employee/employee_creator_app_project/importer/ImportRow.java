@@ -0,0 +1,15 @@
+package com.shirdheen.employee.employee_creator_app_project.importer;
+
+import java.util.Map;
+
+// One parsed record of an import file; values is null when the record could not be parsed
+record ImportRow(long rowNumber, Map<String, Object> values, String error) {
+
+    static ImportRow parsed(long rowNumber, Map<String, Object> values) {
+        return new ImportRow(rowNumber, values, null);
+    }
+
+    static ImportRow unparseable(long rowNumber, String error) {
+        return new ImportRow(rowNumber, null, error);
+    }
+}
@@ -0,0 +1,11 @@
+package com.shirdheen.employee.employee_creator_app_project.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+// Pulls one record at a time so an import never holds more than a chunk in memory
+interface ImportRowReader extends Closeable {
+
+    // Returns null once the input is exhausted
+    ImportRow next() throws IOException;
+}
@@ -0,0 +1,59 @@
+package com.shirdheen.employee.employee_creator_app_project.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.shirdheen.employee.employee_creator_app_project.service.EmployeeFieldUpdaters;
+
+// One JSON object per line; a malformed line fails that row only
+class NdjsonImportRowReader implements ImportRowReader {
+
+    private final BufferedReader reader;
+    private final ObjectReader objectReader;
+    private long rowNumber;
+
+    NdjsonImportRowReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectReader = objectMapper.readerFor(new TypeReference<Map<String, Object>>() {
+        });
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            rowNumber++;
+        } while (line.isBlank());
+
+        Map<String, Object> values;
+        try {
+            values = objectReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            return ImportRow.unparseable(rowNumber, "Malformed JSON: " + e.getOriginalMessage());
+        }
+        if (values == null) {
+            return ImportRow.unparseable(rowNumber, "Expected a JSON object");
+        }
+        // Each line names its own fields, so the check the CSV header gets once happens per row
+        try {
+            EmployeeFieldUpdaters.checkFields(values.keySet());
+        } catch (IllegalArgumentException e) {
+            return ImportRow.unparseable(rowNumber, e.getMessage());
+        }
+        return ImportRow.parsed(rowNumber, values);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
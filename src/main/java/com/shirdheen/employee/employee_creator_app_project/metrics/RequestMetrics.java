@@ -0,0 +1,89 @@
+package com.shirdheen.employee.employee_creator_app_project.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// What one request spent in the database. The Hibernate listener and statement inspector add
+// to it on the request thread and RequestMetricsFilter publishes it when the request ends.
+// Work handed to other threads (the NDJSON stream body, import jobs) is not attributed.
+public final class RequestMetrics {
+
+    private static final ThreadLocal<RequestMetrics> CURRENT = new ThreadLocal<>();
+
+    static final class QueryStats {
+        private int count;
+        private long nanos;
+
+        int getCount() {
+            return count;
+        }
+
+        long getNanos() {
+            return nanos;
+        }
+    }
+
+    private final boolean traceQueries;
+    private int statements;
+    private long statementNanos;
+    private long connectionWaitNanos;
+
+    // Only kept in trace mode: the SQL being executed and the per-statement breakdown
+    private String currentSql;
+    private final Map<String, QueryStats> queries;
+
+    private RequestMetrics(boolean traceQueries) {
+        this.traceQueries = traceQueries;
+        this.queries = traceQueries ? new HashMap<>() : Map.of();
+    }
+
+    public static RequestMetrics current() {
+        return CURRENT.get();
+    }
+
+    static RequestMetrics begin(boolean traceQueries) {
+        RequestMetrics metrics = new RequestMetrics(traceQueries);
+        CURRENT.set(metrics);
+        return metrics;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    void sqlPrepared(String sql) {
+        if (traceQueries) {
+            currentSql = sql;
+        }
+    }
+
+    void statementExecuted(long nanos) {
+        statements++;
+        statementNanos += nanos;
+        if (traceQueries && currentSql != null) {
+            QueryStats stats = queries.computeIfAbsent(currentSql, sql -> new QueryStats());
+            stats.count++;
+            stats.nanos += nanos;
+        }
+    }
+
+    void connectionAcquired(long nanos) {
+        connectionWaitNanos += nanos;
+    }
+
+    int getStatements() {
+        return statements;
+    }
+
+    long getStatementNanos() {
+        return statementNanos;
+    }
+
+    long getConnectionWaitNanos() {
+        return connectionWaitNanos;
+    }
+
+    Map<String, QueryStats> getQueries() {
+        return queries;
+    }
+}
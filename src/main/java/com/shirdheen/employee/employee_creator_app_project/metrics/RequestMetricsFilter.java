@@ -0,0 +1,225 @@
+package com.shirdheen.employee.employee_creator_app_project.metrics;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.shirdheen.employee.employee_creator_app_project.dto.SlowRequestDto;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+// Publishes per-endpoint SQL statement counts and time, connection-pool wait and payload
+// sizes for every /api request. Latency histograms come from Spring's http.server.requests.
+//
+// In trace mode each request also keeps a per-query breakdown, and requests slower than the
+// threshold are kept in SlowRequestLog together with it.
+@Component
+@ConditionalOnProperty(name = "employee.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final int TRACED_QUERIES = 10;
+
+    private record RequestMeters(DistributionSummary statements, Timer sqlTime, Timer connectionWait,
+            DistributionSummary requestSize, DistributionSummary responseSize, Counter slow) {
+
+        static RequestMeters register(MeterRegistry registry, String method, String uri) {
+            return new RequestMeters(
+                    DistributionSummary.builder("employee.request.sql.statements")
+                            .tags("method", method, "uri", uri).register(registry),
+                    Timer.builder("employee.request.sql.time").tags("method", method, "uri", uri).register(registry),
+                    Timer.builder("employee.request.connection.wait")
+                            .tags("method", method, "uri", uri).register(registry),
+                    DistributionSummary.builder("employee.request.size").baseUnit("bytes")
+                            .tags("method", method, "uri", uri).register(registry),
+                    DistributionSummary.builder("employee.response.size").baseUnit("bytes")
+                            .tags("method", method, "uri", uri).register(registry),
+                    Counter.builder("employee.request.slow").tags("method", method, "uri", uri).register(registry));
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final SlowRequestLog slowRequestLog;
+    private final boolean traceEnabled;
+    private final long slowThresholdNanos;
+    private final Map<String, RequestMeters> meters = new ConcurrentHashMap<>();
+
+    public RequestMetricsFilter(MeterRegistry meterRegistry, SlowRequestLog slowRequestLog,
+            @Value("${employee.metrics.trace.enabled:true}") boolean traceEnabled,
+            @Value("${employee.metrics.trace.slow-threshold:500ms}") Duration slowThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.slowRequestLog = slowRequestLog;
+        this.traceEnabled = traceEnabled;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        RequestMetrics metrics = RequestMetrics.begin(traceEnabled);
+        CountingResponse countingResponse = new CountingResponse(response);
+        try {
+            chain.doFilter(request, countingResponse);
+        } finally {
+            RequestMetrics.end();
+            if (request.isAsyncStarted()) {
+                // Streaming responses are still being written; record once the body is complete
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(request, countingResponse, metrics, start);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                record(request, countingResponse, metrics, start);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, CountingResponse response, RequestMetrics metrics, long start) {
+        long durationNanos = System.nanoTime() - start;
+        String method = request.getMethod();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        RequestMeters requestMeters = meters.computeIfAbsent(method + " " + uri,
+                key -> RequestMeters.register(meterRegistry, method, uri));
+        requestMeters.statements().record(metrics.getStatements());
+        requestMeters.sqlTime().record(metrics.getStatementNanos(), TimeUnit.NANOSECONDS);
+        requestMeters.connectionWait().record(metrics.getConnectionWaitNanos(), TimeUnit.NANOSECONDS);
+        requestMeters.responseSize().record(response.getBytesWritten());
+        if (request.getContentLengthLong() > 0) {
+            requestMeters.requestSize().record(request.getContentLengthLong());
+        }
+
+        // An event stream stays open by design, so its duration says nothing about speed
+        if (traceEnabled && durationNanos >= slowThresholdNanos && !isEventStream(response)) {
+            requestMeters.slow().increment();
+            slowRequestLog.add(trace(request, response, metrics, uri, durationNanos));
+        }
+    }
+
+    private static SlowRequestDto trace(HttpServletRequest request, CountingResponse response,
+            RequestMetrics metrics, String uri, long durationNanos) {
+        List<SlowRequestDto.QueryBreakdown> queries = metrics.getQueries().entrySet().stream()
+                .sorted(Comparator.comparingLong(
+                        (Map.Entry<String, RequestMetrics.QueryStats> entry) -> entry.getValue().getNanos())
+                        .reversed())
+                .limit(TRACED_QUERIES)
+                .map(entry -> new SlowRequestDto.QueryBreakdown(entry.getKey(), entry.getValue().getCount(),
+                        millis(entry.getValue().getNanos())))
+                .toList();
+
+        return new SlowRequestDto(LocalDateTime.now(), request.getMethod(), uri, request.getQueryString(),
+                response.getStatus(), millis(durationNanos), metrics.getStatements(),
+                millis(metrics.getStatementNanos()), millis(metrics.getConnectionWaitNanos()),
+                response.getBytesWritten(), queries);
+    }
+
+    private static boolean isEventStream(HttpServletResponse response) {
+        return response.getContentType() != null
+                && response.getContentType().startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    // Counts body bytes on their way to the container without buffering them. Only the output
+    // stream is wrapped; the JSON and NDJSON responses are all written through it.
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+
+        private long bytesWritten;
+        private ServletOutputStream outputStream;
+
+        CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        long getBytesWritten() {
+            return bytesWritten;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                ServletOutputStream delegate = super.getOutputStream();
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        delegate.write(b);
+                        bytesWritten++;
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        delegate.write(b, off, len);
+                        bytesWritten += len;
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        delegate.flush();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        delegate.close();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return delegate.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener listener) {
+                        delegate.setWriteListener(listener);
+                    }
+                };
+            }
+            return outputStream;
+        }
+    }
+}
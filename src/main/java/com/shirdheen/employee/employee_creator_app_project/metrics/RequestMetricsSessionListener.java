@@ -0,0 +1,52 @@
+package com.shirdheen.employee.employee_creator_app_project.metrics;
+
+import org.hibernate.SessionEventListener;
+
+// Registered through hibernate.session.events.auto, so Hibernate creates one per session.
+// Times connection acquisition (which includes waiting on the pool) and statement execution
+// and adds them to the current request, if there is one.
+public class RequestMetricsSessionListener implements SessionEventListener {
+
+    private long connectionStart;
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        connectionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        RequestMetrics metrics = RequestMetrics.current();
+        if (metrics != null) {
+            metrics.connectionAcquired(System.nanoTime() - connectionStart);
+        }
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestMetrics metrics = RequestMetrics.current();
+        if (metrics != null) {
+            metrics.statementExecuted(System.nanoTime() - statementStart);
+        }
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestMetrics metrics = RequestMetrics.current();
+        if (metrics != null) {
+            metrics.statementExecuted(System.nanoTime() - batchStart);
+        }
+    }
+}
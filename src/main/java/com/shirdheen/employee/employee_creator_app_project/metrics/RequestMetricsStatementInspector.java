@@ -0,0 +1,17 @@
+package com.shirdheen.employee.employee_creator_app_project.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Hands each prepared statement's SQL to the current request so trace mode can break the
+// request's database time down by query. Returns the SQL unchanged.
+public class RequestMetricsStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestMetrics metrics = RequestMetrics.current();
+        if (metrics != null) {
+            metrics.sqlPrepared(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,34 @@
+package com.shirdheen.employee.employee_creator_app_project.metrics;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.shirdheen.employee.employee_creator_app_project.dto.SlowRequestDto;
+
+// The most recent slow requests captured in trace mode, newest first.
+@Component
+public class SlowRequestLog {
+
+    private final int retained;
+    private final Deque<SlowRequestDto> requests = new ArrayDeque<>();
+
+    public SlowRequestLog(@Value("${employee.metrics.trace.retained:100}") int retained) {
+        this.retained = retained;
+    }
+
+    public synchronized void add(SlowRequestDto request) {
+        requests.addFirst(request);
+        while (requests.size() > retained) {
+            requests.removeLast();
+        }
+    }
+
+    public synchronized List<SlowRequestDto> recent() {
+        return new ArrayList<>(requests);
+    }
+}
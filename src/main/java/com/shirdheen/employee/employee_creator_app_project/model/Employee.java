@@ -1,8 +1,6 @@
 package com.shirdheen.employee.employee_creator_app_project.model;
 
-import java.beans.Transient;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -12,6 +10,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -82,14 +81,8 @@ public class Employee {
     @Min(value = 1, message = "Hours per week must be greater than 0")
     private Integer hoursPerWeek;
 
-    @Transient
-    public boolean isOnProbation() {
-        return this.startDate != null && ChronoUnit.MONTHS.between(this.startDate, LocalDate.now()) < 3;
-    }
-
-    @Transient
-    public boolean hasWorkAnniversaryThisMonth() {
-        return this.startDate != null && this.startDate.getMonth() == LocalDate.now().getMonth();
-    }
+    // Optimistic lock; also the per-employee part of the ETag
+    @Version
+    private Long version;
 
 }
@@ -0,0 +1,134 @@
+package com.shirdheen.employee.employee_creator_app_project.replica;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeDto;
+import com.shirdheen.employee.employee_creator_app_project.model.ContractType;
+import com.shirdheen.employee.employee_creator_app_project.model.EmploymentType;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// In-process copy of the employee table that EmployeeService reads from in replica mode.
+//
+// Readers take the current snapshot with one volatile read and never lock or wait; each
+// committed transaction builds a new snapshot and swaps it in (EmployeeReplicaUpdater), so a
+// reader sees either all of a transaction's changes or none of them. Building a snapshot is
+// linear in the table size, which is the price of reads that touch no shared mutable state.
+//
+// Until the first load has finished the replica is not ready and EmployeeService keeps
+// reading from the database.
+@Component
+public class EmployeeReplica {
+
+    private final boolean enabled;
+    private final Timer swaps;
+    private volatile EmployeeReplicaSnapshot snapshot;
+    // Changes committed while a load is reading the table, replayed on top of what it read
+    private List<Map<Long, EmployeeDto>> changedDuringLoad;
+
+    public EmployeeReplica(MeterRegistry meterRegistry, @Value("${employee.replica.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+        this.swaps = Timer.builder("employee.replica.swap")
+                .description("Time to build and swap in a snapshot after a committed write").register(meterRegistry);
+        Gauge.builder("employee.replica.size", this, EmployeeReplica::size).register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    public int size() {
+        EmployeeReplicaSnapshot current = snapshot;
+        return current == null ? 0 : current.size();
+    }
+
+    // Call before reading the table for a (re)load, so writes committed meanwhile aren't lost
+    public synchronized void startLoading() {
+        changedDuringLoad = new ArrayList<>();
+    }
+
+    public synchronized void finishLoading(List<EmployeeDto> employees) {
+        EmployeeReplicaSnapshot loaded = EmployeeReplicaSnapshot.of(employees.toArray(EmployeeDto[]::new));
+        if (changedDuringLoad != null) {
+            // Some of these may already be in what was read; applying them again is harmless
+            for (Map<Long, EmployeeDto> changes : changedDuringLoad) {
+                loaded = loaded.with(changes);
+            }
+            changedDuringLoad = null;
+        }
+        snapshot = loaded;
+    }
+
+    // One committed transaction's changes: the new row per changed id, null for a deleted one
+    public synchronized void apply(Map<Long, EmployeeDto> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        if (changedDuringLoad != null) {
+            changedDuringLoad.add(changes);
+        }
+        EmployeeReplicaSnapshot current = snapshot;
+        if (current != null) {
+            snapshot = swaps.record(() -> current.with(changes));
+        }
+    }
+
+    public synchronized void clear() {
+        changedDuringLoad = null;
+        snapshot = null;
+    }
+
+    // Reads below return copies, like EmployeeCache, because the derived flags are filled in
+    // per request. They must only be called once the replica is ready.
+
+    public EmployeeDto findById(Long id) {
+        EmployeeDto row = snapshot().get(id);
+        return row == null ? null : new EmployeeDto(row);
+    }
+
+    public boolean containsEmail(String email) {
+        return snapshot().getByEmail(email) != null;
+    }
+
+    public List<EmployeeDto> findAllById(List<Long> ids) {
+        return snapshot().getAll(ids);
+    }
+
+    public List<EmployeeDto> findAll() {
+        return filter(null, null, row -> true);
+    }
+
+    public void forEach(Consumer<EmployeeDto> consumer) {
+        snapshot().forEach(consumer);
+    }
+
+    public List<EmployeeDto> filter(EmploymentType employmentType, ContractType contractType,
+            Predicate<EmployeeDto> condition) {
+        return snapshot().filter(employmentType, contractType, condition);
+    }
+
+    public List<EmployeeDto> search(String keyword, int limit) {
+        return snapshot().search(keyword, limit);
+    }
+
+    private EmployeeReplicaSnapshot snapshot() {
+        EmployeeReplicaSnapshot current = snapshot;
+        if (current == null) {
+            throw new IllegalStateException("The employee replica has not been loaded yet");
+        }
+        return current;
+    }
+}
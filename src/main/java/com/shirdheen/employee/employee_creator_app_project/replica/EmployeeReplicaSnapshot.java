@@ -0,0 +1,244 @@
+package com.shirdheen.employee.employee_creator_app_project.replica;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeDto;
+import com.shirdheen.employee.employee_creator_app_project.email.EmployeeEmailFilter;
+import com.shirdheen.employee.employee_creator_app_project.model.ContractType;
+import com.shirdheen.employee.employee_creator_app_project.model.EmploymentType;
+
+// One immutable version of the employee table. Rows are kept in (lastName, id) order, so
+// that order costs nothing, and every index refers to rows by their position in it:
+//
+// - id -> position and email -> position are open-addressing tables over plain long/int
+//   arrays, so lookups don't box and each entry costs a few array slots instead of a map node
+// - each employment and contract type has the ascending positions of its rows, which keeps
+//   filter results in (lastName, id) order without sorting
+//
+// Nothing here changes after construction. Rows are shared between snapshots and must not be
+// modified; readers get copies.
+final class EmployeeReplicaSnapshot {
+
+    // The database orders lastName by its collation, which for MySQL's default ignores case
+    static final Comparator<EmployeeDto> ORDER = Comparator
+            .comparing(EmployeeDto::getLastName, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(EmployeeDto::getId);
+
+    private final EmployeeDto[] rows;
+    // Both tables have a power-of-two size of at least twice the rows; hashes keep its top bits
+    private final int hashBits;
+    // Ids are generated from 1, so 0 marks a free slot
+    private final long[] idSlots;
+    private final int[] idPositions;
+    // Position + 1 of the row with that email, 0 for a free slot
+    private final int[] emailSlots;
+    private final int[][] byEmploymentType;
+    private final int[][] byContractType;
+
+    private EmployeeReplicaSnapshot(EmployeeDto[] rows) {
+        this.rows = rows;
+        int capacity = Integer.highestOneBit(Math.max(rows.length, 1) * 2 - 1) << 1;
+        this.hashBits = Integer.numberOfTrailingZeros(capacity);
+        this.idSlots = new long[capacity];
+        this.idPositions = new int[capacity];
+        this.emailSlots = new int[capacity];
+
+        int[] employmentCounts = new int[EmploymentType.values().length];
+        int[] contractCounts = new int[ContractType.values().length];
+        for (int position = 0; position < rows.length; position++) {
+            EmployeeDto row = rows[position];
+            int slot = idSlot(row.getId());
+            idSlots[slot] = row.getId();
+            idPositions[slot] = position;
+            if (row.getEmail() != null) {
+                emailSlots[emailSlot(EmployeeEmailFilter.normalize(row.getEmail()))] = position + 1;
+            }
+            if (row.getEmploymentType() != null) {
+                employmentCounts[row.getEmploymentType().ordinal()]++;
+            }
+            if (row.getContractType() != null) {
+                contractCounts[row.getContractType().ordinal()]++;
+            }
+        }
+
+        this.byEmploymentType = new int[employmentCounts.length][];
+        for (int i = 0; i < employmentCounts.length; i++) {
+            byEmploymentType[i] = new int[employmentCounts[i]];
+        }
+        this.byContractType = new int[contractCounts.length][];
+        for (int i = 0; i < contractCounts.length; i++) {
+            byContractType[i] = new int[contractCounts[i]];
+        }
+        Arrays.fill(employmentCounts, 0);
+        Arrays.fill(contractCounts, 0);
+        for (int position = 0; position < rows.length; position++) {
+            EmployeeDto row = rows[position];
+            if (row.getEmploymentType() != null) {
+                int type = row.getEmploymentType().ordinal();
+                byEmploymentType[type][employmentCounts[type]++] = position;
+            }
+            if (row.getContractType() != null) {
+                int type = row.getContractType().ordinal();
+                byContractType[type][contractCounts[type]++] = position;
+            }
+        }
+    }
+
+    // Takes ownership of the rows, which need not be sorted
+    static EmployeeReplicaSnapshot of(EmployeeDto[] rows) {
+        Arrays.sort(rows, ORDER);
+        return new EmployeeReplicaSnapshot(rows);
+    }
+
+    // A new snapshot with the changes applied: a row per changed id, null for a deleted one.
+    // Unchanged rows keep their order, so only the changed rows need sorting.
+    EmployeeReplicaSnapshot with(Map<Long, EmployeeDto> changes) {
+        long[] changedIds = changes.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        List<EmployeeDto> upserts = changes.values().stream().filter(Objects::nonNull).sorted(ORDER).toList();
+
+        EmployeeDto[] merged = new EmployeeDto[rows.length + upserts.size()];
+        int size = 0;
+        int next = 0;
+        for (EmployeeDto row : rows) {
+            if (Arrays.binarySearch(changedIds, row.getId()) >= 0) {
+                continue;
+            }
+            while (next < upserts.size() && ORDER.compare(upserts.get(next), row) < 0) {
+                merged[size++] = upserts.get(next++);
+            }
+            merged[size++] = row;
+        }
+        while (next < upserts.size()) {
+            merged[size++] = upserts.get(next++);
+        }
+        return new EmployeeReplicaSnapshot(size == merged.length ? merged : Arrays.copyOf(merged, size));
+    }
+
+    int size() {
+        return rows.length;
+    }
+
+    EmployeeDto get(long id) {
+        for (int slot = hash(id); ; slot = (slot + 1) & (idSlots.length - 1)) {
+            if (idSlots[slot] == 0) {
+                return null;
+            }
+            if (idSlots[slot] == id) {
+                return rows[idPositions[slot]];
+            }
+        }
+    }
+
+    EmployeeDto getByEmail(String email) {
+        String normalized = EmployeeEmailFilter.normalize(email);
+        for (int slot = hash(normalized); ; slot = (slot + 1) & (emailSlots.length - 1)) {
+            if (emailSlots[slot] == 0) {
+                return null;
+            }
+            EmployeeDto row = rows[emailSlots[slot] - 1];
+            if (normalized.equals(EmployeeEmailFilter.normalize(row.getEmail()))) {
+                return row;
+            }
+        }
+    }
+
+    // Copies of the rows with the given ids, in the order given; unknown ids are skipped
+    List<EmployeeDto> getAll(List<Long> ids) {
+        List<EmployeeDto> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            EmployeeDto row = id == null ? null : get(id);
+            if (row != null) {
+                result.add(new EmployeeDto(row));
+            }
+        }
+        return result;
+    }
+
+    // Copies of the matching rows in (lastName, id) order; null types match everything
+    List<EmployeeDto> filter(EmploymentType employmentType, ContractType contractType,
+            Predicate<EmployeeDto> condition) {
+        List<EmployeeDto> result = new ArrayList<>();
+        if (employmentType == null && contractType == null) {
+            for (EmployeeDto row : rows) {
+                if (condition.test(row)) {
+                    result.add(new EmployeeDto(row));
+                }
+            }
+            return result;
+        }
+
+        // Walk the shorter list and check the other type on the row
+        int[] employmentPositions = employmentType == null ? null : byEmploymentType[employmentType.ordinal()];
+        int[] contractPositions = contractType == null ? null : byContractType[contractType.ordinal()];
+        int[] positions = employmentPositions == null
+                || (contractPositions != null && contractPositions.length < employmentPositions.length)
+                        ? contractPositions
+                        : employmentPositions;
+        for (int position : positions) {
+            EmployeeDto row = rows[position];
+            if ((employmentType == null || row.getEmploymentType() == employmentType)
+                    && (contractType == null || row.getContractType() == contractType)
+                    && condition.test(row)) {
+                result.add(new EmployeeDto(row));
+            }
+        }
+        return result;
+    }
+
+    // Case-insensitive substring match on first name, last name or email, like the LIKE query
+    List<EmployeeDto> search(String keyword, int limit) {
+        String normalized = keyword.toLowerCase(Locale.ROOT);
+        List<EmployeeDto> result = new ArrayList<>();
+        for (int position = 0; position < rows.length && result.size() < limit; position++) {
+            EmployeeDto row = rows[position];
+            if (contains(row.getFirstName(), normalized) || contains(row.getLastName(), normalized)
+                    || contains(row.getEmail(), normalized)) {
+                result.add(new EmployeeDto(row));
+            }
+        }
+        return result;
+    }
+
+    void forEach(Consumer<EmployeeDto> consumer) {
+        for (EmployeeDto row : rows) {
+            consumer.accept(new EmployeeDto(row));
+        }
+    }
+
+    private static boolean contains(String value, String keyword) {
+        return value != null && value.toLowerCase(Locale.ROOT).contains(keyword);
+    }
+
+    private int idSlot(long id) {
+        int slot = hash(id);
+        while (idSlots[slot] != 0) {
+            slot = (slot + 1) & (idSlots.length - 1);
+        }
+        return slot;
+    }
+
+    private int emailSlot(String email) {
+        int slot = hash(email);
+        while (emailSlots[slot] != 0) {
+            slot = (slot + 1) & (emailSlots.length - 1);
+        }
+        return slot;
+    }
+
+    // Fibonacci hashing spreads sequential ids over the whole table
+    private int hash(long id) {
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> (64 - hashBits));
+    }
+
+    private int hash(String email) {
+        return (email.hashCode() * 0x9E3779B9) >>> (32 - hashBits);
+    }
+}
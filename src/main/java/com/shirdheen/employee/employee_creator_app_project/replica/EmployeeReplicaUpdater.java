@@ -0,0 +1,91 @@
+package com.shirdheen.employee.employee_creator_app_project.replica;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeDto;
+import com.shirdheen.employee.employee_creator_app_project.event.EmployeeChangedEvent;
+import com.shirdheen.employee.employee_creator_app_project.model.Employee;
+import com.shirdheen.employee.employee_creator_app_project.service.EmployeeService;
+
+// Loads the replica once the app is up (before it reports itself ready for traffic) and keeps
+// it in sync with committed writes.
+//
+// Unlike the other listeners this one collects a transaction's events itself and applies them
+// once it has committed: a batch PATCH or an import chunk changes thousands of rows, and
+// building a snapshot per row would make it quadratic.
+@Component
+public class EmployeeReplicaUpdater {
+
+    private final EmployeeService employeeService;
+    private final EmployeeReplica replica;
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeReplicaUpdater.class);
+
+    public EmployeeReplicaUpdater(EmployeeService employeeService, EmployeeReplica replica) {
+        this.employeeService = employeeService;
+        this.replica = replica;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!replica.isEnabled()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        replica.startLoading();
+        replica.finishLoading(employeeService.getAllEmployeesFromDatabase());
+        logger.info("Employee replica loaded with {} employees in {} ms", replica.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    // Events published outside a transaction are ignored, as by @TransactionalEventListener
+    @EventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (!replica.isEnabled() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Map<Long, Employee> changes = (Map<Long, Employee>) TransactionSynchronizationManager.getResource(this);
+        if (changes == null) {
+            changes = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(new CommittedChanges(changes));
+        }
+        changes.put(event.getId(), event.getType() == EmployeeChangedEvent.Type.DELETED ? null : event.getEmployee());
+    }
+
+    private final class CommittedChanges implements TransactionSynchronization {
+
+        private final Map<Long, Employee> changes;
+
+        CommittedChanges(Map<Long, Employee> changes) {
+            this.changes = changes;
+        }
+
+        // Rows are copied only now: the version is bumped when the transaction flushes
+        @Override
+        public void afterCommit() {
+            Map<Long, EmployeeDto> rows = new LinkedHashMap<>();
+            changes.forEach((id, employee) -> rows.put(id, employee == null ? null : new EmployeeDto(employee)));
+            replica.apply(rows);
+        }
+
+        @Override
+        public int getOrder() {
+            return EmployeeChangedEvent.READ_MODEL_ORDER;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(EmployeeReplicaUpdater.this);
+        }
+    }
+}
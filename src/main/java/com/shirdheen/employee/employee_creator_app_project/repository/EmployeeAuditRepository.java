@@ -0,0 +1,84 @@
+package com.shirdheen.employee.employee_creator_app_project.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shirdheen.employee.employee_creator_app_project.audit.EmployeeAuditEntry;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeAuditEntryDto;
+import com.shirdheen.employee.employee_creator_app_project.event.EmployeeChangedEvent;
+import com.shirdheen.employee.employee_creator_app_project.event.EmployeeFieldChange;
+
+// The employee_audit table is only ever appended to, in JDBC batches, so it goes through
+// the driver like EmployeeBatchWriter rather than through an entity
+@Repository
+public class EmployeeAuditRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO employee_audit (employee_id, change_type, version, "
+            + "changes, changed_at) VALUES (?, ?, ?, ?, ?)";
+
+    // By time first: entries that went through the audit spill file are inserted after later ones
+    private static final String SELECT_SQL = "SELECT id, change_type, version, changes, changed_at "
+            + "FROM employee_audit WHERE employee_id = ? ORDER BY changed_at, id";
+
+    private static final TypeReference<List<EmployeeFieldChange>> CHANGES = new TypeReference<>() {
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public EmployeeAuditRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public void insertAll(List<EmployeeAuditEntry> entries) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, entries, entries.size(), this::bind);
+    }
+
+    public List<EmployeeAuditEntryDto> findByEmployeeId(Long employeeId) {
+        return jdbcTemplate.query(SELECT_SQL, this::map, employeeId);
+    }
+
+    private void bind(PreparedStatement statement, EmployeeAuditEntry entry) throws SQLException {
+        statement.setLong(1, entry.employeeId());
+        statement.setString(2, entry.type().name());
+        if (entry.version() == null) {
+            statement.setNull(3, Types.BIGINT);
+        } else {
+            statement.setLong(3, entry.version());
+        }
+        if (entry.changes().isEmpty()) {
+            statement.setNull(4, Types.VARCHAR);
+        } else {
+            try {
+                statement.setString(4, objectMapper.writeValueAsString(entry.changes()));
+            } catch (JsonProcessingException e) {
+                throw new SQLException("Could not serialise changes of employee " + entry.employeeId(), e);
+            }
+        }
+        statement.setTimestamp(5, Timestamp.valueOf(entry.changedAt()));
+    }
+
+    private EmployeeAuditEntryDto map(ResultSet rs, int rowNumber) throws SQLException {
+        long id = rs.getLong("id");
+        Long version = rs.getObject("version", Long.class);
+        String changes = rs.getString("changes");
+        try {
+            return new EmployeeAuditEntryDto(id, EmployeeChangedEvent.Type.valueOf(rs.getString("change_type")),
+                    version, rs.getTimestamp("changed_at").toLocalDateTime(),
+                    changes == null ? List.of() : objectMapper.readValue(changes, CHANGES));
+        } catch (JsonProcessingException e) {
+            throw new SQLException("Unreadable changes in audit entry " + id, e);
+        }
+    }
+}
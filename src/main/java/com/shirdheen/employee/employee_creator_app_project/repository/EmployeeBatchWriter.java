@@ -0,0 +1,55 @@
+package com.shirdheen.employee.employee_creator_app_project.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.shirdheen.employee.employee_creator_app_project.model.Employee;
+
+// Plain JDBC batch inserts for bulk loads. Employee ids are IDENTITY columns, which stops
+// Hibernate from batching, so large imports go straight through the driver instead.
+@Repository
+public class EmployeeBatchWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO employees (first_name, middle_name, last_name, email, "
+            + "mobile_number, residential_address, contract_type, start_date, finish_date, ongoing, "
+            + "employment_type, salary, hours_per_week) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EmployeeBatchWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insertAll(List<Employee> employees, int batchSize) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, employees, batchSize, this::bind);
+    }
+
+    private void bind(PreparedStatement statement, Employee employee) throws SQLException {
+        statement.setString(1, employee.getFirstName());
+        statement.setString(2, employee.getMiddleName());
+        statement.setString(3, employee.getLastName());
+        statement.setString(4, employee.getEmail());
+        statement.setString(5, employee.getMobileNumber());
+        statement.setString(6, employee.getResidentialAddress());
+        statement.setString(7, employee.getContractType().name());
+        statement.setObject(8, employee.getStartDate(), Types.DATE);
+        if (employee.getFinishDate() == null) {
+            statement.setNull(9, Types.DATE);
+        } else {
+            statement.setObject(9, employee.getFinishDate(), Types.DATE);
+        }
+        statement.setBoolean(10, employee.isOngoing());
+        statement.setString(11, employee.getEmploymentType().name());
+        statement.setDouble(12, employee.getSalary());
+        if (employee.getHoursPerWeek() == null) {
+            statement.setNull(13, Types.INTEGER);
+        } else {
+            statement.setInt(13, employee.getHoursPerWeek());
+        }
+    }
+}
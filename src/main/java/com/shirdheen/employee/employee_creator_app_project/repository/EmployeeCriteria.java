@@ -0,0 +1,37 @@
+package com.shirdheen.employee.employee_creator_app_project.repository;
+
+import java.time.LocalDate;
+
+import com.shirdheen.employee.employee_creator_app_project.model.ContractType;
+import com.shirdheen.employee.employee_creator_app_project.model.EmploymentType;
+
+import lombok.Builder;
+import lombok.Getter;
+
+// Optional filters combined with AND; every date condition is a plain range on an
+// indexed column so the database can answer it without scanning
+@Getter
+@Builder
+public class EmployeeCriteria {
+    private EmploymentType employmentType;
+    private ContractType contractType;
+    private Boolean ongoing;
+
+    // startDate >= startDateFrom
+    private LocalDate startDateFrom;
+    // startDate < startDateBefore
+    private LocalDate startDateBefore;
+
+    // finishDate >= finishDateFrom; employees without a finish date never match
+    private LocalDate finishDateFrom;
+    // finishDate < finishDateBefore
+    private LocalDate finishDateBefore;
+
+    // startDate or finishDate in [startOrFinishFrom, startOrFinishBefore). On MySQL the OR is
+    // answered by merging the two date indexes.
+    private LocalDate startOrFinishFrom;
+    private LocalDate startOrFinishBefore;
+
+    // Month of year (1-12) the employee started in, whatever the year
+    private Integer startMonth;
+}
@@ -0,0 +1,17 @@
+package com.shirdheen.employee.employee_creator_app_project.repository;
+
+import com.shirdheen.employee.employee_creator_app_project.model.ContractType;
+import com.shirdheen.employee.employee_creator_app_project.model.EmploymentType;
+
+// Row of EmployeeRepository.findGroupTotals
+public interface EmployeeGroupTotals {
+    EmploymentType getEmploymentType();
+
+    ContractType getContractType();
+
+    long getHeadcount();
+
+    Double getTotalSalary();
+
+    Long getTotalHoursPerWeek();
+}
@@ -1,31 +1,80 @@
 package com.shirdheen.employee.employee_creator_app_project.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeDto;
 import com.shirdheen.employee.employee_creator_app_project.model.Employee;
 import com.shirdheen.employee.employee_creator_app_project.model.EmploymentType;
 import com.shirdheen.employee.employee_creator_app_project.model.ContractType;
 
+import jakarta.persistence.QueryHint;
+
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeRepositoryCustom {
+
+    // Read queries select straight into EmployeeDto, so no managed entities are created for them
+    String SELECT_DTO = "SELECT new com.shirdheen.employee.employee_creator_app_project.dto.EmployeeDto("
+            + "e.id, e.firstName, e.middleName, e.lastName, e.email, e.mobileNumber, e.residentialAddress, "
+            + "e.contractType, e.employmentType, e.startDate, e.finishDate, e.salary, e.hoursPerWeek, e.ongoing, "
+            + "e.version) "
+            + "FROM Employee e ";
+
+    String BY_LAST_NAME = " ORDER BY e.lastName ASC, e.id ASC";
 
     // Check if an email already exists
     boolean existsByEmail(String email);
 
+    // Which of the given emails are already taken, in a single lookup
+    @Query("SELECT e.email FROM Employee e WHERE e.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    List<Employee> findByEmailIn(Collection<String> emails);
+
+    @Query(SELECT_DTO + "WHERE e.id = :id")
+    Optional<EmployeeDto> findDtoById(@Param("id") Long id);
+
+    @Query(SELECT_DTO + "WHERE e.id IN :ids")
+    List<EmployeeDto> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(SELECT_DTO + BY_LAST_NAME)
+    List<EmployeeDto> findAllDtos();
+
     // Find all employees by contract type
-    List<Employee> findByContractType(ContractType contractType);
+    @Query(SELECT_DTO + "WHERE e.contractType = :contractType" + BY_LAST_NAME)
+    List<EmployeeDto> findDtosByContractType(@Param("contractType") ContractType contractType);
     
     // Find all employees by employment type
-    List<Employee> findByEmploymentType(EmploymentType employmentType);
+    @Query(SELECT_DTO + "WHERE e.employmentType = :employmentType" + BY_LAST_NAME)
+    List<EmployeeDto> findDtosByEmploymentType(@Param("employmentType") EmploymentType employmentType);
+
+    @Query(SELECT_DTO + "WHERE e.employmentType = :employmentType AND e.contractType = :contractType" + BY_LAST_NAME)
+    List<EmployeeDto> findDtosByEmploymentTypeAndContractType(@Param("employmentType") EmploymentType employmentType,
+            @Param("contractType") ContractType contractType);
+
+    @Query(SELECT_DTO + "WHERE LOWER(e.firstName) LIKE LOWER(CONCAT('%', :keyword, '%')) "
+            + "OR LOWER(e.lastName) LIKE LOWER(CONCAT('%', :keyword, '%')) "
+            + "OR LOWER(e.email) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    List<EmployeeDto> searchEmployees(@Param("keyword") String keyword);
 
-    List<Employee> findByEmploymentTypeAndContractType(EmploymentType employmentType, ContractType contractType);
+    // Forward-only cursor over every employee; must be consumed inside a transaction and closed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_DTO + BY_LAST_NAME)
+    Stream<EmployeeDto> streamAllDtos();
 
-    @Query("SELECT e FROM Employee e WHERE LOWER(e.firstName) LIKE LOWER(CONCAT('%', : keyword, '%')) " + "OR LOWER(e.lastName) LIKE LOWER(CONCAT('%', :keyword, '%'))" + "OR LOWER(e.email) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    List<Employee> searchEmployees(@Param("keyword") String keyword);
+    // Leaf totals for the stats endpoint while the in-memory rollup is still loading
+    @Query("SELECT e.employmentType AS employmentType, e.contractType AS contractType, COUNT(e) AS headcount, "
+            + "SUM(e.salary) AS totalSalary, SUM(e.hoursPerWeek) AS totalHoursPerWeek "
+            + "FROM Employee e GROUP BY e.employmentType, e.contractType")
+    List<EmployeeGroupTotals> findGroupTotals();
 }
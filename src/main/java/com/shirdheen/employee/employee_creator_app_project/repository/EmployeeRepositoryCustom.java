@@ -0,0 +1,30 @@
+package com.shirdheen.employee.employee_creator_app_project.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeCursor;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeDto;
+
+public interface EmployeeRepositoryCustom {
+
+    // Employees matching all of the criteria, in (lastName, id) order
+    List<EmployeeDto> findDtos(EmployeeCriteria criteria);
+
+    // Up to limit of them strictly after the cursor (from the start if it is null), in the same order
+    List<EmployeeDto> findDtoPage(EmployeeCriteria criteria, EmployeeCursor after, int limit);
+
+    // Forward-only cursor over them in the same order, fetched fetchSize rows at a time; must be
+    // consumed inside a transaction and closed
+    Stream<EmployeeDto> streamDtos(EmployeeCriteria criteria, int fetchSize);
+
+    // Sets the given attributes on every listed employee in one UPDATE statement; values must
+    // already be converted to the attribute types. Clears the persistence context afterwards.
+    int bulkUpdate(Collection<Long> ids, Map<String, Object> values);
+
+    // Deletes, in one DELETE statement, each listed employee (id -> version) that still has that
+    // version and is not ongoing; returns how many went. Clears the persistence context afterwards.
+    int deleteUnchanged(Map<Long, Long> versions);
+}
@@ -0,0 +1,196 @@
+package com.shirdheen.employee.employee_creator_app_project.repository;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeCursor;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeDto;
+import com.shirdheen.employee.employee_creator_app_project.model.Employee;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+public class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<EmployeeDto> findDtos(EmployeeCriteria criteria) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EmployeeDto> query = cb.createQuery(EmployeeDto.class);
+        Root<Employee> e = query.from(Employee.class);
+
+        List<Predicate> predicates = predicates(cb, e, criteria);
+        if (predicates == null) {
+            return Collections.emptyList();
+        }
+        return entityManager.createQuery(selectDtos(cb, query, e, predicates)).getResultList();
+    }
+
+    @Override
+    public List<EmployeeDto> findDtoPage(EmployeeCriteria criteria, EmployeeCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EmployeeDto> query = cb.createQuery(EmployeeDto.class);
+        Root<Employee> e = query.from(Employee.class);
+
+        List<Predicate> predicates = predicates(cb, e, criteria);
+        if (predicates == null) {
+            return Collections.emptyList();
+        }
+        if (after != null) {
+            // Strictly after the cursor in (lastName, id) order. The leading lastName >= bound is
+            // redundant but lets the optimizer start an index range there.
+            Path<String> lastName = e.get("lastName");
+            predicates.add(cb.greaterThanOrEqualTo(lastName, after.getLastName()));
+            predicates.add(cb.or(cb.greaterThan(lastName, after.getLastName()),
+                    cb.greaterThan(e.get("id"), after.getId())));
+        }
+        return entityManager.createQuery(selectDtos(cb, query, e, predicates)).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public Stream<EmployeeDto> streamDtos(EmployeeCriteria criteria, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EmployeeDto> query = cb.createQuery(EmployeeDto.class);
+        Root<Employee> e = query.from(Employee.class);
+
+        List<Predicate> predicates = predicates(cb, e, criteria);
+        if (predicates == null) {
+            return Stream.empty();
+        }
+        return entityManager.createQuery(selectDtos(cb, query, e, predicates))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    // Null when the criteria cannot match anyone
+    private List<Predicate> predicates(CriteriaBuilder cb, Root<Employee> e, EmployeeCriteria criteria) {
+        Path<LocalDate> startDate = e.get("startDate");
+        Path<LocalDate> finishDate = e.get("finishDate");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.getEmploymentType() != null) {
+            predicates.add(cb.equal(e.get("employmentType"), criteria.getEmploymentType()));
+        }
+        if (criteria.getContractType() != null) {
+            predicates.add(cb.equal(e.get("contractType"), criteria.getContractType()));
+        }
+        if (criteria.getOngoing() != null) {
+            predicates.add(cb.equal(e.get("ongoing"), criteria.getOngoing()));
+        }
+        addRange(cb, predicates, startDate, criteria.getStartDateFrom(), criteria.getStartDateBefore());
+        addRange(cb, predicates, finishDate, criteria.getFinishDateFrom(), criteria.getFinishDateBefore());
+        if (criteria.getStartOrFinishFrom() != null || criteria.getStartOrFinishBefore() != null) {
+            List<Predicate> started = new ArrayList<>();
+            List<Predicate> finished = new ArrayList<>();
+            addRange(cb, started, startDate, criteria.getStartOrFinishFrom(), criteria.getStartOrFinishBefore());
+            addRange(cb, finished, finishDate, criteria.getStartOrFinishFrom(), criteria.getStartOrFinishBefore());
+            predicates.add(cb.or(cb.and(started.toArray(Predicate[]::new)),
+                    cb.and(finished.toArray(Predicate[]::new))));
+        }
+        if (criteria.getStartMonth() != null) {
+            List<Predicate> monthRanges = startMonthRanges(cb, startDate, criteria.getStartMonth());
+            if (monthRanges.isEmpty()) {
+                return null;
+            }
+            predicates.add(cb.or(monthRanges.toArray(Predicate[]::new)));
+        }
+        return predicates;
+    }
+
+    // date >= from and date < before, either bound optional
+    private static void addRange(CriteriaBuilder cb, List<Predicate> predicates, Path<LocalDate> date,
+            LocalDate from, LocalDate before) {
+        if (from != null) {
+            predicates.add(cb.greaterThanOrEqualTo(date, from));
+        }
+        if (before != null) {
+            predicates.add(cb.lessThan(date, before));
+        }
+    }
+
+    private static CriteriaQuery<EmployeeDto> selectDtos(CriteriaBuilder cb, CriteriaQuery<EmployeeDto> query,
+            Root<Employee> e, List<Predicate> predicates) {
+        return query.select(cb.construct(EmployeeDto.class, e.get("id"), e.get("firstName"), e.get("middleName"),
+                e.get("lastName"), e.get("email"), e.get("mobileNumber"), e.get("residentialAddress"),
+                e.get("contractType"), e.get("employmentType"), e.get("startDate"), e.get("finishDate"),
+                e.get("salary"), e.get("hoursPerWeek"), e.get("ongoing"), e.get("version")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(e.get("lastName")), cb.asc(e.get("id")));
+    }
+
+    // "Started in March" becomes one startDate range per year between the earliest and latest
+    // start dates, which an index range scan can serve, instead of MONTH(start_date) = 3
+    private List<Predicate> startMonthRanges(CriteriaBuilder cb, Path<LocalDate> startDate, int month) {
+        Object[] bounds = entityManager
+                .createQuery("SELECT MIN(e.startDate), MAX(e.startDate) FROM Employee e", Object[].class)
+                .getSingleResult();
+        if (bounds[0] == null) {
+            return Collections.emptyList();
+        }
+
+        int firstYear = ((LocalDate) bounds[0]).getYear();
+        int lastYear = ((LocalDate) bounds[1]).getYear();
+        List<Predicate> ranges = new ArrayList<>(lastYear - firstYear + 1);
+        for (int year = firstYear; year <= lastYear; year++) {
+            YearMonth yearMonth = YearMonth.of(year, month);
+            ranges.add(cb.between(startDate, yearMonth.atDay(1), yearMonth.atEndOfMonth()));
+        }
+        return ranges;
+    }
+
+    @Override
+    public int bulkUpdate(Collection<Long> ids, Map<String, Object> values) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Employee> update = cb.createCriteriaUpdate(Employee.class);
+        Root<Employee> e = update.from(Employee.class);
+        values.forEach((attribute, value) -> update.set(e.get(attribute), value));
+        // Bulk statements bypass Hibernate's versioning, so bump it here for If-Match and ETags
+        Path<Long> version = e.get("version");
+        update.set(version, cb.sum(version, 1L));
+        update.where(e.get("id").in(ids));
+
+        // Pending changes go out first, and nothing stale is left managed afterwards
+        entityManager.flush();
+        int updated = entityManager.createQuery(update).executeUpdate();
+        entityManager.clear();
+        return updated;
+    }
+
+    @Override
+    public int deleteUnchanged(Map<Long, Long> versions) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaDelete<Employee> delete = cb.createCriteriaDelete(Employee.class);
+        Root<Employee> e = delete.from(Employee.class);
+
+        // Grouped by version, which most rows share, to keep the statement short
+        Map<Long, List<Long>> idsByVersion = new HashMap<>();
+        versions.forEach((id, version) -> idsByVersion.computeIfAbsent(version, v -> new ArrayList<>()).add(id));
+        List<Predicate> matches = new ArrayList<>();
+        idsByVersion.forEach((version, ids) -> matches.add(cb.and(cb.equal(e.get("version"), version),
+                e.get("id").in(ids))));
+        delete.where(cb.isFalse(e.get("ongoing")), cb.or(matches.toArray(Predicate[]::new)));
+
+        entityManager.flush();
+        int deleted = entityManager.createQuery(delete).executeUpdate();
+        entityManager.clear();
+        return deleted;
+    }
+}
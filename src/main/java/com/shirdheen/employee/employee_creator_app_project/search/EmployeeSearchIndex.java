@@ -0,0 +1,357 @@
+package com.shirdheen.employee.employee_creator_app_project.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeDto;
+import com.shirdheen.employee.employee_creator_app_project.model.Employee;
+
+// In-memory inverted index over firstName, lastName and email.
+// Terms are kept sorted for prefix lookups, and a trigram index over the term
+// vocabulary gives substring and typo-tolerant matches without scanning rows.
+@Component
+public class EmployeeSearchIndex {
+
+    private static final double EXACT_SCORE = 4.0;
+    private static final double PREFIX_SCORE = 3.0;
+    private static final double INFIX_SCORE = 2.0;
+    private static final double FUZZY_SCORE = 1.0;
+
+    private static final double NAME_WEIGHT = 1.0;
+    private static final double EMAIL_WEIGHT = 0.8;
+
+    private static final int MIN_INFIX_LENGTH = 3;
+    private static final int MIN_FUZZY_LENGTH = 4;
+
+    private static final char WORD_START = '\u0002';
+    private static final char WORD_END = '\u0003';
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // term -> (employee id -> field weight)
+    private final NavigableMap<String, Map<Long, Double>> postings = new TreeMap<>();
+    // trigram of the boundary-padded term -> terms containing it
+    private final Map<String, Set<String>> trigramTerms = new HashMap<>();
+    // employee id -> terms indexed for it, so removals don't need the old entity
+    private final Map<Long, Map<String, Double>> documents = new HashMap<>();
+
+    // Changes committed while a rebuild is reading the table: the terms per changed id, null for
+    // a delete. They are replayed over what it read, so a row it read before the change doesn't win.
+    private Map<Long, Map<String, Double>> changedDuringRebuild;
+
+    private volatile boolean ready;
+
+    public static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Empties the index and takes it out of service until finishRebuild. Rows read from the
+    // table go in with addToRebuild; put and remove meanwhile are held back and replayed.
+    public void beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            changedDuringRebuild = new HashMap<>();
+            postings.clear();
+            trigramTerms.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addToRebuild(EmployeeDto employee) {
+        Map<String, Double> terms = terms(employee.getFirstName(), employee.getLastName(), employee.getEmail());
+        lock.writeLock().lock();
+        try {
+            indexLocked(employee.getId(), terms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void finishRebuild() {
+        lock.writeLock().lock();
+        try {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.forEach((id, terms) -> {
+                    if (terms == null) {
+                        removeLocked(id);
+                    } else {
+                        indexLocked(id, terms);
+                    }
+                });
+                changedDuringRebuild = null;
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(Employee employee) {
+        put(employee.getId(), terms(employee.getFirstName(), employee.getLastName(), employee.getEmail()));
+    }
+
+    public void put(EmployeeDto employee) {
+        put(employee.getId(), terms(employee.getFirstName(), employee.getLastName(), employee.getEmail()));
+    }
+
+    public void remove(Long id) {
+        put(id, null);
+    }
+
+    // Adds or replaces the indexed terms for an employee, or removes it for null terms
+    private void put(Long id, Map<String, Double> terms) {
+        lock.writeLock().lock();
+        try {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(id, terms);
+            } else if (terms == null) {
+                removeLocked(id);
+            } else {
+                indexLocked(id, terms);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void indexLocked(Long id, Map<String, Double> terms) {
+        removeLocked(id);
+        documents.put(id, terms);
+        terms.forEach((term, weight) -> {
+            Map<Long, Double> ids = postings.get(term);
+            if (ids == null) {
+                ids = new HashMap<>();
+                postings.put(term, ids);
+                for (String trigram : trigrams(pad(term))) {
+                    trigramTerms.computeIfAbsent(trigram, key -> new HashSet<>()).add(term);
+                }
+            }
+            ids.put(id, weight);
+        });
+    }
+
+    // Ids of matching employees, best match first. Every whitespace-separated word
+    // of the keyword has to match some term of the employee.
+    public List<Long> search(String keyword, int limit) {
+        String[] words = normalize(keyword).split("\\s+");
+        Map<Long, Double> scores = null;
+
+        lock.readLock().lock();
+        try {
+            for (String word : words) {
+                if (word.isEmpty()) {
+                    continue;
+                }
+                Map<Long, Double> wordScores = scoreWord(word);
+                if (scores == null) {
+                    scores = wordScores;
+                } else {
+                    scores.keySet().retainAll(wordScores.keySet());
+                    scores.replaceAll((id, score) -> score + wordScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (scores == null || scores.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final Map<Long, Double> ranked = scores;
+        return ranked.keySet().stream()
+                .sorted(Comparator.comparing((Long id) -> ranked.get(id)).reversed().thenComparing(id -> id))
+                .limit(limit)
+                .toList();
+    }
+
+    private Map<Long, Double> scoreWord(String word) {
+        Map<Long, Double> scores = new HashMap<>();
+        Set<String> matched = new HashSet<>();
+
+        Map<Long, Double> exact = postings.get(word);
+        if (exact != null) {
+            collect(scores, exact, EXACT_SCORE);
+            matched.add(word);
+        }
+
+        for (Map.Entry<String, Map<Long, Double>> entry : postings
+                .subMap(word, false, word + Character.MAX_VALUE, false).entrySet()) {
+            collect(scores, entry.getValue(), PREFIX_SCORE);
+            matched.add(entry.getKey());
+        }
+
+        if (word.length() >= MIN_INFIX_LENGTH) {
+            for (String term : infixCandidates(word)) {
+                if (!matched.contains(term) && term.contains(word)) {
+                    collect(scores, postings.get(term), INFIX_SCORE);
+                    matched.add(term);
+                }
+            }
+        }
+
+        if (word.length() >= MIN_FUZZY_LENGTH) {
+            int maxDistance = word.length() >= 8 ? 2 : 1;
+            for (String term : fuzzyCandidates(word)) {
+                if (!matched.contains(term) && Math.abs(term.length() - word.length()) <= maxDistance
+                        && editDistance(word, term, maxDistance) <= maxDistance) {
+                    collect(scores, postings.get(term), FUZZY_SCORE);
+                    matched.add(term);
+                }
+            }
+        }
+
+        return scores;
+    }
+
+    // Terms containing every trigram of the word
+    private Set<String> infixCandidates(String word) {
+        Set<String> candidates = null;
+        for (String trigram : trigrams(word)) {
+            Set<String> terms = trigramTerms.get(trigram);
+            if (terms == null) {
+                return Collections.emptySet();
+            }
+            if (candidates == null) {
+                candidates = new HashSet<>(terms);
+            } else {
+                candidates.retainAll(terms);
+            }
+        }
+        return candidates == null ? Collections.emptySet() : candidates;
+    }
+
+    // Terms sharing at least one trigram with the word; the padding lets short words
+    // with a transposed middle still meet their target through the first or last letters
+    private Set<String> fuzzyCandidates(String word) {
+        Set<String> candidates = new HashSet<>();
+        for (String trigram : trigrams(pad(word))) {
+            candidates.addAll(trigramTerms.getOrDefault(trigram, Collections.emptySet()));
+        }
+        return candidates;
+    }
+
+    private void collect(Map<Long, Double> scores, Map<Long, Double> ids, double matchScore) {
+        ids.forEach((id, weight) -> scores.merge(id, matchScore * weight, Math::max));
+    }
+
+    private void removeLocked(Long id) {
+        Map<String, Double> terms = documents.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms.keySet()) {
+            Map<Long, Double> ids = postings.get(term);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(term);
+                for (String trigram : trigrams(pad(term))) {
+                    Set<String> trigramSet = trigramTerms.get(trigram);
+                    trigramSet.remove(term);
+                    if (trigramSet.isEmpty()) {
+                        trigramTerms.remove(trigram);
+                    }
+                }
+            }
+        }
+    }
+
+    private static Map<String, Double> terms(String firstName, String lastName, String emailAddress) {
+        Map<String, Double> terms = new HashMap<>();
+        addTerms(terms, firstName, NAME_WEIGHT);
+        addTerms(terms, lastName, NAME_WEIGHT);
+        addTerms(terms, emailAddress, EMAIL_WEIGHT);
+
+        // The whole email is a term too, so "john.smith@" style queries still match
+        String email = normalize(emailAddress);
+        if (!email.isEmpty()) {
+            terms.merge(email, EMAIL_WEIGHT, Math::max);
+        }
+        return terms;
+    }
+
+    private static void addTerms(Map<String, Double> terms, String value, double weight) {
+        for (String token : normalize(value).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                terms.merge(token, weight, Math::max);
+            }
+        }
+    }
+
+    private static String pad(String term) {
+        return WORD_START + term + WORD_END;
+    }
+
+    private static List<String> trigrams(String term) {
+        List<String> trigrams = new ArrayList<>();
+        for (int i = 0; i + 3 <= term.length(); i++) {
+            trigrams.add(term.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    // Edit distance counting adjacent transpositions as one edit (optimal string alignment),
+    // giving up early once every cell in a row exceeds the bound
+    static int editDistance(String a, String b, int bound) {
+        int[] beforePrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    current[j] = Math.min(current[j], beforePrevious[j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > bound) {
+                return bound + 1;
+            }
+            int[] swap = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
@@ -0,0 +1,46 @@
+package com.shirdheen.employee.employee_creator_app_project.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.shirdheen.employee.employee_creator_app_project.event.EmployeeChangedEvent;
+import com.shirdheen.employee.employee_creator_app_project.service.EmployeeService;
+
+// Loads the search index once the app is up and keeps it in sync with committed writes
+@Component
+public class EmployeeSearchIndexer {
+
+    private final EmployeeService employeeService;
+    private final EmployeeSearchIndex searchIndex;
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeSearchIndexer.class);
+
+    public EmployeeSearchIndexer(EmployeeService employeeService, EmployeeSearchIndex searchIndex) {
+        this.employeeService = employeeService;
+        this.searchIndex = searchIndex;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        searchIndex.beginRebuild();
+        employeeService.streamEmployees(searchIndex::addToRebuild);
+        searchIndex.finishRebuild();
+        logger.info("Search index built with {} employees in {} ms", searchIndex.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    @Order(EmployeeChangedEvent.READ_MODEL_ORDER)
+    @TransactionalEventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (event.getType() == EmployeeChangedEvent.Type.DELETED) {
+            searchIndex.remove(event.getId());
+        } else {
+            searchIndex.put(event.getEmployee());
+        }
+    }
+}
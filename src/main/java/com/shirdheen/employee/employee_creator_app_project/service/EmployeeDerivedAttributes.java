@@ -0,0 +1,77 @@
+package com.shirdheen.employee.employee_creator_app_project.service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeDto;
+
+// Rules for the attributes derived from startDate. A request reads the clock once through
+// current() and uses the returned snapshot for every row, so all rows in a response agree
+// even when it is built across midnight.
+@Component
+public class EmployeeDerivedAttributes {
+
+    private static final int PROBATION_MONTHS = 3;
+
+    private final Clock clock;
+
+    public EmployeeDerivedAttributes() {
+        this(Clock.systemDefaultZone());
+    }
+
+    EmployeeDerivedAttributes(Clock clock) {
+        this.clock = clock;
+    }
+
+    public AsOf current() {
+        return asOf(LocalDate.now(clock));
+    }
+
+    public static AsOf asOf(LocalDate date) {
+        return new AsOf(date, firstProbationStartDate(date));
+    }
+
+    // Someone is on probation while fewer than three whole months have passed since they
+    // started. That holds for every start date from some day onwards, so it can be queried as
+    // startDate >= that day. Month-end clamping means it is not always date.minusMonths(3) + 1.
+    private static LocalDate firstProbationStartDate(LocalDate date) {
+        return firstStartDateWithin(date, PROBATION_MONTHS, ChronoUnit.MONTHS);
+    }
+
+    // The earliest start date from which fewer than `amount` whole units have passed by date
+    private static LocalDate firstStartDateWithin(LocalDate date, int amount, ChronoUnit unit) {
+        LocalDate candidate = date.minus(amount, unit);
+        while (unit.between(candidate, date) >= amount) {
+            candidate = candidate.plusDays(1);
+        }
+        return candidate;
+    }
+
+    public record AsOf(LocalDate date, LocalDate probationStartsOnOrAfter) {
+
+        public int anniversaryMonth() {
+            return date.getMonthValue();
+        }
+
+        // Tenure of fewer than `years` whole years, as a startDate >= that day condition
+        public LocalDate tenureBelowStartsOnOrAfter(int years) {
+            return firstStartDateWithin(date, years, ChronoUnit.YEARS);
+        }
+
+        public EmployeeDto apply(EmployeeDto employee) {
+            LocalDate startDate = employee.getStartDate();
+            employee.setOnProbation(startDate != null && !startDate.isBefore(probationStartsOnOrAfter));
+            employee.setHasWorkAnniversary(startDate != null && startDate.getMonthValue() == anniversaryMonth());
+            return employee;
+        }
+
+        public List<EmployeeDto> applyAll(List<EmployeeDto> employees) {
+            employees.forEach(this::apply);
+            return employees;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.shirdheen.employee.employee_creator_app_project.service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import com.shirdheen.employee.employee_creator_app_project.email.EmployeeEmailFilter;
+import com.shirdheen.employee.employee_creator_app_project.event.EmployeeFieldChange;
+import com.shirdheen.employee.employee_creator_app_project.model.ContractType;
+import com.shirdheen.employee.employee_creator_app_project.model.Employee;
+import com.shirdheen.employee.employee_creator_app_project.model.EmploymentType;
+
+// Registry of the fields a PATCH or an import row may set, each bound once to its getter, setter
+// and a converter from the raw JSON/CSV value. Anything not listed here (including id) is rejected.
+public final class EmployeeFieldUpdaters {
+
+    private record FieldUpdater<T>(Function<Employee, T> getter, BiConsumer<Employee, T> setter,
+            Function<Object, T> converter, boolean nullable) {
+
+        // The change it made, or null if the field already had that value
+        EmployeeFieldChange apply(Employee employee, String field, Object value) {
+            T converted = convert(field, value);
+            T previous = getter.apply(employee);
+            setter.accept(employee, converted);
+            return Objects.equals(previous, converted) ? null : new EmployeeFieldChange(field, previous, converted);
+        }
+
+        T convert(String field, Object value) {
+            if (value == null) {
+                if (!nullable) {
+                    throw new IllegalArgumentException("Field '" + field + "' cannot be null");
+                }
+                return null;
+            }
+
+            try {
+                return converter.apply(value);
+            } catch (IllegalArgumentException | DateTimeParseException | ClassCastException e) {
+                throw new IllegalArgumentException("Invalid value for field '" + field + "': " + value);
+            }
+        }
+    }
+
+    private static final Map<String, FieldUpdater<?>> UPDATERS = Map.ofEntries(
+            Map.entry("firstName", new FieldUpdater<>(Employee::getFirstName, Employee::setFirstName,
+                    String.class::cast, true)),
+            Map.entry("middleName", new FieldUpdater<>(Employee::getMiddleName, Employee::setMiddleName,
+                    String.class::cast, true)),
+            Map.entry("lastName", new FieldUpdater<>(Employee::getLastName, Employee::setLastName,
+                    String.class::cast, true)),
+            Map.entry("email", new FieldUpdater<>(Employee::getEmail, Employee::setEmail,
+                    value -> EmployeeEmailFilter.normalize((String) value), true)),
+            Map.entry("mobileNumber", new FieldUpdater<>(Employee::getMobileNumber, Employee::setMobileNumber,
+                    String.class::cast, true)),
+            Map.entry("residentialAddress", new FieldUpdater<>(Employee::getResidentialAddress,
+                    Employee::setResidentialAddress, String.class::cast, true)),
+            Map.entry("contractType", new FieldUpdater<>(Employee::getContractType, Employee::setContractType,
+                    value -> ContractType.valueOf((String) value), true)),
+            Map.entry("employmentType", new FieldUpdater<>(Employee::getEmploymentType, Employee::setEmploymentType,
+                    value -> EmploymentType.valueOf((String) value), true)),
+            Map.entry("startDate", new FieldUpdater<>(Employee::getStartDate, Employee::setStartDate,
+                    value -> LocalDate.parse((String) value), true)),
+            Map.entry("finishDate", new FieldUpdater<>(Employee::getFinishDate, Employee::setFinishDate,
+                    value -> LocalDate.parse((String) value), true)),
+            Map.entry("ongoing", new FieldUpdater<>(Employee::isOngoing, Employee::setOngoing,
+                    EmployeeFieldUpdaters::toBoolean, false)),
+            Map.entry("salary", new FieldUpdater<>(Employee::getSalary, Employee::setSalary,
+                    EmployeeFieldUpdaters::toDouble, true)),
+            Map.entry("hoursPerWeek", new FieldUpdater<>(Employee::getHoursPerWeek, Employee::setHoursPerWeek,
+                    EmployeeFieldUpdaters::toInteger, true)));
+
+    private EmployeeFieldUpdaters() {
+    }
+
+    // Rejects the whole update before anything is changed if any key is not patchable
+    public static void checkFields(Iterable<String> fields) {
+        for (String field : fields) {
+            if (!UPDATERS.containsKey(field)) {
+                if ("id".equals(field) || "version".equals(field)) {
+                    throw new IllegalArgumentException("Field '" + field + "' cannot be updated.");
+                }
+                throw new IllegalArgumentException("Field '" + field + "' not found in Employee entity.");
+            }
+        }
+    }
+
+    // Returns the fields whose value actually changed, for the audit log. Callers have already
+    // run checkFields (or convert) on the keys, so they are not checked a second time here.
+    public static List<EmployeeFieldChange> apply(Employee employee, Map<String, Object> updates) {
+        List<EmployeeFieldChange> changes = new ArrayList<>(updates.size());
+        updates.forEach((field, value) -> {
+            EmployeeFieldChange change = UPDATERS.get(field).apply(employee, field, value);
+            if (change != null) {
+                changes.add(change);
+            }
+        });
+        return changes;
+    }
+
+    // The changes setting already converted values would make, without touching the entity
+    public static List<EmployeeFieldChange> diff(Employee employee, Map<String, Object> values) {
+        List<EmployeeFieldChange> changes = new ArrayList<>(values.size());
+        values.forEach((field, value) -> {
+            Object previous = UPDATERS.get(field).getter().apply(employee);
+            if (!Objects.equals(previous, value)) {
+                changes.add(new EmployeeFieldChange(field, previous, value));
+            }
+        });
+        return changes;
+    }
+
+    // The typed value a field would be set to, without touching an entity
+    public static Object convert(String field, Object value) {
+        checkFields(List.of(field));
+        return UPDATERS.get(field).convert(field, value);
+    }
+
+    private static Boolean toBoolean(Object value) {
+        if (value instanceof Boolean bool) {
+            return bool;
+        }
+        String text = (String) value;
+        if (!"true".equalsIgnoreCase(text) && !"false".equalsIgnoreCase(text)) {
+            throw new IllegalArgumentException("Not a boolean: " + text);
+        }
+        return Boolean.parseBoolean(text);
+    }
+
+    private static Double toDouble(Object value) {
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        return Double.parseDouble((String) value);
+    }
+
+    private static Integer toInteger(Object value) {
+        if (value instanceof Number number) {
+            return number.intValue();
+        }
+        return Integer.parseInt((String) value);
+    }
+}
@@ -1,74 +1,360 @@
 package com.shirdheen.employee.employee_creator_app_project.service;
 
-import java.lang.reflect.Field;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
 
-import org.springframework.data.domain.Sort;
-import org.springframework.data.util.ReflectionUtils;
+import org.hibernate.exception.ConstraintViolationException.ConstraintKind;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.shirdheen.employee.employee_creator_app_project.cache.EmployeeCache;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeBatchResultDto;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeBatchUpdateDto;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeBulkUpdateDto;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeCursor;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeDto;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeePageFilterDto;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeStatsDto;
+import com.shirdheen.employee.employee_creator_app_project.email.EmployeeEmailFilter;
+import com.shirdheen.employee.employee_creator_app_project.event.EmployeeChangedEvent;
+import com.shirdheen.employee.employee_creator_app_project.event.EmployeeFieldChange;
+import com.shirdheen.employee.employee_creator_app_project.exception.DuplicateEmailException;
+import com.shirdheen.employee.employee_creator_app_project.exception.PreconditionFailedException;
 import com.shirdheen.employee.employee_creator_app_project.model.ContractType;
 import com.shirdheen.employee.employee_creator_app_project.model.Employee;
 import com.shirdheen.employee.employee_creator_app_project.model.EmploymentType;
+import com.shirdheen.employee.employee_creator_app_project.replica.EmployeeReplica;
+import com.shirdheen.employee.employee_creator_app_project.repository.EmployeeCriteria;
+import com.shirdheen.employee.employee_creator_app_project.repository.EmployeeGroupTotals;
 import com.shirdheen.employee.employee_creator_app_project.repository.EmployeeRepository;
+import com.shirdheen.employee.employee_creator_app_project.search.EmployeeSearchIndex;
+import com.shirdheen.employee.employee_creator_app_project.stats.EmployeeStatsRollup;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.transaction.Transactional;
 import jakarta.validation.ConstraintViolationException;
 
+// Reads run in read-only transactions: Hibernate skips dirty checking and flushing, and the
+// driver can route them as read-only. Only the write methods open read-write transactions.
+//
+// In replica mode (employee.replica.enabled) the list, filter, lookup and search reads are
+// served from EmployeeReplica once it has loaded. Those methods only join a transaction rather
+// than start one, so they don't even borrow a connection; their database fallbacks run in
+// the repository's own transactions.
 @Service
-@Transactional
+@Transactional(readOnly = true)
 public class EmployeeService {
 
+    // Fields whose rules depend on the rest of the row (startDate not after finishDate) or on
+    // other rows (unique email) can't go through a blind bulk UPDATE; they are still allowed in
+    // a batch PATCH, which checks each employee
+    private static final Set<String> NON_BULK_FIELDS = Set.of("email", "startDate", "finishDate");
+    // Rows per round trip for filtered streams, as for the unfiltered one in EmployeeRepository
+    private static final int STREAM_FETCH_SIZE = 500;
+
     private final EmployeeRepository employeeRepository;
     private final Validator validator;
-
-    public EmployeeService(EmployeeRepository employeeRepository, Validator validator) {
+    private final EmployeeSearchIndex searchIndex;
+    private final EmployeeCache employeeCache;
+    private final EmployeeStatsRollup statsRollup;
+    private final EmployeeEmailFilter emailFilter;
+    private final EmployeeReplica replica;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Timer validationTimer;
+    private final Counter emailChecksSkipped;
+    private final Counter emailChecksQueried;
+
+    @Value("${employee.batch.max-size:5000}")
+    private int maxBatchSize;
+
+    public EmployeeService(EmployeeRepository employeeRepository, Validator validator,
+            EmployeeSearchIndex searchIndex, EmployeeCache employeeCache, EmployeeStatsRollup statsRollup,
+            EmployeeEmailFilter emailFilter, EmployeeReplica replica, ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
         this.employeeRepository = employeeRepository;
         this.validator = validator;
+        this.searchIndex = searchIndex;
+        this.employeeCache = employeeCache;
+        this.statsRollup = statsRollup;
+        this.emailFilter = emailFilter;
+        this.replica = replica;
+        this.eventPublisher = eventPublisher;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.validationTimer = Timer.builder("employee.validation").tag("operation", "update")
+                .register(meterRegistry);
+        this.emailChecksSkipped = Counter.builder("employee.email.checks").tag("result", "filtered")
+                .register(meterRegistry);
+        this.emailChecksQueried = Counter.builder("employee.email.checks").tag("result", "queried")
+                .register(meterRegistry);
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public long countEmployees() {
+        if (replica.isReady()) {
+            return replica.size();
+        }
+        return employeeRepository.count();
     }
 
-    public List<Employee> getAllEmployees() {
-        return employeeRepository.findAll(Sort.by(Sort.Direction.ASC, "lastName"));
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<EmployeeDto> getAllEmployees() {
+        if (replica.isReady()) {
+            return replica.findAll();
+        }
+        return employeeRepository.findAllDtos();
+    }
+
+    // Always the database, for loading the replica
+    public List<EmployeeDto> getAllEmployeesFromDatabase() {
+        return employeeRepository.findAllDtos();
+    }
+
+    // Keyset page of the matching employees in (lastName, id) order; a null cursor starts from the
+    // beginning
+    public List<EmployeeDto> getEmployeesAfter(EmployeePageFilterDto filter, EmployeeCursor cursor, int limit,
+            EmployeeDerivedAttributes.AsOf asOf) {
+        return employeeRepository.findDtoPage(criteria(filter, asOf), cursor, limit);
+    }
+
+    // Hands every matching employee to the consumer in (lastName, id) order over one cursor, so
+    // memory use does not grow with the number of rows
+    public void streamEmployees(EmployeePageFilterDto filter, EmployeeDerivedAttributes.AsOf asOf,
+            Consumer<EmployeeDto> consumer) {
+        try (Stream<EmployeeDto> employees = employeeRepository.streamDtos(criteria(filter, asOf), STREAM_FETCH_SIZE)) {
+            employees.forEach(consumer);
+        }
+    }
+
+    // Tenure bounds become startDate bounds for asOf's date
+    private static EmployeeCriteria criteria(EmployeePageFilterDto filter, EmployeeDerivedAttributes.AsOf asOf) {
+        LocalDate startDateFrom = filter.getStartDateFrom();
+        LocalDate startDateBefore = filter.getStartDateBefore();
+        if (filter.getMinTenureYears() != null) {
+            startDateBefore = earlier(startDateBefore, asOf.tenureBelowStartsOnOrAfter(filter.getMinTenureYears()));
+        }
+        if (filter.getMaxTenureYears() != null) {
+            startDateFrom = later(startDateFrom, asOf.tenureBelowStartsOnOrAfter(filter.getMaxTenureYears() + 1));
+        }
+
+        return EmployeeCriteria.builder()
+                .employmentType(filter.getEmploymentType())
+                .contractType(filter.getContractType())
+                .ongoing(filter.getOngoing())
+                .startDateFrom(startDateFrom)
+                .startDateBefore(startDateBefore)
+                .finishDateFrom(filter.getFinishDateFrom())
+                .finishDateBefore(filter.getFinishDateBefore())
+                .startOrFinishFrom(filter.getStartOrFinishFrom())
+                .startOrFinishBefore(filter.getStartOrFinishBefore())
+                .build();
     }
 
-    public Employee getEmployeeById(Long id) {
-        return employeeRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Employee not found with id: " + id));
+    private static LocalDate earlier(LocalDate bound, LocalDate other) {
+        return bound == null || other.isBefore(bound) ? other : bound;
+    }
+
+    private static LocalDate later(LocalDate bound, LocalDate other) {
+        return bound == null || other.isAfter(bound) ? other : bound;
+    }
+
+    // Hands every employee to the consumer in (lastName, id) order. Rows are projected
+    // straight into DTOs, so nothing accumulates in the persistence context.
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void streamEmployees(Consumer<EmployeeDto> consumer) {
+        if (replica.isReady()) {
+            replica.forEach(consumer);
+            return;
+        }
+        // The cursor needs a transaction around it
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<EmployeeDto> employees = employeeRepository.streamAllDtos()) {
+                employees.forEach(consumer);
+            }
+        });
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public EmployeeDto getEmployeeById(Long id) {
+        if (replica.isReady()) {
+            EmployeeDto employee = replica.findById(id);
+            if (employee == null) {
+                throw new EntityNotFoundException("Employee not found with id: " + id);
+            }
+            return employee;
+        }
+        return employeeCache.getById(id, () -> employeeRepository.findDtoById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Employee not found with id: " + id)));
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<EmployeeDto> filterEmployees(EmploymentType employmentType, ContractType contractType) {
+        if (replica.isReady()) {
+            return replica.filter(employmentType, contractType, employee -> true);
+        }
+        return employeeCache.getFiltered(employmentType, contractType,
+                () -> queryFilter(employmentType, contractType), employeeRepository::findDtosByIdIn);
+    }
+
+    // Filters on the derived attributes are turned into startDate ranges for the given date,
+    // so the database does the filtering instead of loading everyone and checking each row
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<EmployeeDto> filterEmployees(EmploymentType employmentType, ContractType contractType,
+            Boolean onProbation, Integer anniversaryMonth, EmployeeDerivedAttributes.AsOf asOf) {
+        if (onProbation == null && anniversaryMonth == null) {
+            return filterEmployees(employmentType, contractType);
+        }
+        if (anniversaryMonth != null && (anniversaryMonth < 1 || anniversaryMonth > 12)) {
+            throw new IllegalArgumentException("Anniversary month must be between 1 and 12");
+        }
+
+        if (replica.isReady()) {
+            return replica.filter(employmentType, contractType, employee -> {
+                LocalDate startDate = employee.getStartDate();
+                return (onProbation == null || onProbation == !startDate.isBefore(asOf.probationStartsOnOrAfter()))
+                        && (anniversaryMonth == null || startDate.getMonthValue() == anniversaryMonth);
+            });
+        }
+
+        EmployeeCriteria.EmployeeCriteriaBuilder criteria = EmployeeCriteria.builder()
+                .employmentType(employmentType)
+                .contractType(contractType)
+                .startMonth(anniversaryMonth);
+        if (Boolean.TRUE.equals(onProbation)) {
+            criteria.startDateFrom(asOf.probationStartsOnOrAfter());
+        } else if (Boolean.FALSE.equals(onProbation)) {
+            criteria.startDateBefore(asOf.probationStartsOnOrAfter());
+        }
+        return employeeRepository.findDtos(criteria.build());
     }
 
-    public List<Employee> filterEmployees(EmploymentType employmentType, ContractType contractType) {
+    private List<EmployeeDto> queryFilter(EmploymentType employmentType, ContractType contractType) {
         if (employmentType != null && contractType != null) {
-            return employeeRepository.findByEmploymentTypeAndContractType(employmentType, contractType);
+            return employeeRepository.findDtosByEmploymentTypeAndContractType(employmentType, contractType);
         } else if (employmentType != null) {
-            return employeeRepository.findByEmploymentType(employmentType);
+            return employeeRepository.findDtosByEmploymentType(employmentType);
         } else if (contractType != null) {
-            return employeeRepository.findByContractType(contractType);
+            return employeeRepository.findDtosByContractType(contractType);
         } else {
             return getAllEmployees();
         }
     }
 
-    public List<Employee> searchEmployees(String keyword) {
-        return employeeRepository.searchEmployees(keyword.toLowerCase());
+    // Served from the in-memory index; falls back to the LIKE query until the index has been built
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<EmployeeDto> searchEmployees(String keyword, int limit) {
+        if (replica.isReady()) {
+            return searchIndex.isReady() ? replica.findAllById(searchIndex.search(keyword, limit))
+                    : replica.search(keyword, limit);
+        }
+        if (!searchIndex.isReady()) {
+            return employeeRepository.searchEmployees(keyword.toLowerCase()).stream().limit(limit).toList();
+        }
+
+        List<Long> rankedIds = searchIndex.search(keyword, limit);
+        Map<Long, EmployeeDto> employeesById = employeeRepository.findDtosByIdIn(rankedIds).stream()
+                .collect(Collectors.toMap(EmployeeDto::getId, Function.identity()));
+        return rankedIds.stream().map(employeesById::get).filter(Objects::nonNull).toList();
     }
 
+    // Served from the in-memory rollup; until it has been built the totals come from a GROUP BY
+    // query and the percentiles are left out
+    public List<EmployeeStatsDto> getStatistics(List<String> groupBy) {
+        boolean byEmploymentType = false;
+        boolean byContractType = false;
+        for (String field : groupBy) {
+            switch (field) {
+                case "employmentType" -> byEmploymentType = true;
+                case "contractType" -> byContractType = true;
+                default -> throw new IllegalArgumentException(
+                        "Cannot group by '" + field + "'. Use employmentType and/or contractType.");
+            }
+        }
+
+        if (statsRollup.isReady()) {
+            return statsRollup.summarize(byEmploymentType, byContractType);
+        }
+        return summarize(employeeRepository.findGroupTotals(), byEmploymentType, byContractType);
+    }
+
+    private static List<EmployeeStatsDto> summarize(List<EmployeeGroupTotals> totals, boolean byEmploymentType,
+            boolean byContractType) {
+        record Group(EmploymentType employmentType, ContractType contractType) {
+        }
+
+        Map<Group, List<EmployeeGroupTotals>> groups = totals.stream()
+                .collect(Collectors.groupingBy(row -> new Group(
+                        byEmploymentType ? row.getEmploymentType() : null,
+                        byContractType ? row.getContractType() : null),
+                        LinkedHashMap::new, Collectors.toList()));
+
+        return groups.entrySet().stream().map(entry -> {
+            long headcount = 0;
+            double totalSalary = 0;
+            long totalHours = 0;
+            for (EmployeeGroupTotals row : entry.getValue()) {
+                headcount += row.getHeadcount();
+                totalSalary += row.getTotalSalary() == null ? 0 : row.getTotalSalary();
+                totalHours += row.getTotalHoursPerWeek() == null ? 0 : row.getTotalHoursPerWeek();
+            }
+            return new EmployeeStatsDto(entry.getKey().employmentType(), entry.getKey().contractType(), headcount,
+                    totalSalary, Math.round(totalSalary * 100 / headcount) / 100.0, totalHours, null, null, null);
+        }).toList();
+    }
+
+    @Transactional
     public Employee createEmployee(Employee employee) {
-        if (employeeRepository.existsByEmail(employee.getEmail())) {
-            throw new IllegalStateException("Email already in use: " + employee.getEmail());
+        if (employee.getEmail() != null) {
+            employee.setEmail(EmployeeEmailFilter.normalize(employee.getEmail()));
         }
+        checkEmailAvailable(employee.getEmail());
 
-        if (employee.getFinishDate() != null && employee.getStartDate().isAfter(employee.getFinishDate())) {
-            throw new IllegalArgumentException("Start date must be before finish date");
+        String datesProblem = checkDates(employee.getStartDate(), employee.getFinishDate());
+        if (datesProblem != null) {
+            throw new IllegalArgumentException(datesProblem);
         }
-        return employeeRepository.save(employee);
+
+        Employee savedEmployee = save(employee, true);
+        eventPublisher.publishEvent(
+                new EmployeeChangedEvent(EmployeeChangedEvent.Type.CREATED, savedEmployee.getId(), savedEmployee));
+        return savedEmployee;
     }
 
+    @Transactional
     public Employee updateEmployee(Long id, Map<String, Object> updates) {
+        return updateEmployee(id, updates, null);
+    }
+
+    // expectedVersion comes from If-Match; null skips the check. Either way the @Version
+    // column stops a concurrent update from being overwritten.
+    @Transactional
+    public Employee updateEmployee(Long id, Map<String, Object> updates, Long expectedVersion) {
+        EmployeeFieldUpdaters.checkFields(updates.keySet());
+
         Optional<Employee> optionalEmployee = employeeRepository.findById(id);
 
         if (optionalEmployee.isEmpty()) {
@@ -76,72 +362,44 @@ public class EmployeeService {
         }
 
         Employee existingEmployee = optionalEmployee.get();
+        checkVersion(existingEmployee, expectedVersion);
 
-        // Looping through provided fields and update them dynamically
-        updates.forEach((key, value) -> {
-            try {
-                Field field = Employee.class.getDeclaredField(key);
-                field.setAccessible(true);
-
-                Class<?> fieldType = field.getType();
-
-                Object convertedValue = value;
-                
-                // Convert enums
-                if (fieldType.isEnum() && value instanceof String) {
-                    @SuppressWarnings("unchecked")
-                    Class<? extends Enum<?>> enumClass = (Class<? extends Enum<?>>) fieldType;
-                    @SuppressWarnings("unchecked")
-                    Object enumValue  = Enum.valueOf(enumClass.asSubclass(Enum.class), value.toString());
-                    convertedValue = enumValue;
-                }
-
-                // Convert LocalDate
-                if (fieldType.equals(LocalDate.class) && value instanceof String) {
-                    convertedValue = LocalDate.parse(value.toString());
-                }
-
-                // Convert Integer
-                if ((fieldType.equals(Integer.class) || fieldType.equals(int.class))) {
-                    if (value instanceof Number) {
-                        convertedValue = ((Number) value).intValue();
-                    } else if (value instanceof String) {
-                        convertedValue = Integer.parseInt((String) value);
-                    }
-                }
-
-                if ((fieldType.equals(Double.class) || fieldType.equals(double.class))) {
-                    if (value instanceof Number) {
-                        convertedValue = ((Number) value).doubleValue();
-                    } else if (value instanceof String) {
-                        convertedValue = Double.parseDouble((String) value);
-                    } else {
-                        throw new RuntimeException("Unsupported type for salary: " + value.getClass().getName());
-                    }
-                }
-
-                if ((fieldType.equals(Boolean.class) || fieldType.equals(boolean.class)) && value instanceof Boolean) {
-                    convertedValue = value;
-                }
+        String previousEmail = existingEmployee.getEmail();
+        List<EmployeeFieldChange> changes = EmployeeFieldUpdaters.apply(existingEmployee, updates);
 
-                ReflectionUtils.setField(field, existingEmployee, convertedValue);
-
-            } catch (NoSuchFieldException e) {
-                throw new IllegalArgumentException("Field '" + key + "' not found in Employee entity.");
-            } catch (IllegalArgumentException e) {
-                throw new RuntimeException("Failed to update field: " + key, e);
+        // Only the properties that were touched can have become invalid
+        Set<ConstraintViolation<Employee>> violations = new HashSet<>();
+        validationTimer.record(() -> {
+            for (String field : updates.keySet()) {
+                violations.addAll(validator.validateProperty(existingEmployee, field));
             }
         });
-
-        var violations = validator.validate(existingEmployee);
         if (!violations.isEmpty()) {
             throw new ConstraintViolationException("Validation failed during update", violations);
         }
+        String datesProblem = checkDates(existingEmployee.getStartDate(), existingEmployee.getFinishDate());
+        if (datesProblem != null) {
+            throw new IllegalArgumentException(datesProblem);
+        }
+
+        boolean emailChanged = !Objects.equals(previousEmail, existingEmployee.getEmail());
+        if (emailChanged) {
+            checkEmailAvailable(existingEmployee.getEmail());
+        }
 
-        return employeeRepository.save(existingEmployee);
+        Employee savedEmployee = save(existingEmployee, emailChanged);
+        eventPublisher.publishEvent(
+                new EmployeeChangedEvent(EmployeeChangedEvent.Type.UPDATED, id, savedEmployee, changes));
+        return savedEmployee;
     }
 
+    @Transactional
     public void deleteEmployee(Long id) {
+        deleteEmployee(id, null);
+    }
+
+    @Transactional
+    public void deleteEmployee(Long id, Long expectedVersion) {
         Optional<Employee> optionalEmployee = employeeRepository.findById(id);
 
         if (optionalEmployee.isEmpty()) {
@@ -149,11 +407,292 @@ public class EmployeeService {
         }
 
         Employee employee = optionalEmployee.get();
+        checkVersion(employee, expectedVersion);
 
         if (employee.isOngoing()) {
             throw new IllegalStateException("Cannot delete an ongoing employee");
         }
 
         employeeRepository.deleteById(id);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(EmployeeChangedEvent.Type.DELETED, id, employee));
+    }
+
+    // Every target is loaded with one IN query and each item is converted and validated before
+    // anything is changed, so a bad item is reported without dirtying its entity. The accepted
+    // changes are flushed by dirty checking at commit, which Hibernate sends as JDBC batches.
+    @Transactional
+    public EmployeeBatchResultDto updateEmployees(List<EmployeeBatchUpdateDto> items) {
+        checkBatchSize(items.size());
+        Map<Long, Employee> employees = findAllById(items.stream().map(EmployeeBatchUpdateDto::getId).toList());
+
+        record Accepted(Employee employee, Map<String, Object> updates) {
+        }
+
+        List<EmployeeBatchResultDto.Item> results = new ArrayList<>(items.size());
+        Map<Integer, Accepted> accepted = new LinkedHashMap<>();
+        Map<String, Integer> changedEmails = new HashMap<>();
+        Set<Long> seen = new HashSet<>();
+
+        for (EmployeeBatchUpdateDto item : items) {
+            Long id = item.getId();
+            Map<String, Object> updates = item.getUpdates() == null ? Map.of() : item.getUpdates();
+            Employee employee = id == null ? null : employees.get(id);
+            String problem = null;
+            EmployeeBatchResultDto.Status status = EmployeeBatchResultDto.Status.INVALID;
+
+            if (id == null) {
+                problem = "Missing employee id";
+            } else if (!seen.add(id)) {
+                problem = "Employee appears more than once in the batch: " + id;
+            } else if (employee == null) {
+                status = EmployeeBatchResultDto.Status.NOT_FOUND;
+                problem = "Employee not found with id: " + id;
+            } else if (item.getVersion() != null && !item.getVersion().equals(employee.getVersion())) {
+                status = EmployeeBatchResultDto.Status.CONFLICT;
+                problem = versionMismatch(employee, item.getVersion());
+            } else {
+                problem = checkValues(updates);
+                if (problem == null) {
+                    problem = checkDates(employee, updates);
+                }
+            }
+
+            if (problem == null && updates.get("email") instanceof String email
+                    && !EmployeeEmailFilter.normalize(email).equals(employee.getEmail())
+                    && changedEmails.putIfAbsent(EmployeeEmailFilter.normalize(email), results.size()) != null) {
+                status = EmployeeBatchResultDto.Status.CONFLICT;
+                problem = "Email appears more than once in the batch: " + email;
+            }
+
+            if (problem == null) {
+                accepted.put(results.size(), new Accepted(employee, updates));
+                results.add(new EmployeeBatchResultDto.Item(id, EmployeeBatchResultDto.Status.UPDATED, null));
+            } else {
+                results.add(new EmployeeBatchResultDto.Item(id, status, problem));
+            }
+        }
+
+        // One lookup for the changed emails the filter can't rule out; the unique constraint still
+        // guards against concurrent writers between here and the commit
+        List<String> maybeTaken = changedEmails.keySet().stream().filter(emailFilter::mightContain).toList();
+        if (!maybeTaken.isEmpty()) {
+            for (String taken : employeeRepository.findExistingEmails(maybeTaken)) {
+                Integer index = changedEmails.get(EmployeeEmailFilter.normalize(taken));
+                if (index != null && accepted.remove(index) != null) {
+                    results.set(index, new EmployeeBatchResultDto.Item(results.get(index).getId(),
+                            EmployeeBatchResultDto.Status.CONFLICT, "Email already in use: " + taken));
+                }
+            }
+        }
+
+        for (Accepted item : accepted.values()) {
+            List<EmployeeFieldChange> changes = EmployeeFieldUpdaters.apply(item.employee(), item.updates());
+            eventPublisher.publishEvent(new EmployeeChangedEvent(EmployeeChangedEvent.Type.UPDATED,
+                    item.employee().getId(), item.employee(), changes));
+        }
+        return EmployeeBatchResultDto.of(results);
+    }
+
+    // The same values for every listed employee, written with a single UPDATE statement
+    @Transactional
+    public EmployeeBatchResultDto bulkUpdateEmployees(EmployeeBulkUpdateDto request) {
+        if (request.getIds() == null || request.getIds().isEmpty()) {
+            throw new IllegalArgumentException("No employee ids given");
+        }
+        if (request.getUpdates() == null || request.getUpdates().isEmpty()) {
+            throw new IllegalArgumentException("No updates given");
+        }
+        List<Long> ids = request.getIds().stream().filter(Objects::nonNull).distinct().toList();
+        checkBatchSize(ids.size());
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        Set<ConstraintViolation<Employee>> violations = new HashSet<>();
+        request.getUpdates().forEach((field, value) -> {
+            if (NON_BULK_FIELDS.contains(field)) {
+                throw new IllegalArgumentException(
+                        "Field '" + field + "' cannot be set in a bulk update; use a batch PATCH instead.");
+            }
+            Object converted = EmployeeFieldUpdaters.convert(field, value);
+            violations.addAll(validator.validateValue(Employee.class, field, converted));
+            values.put(field, converted);
+        });
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException("Validation failed during bulk update", violations);
+        }
+
+        // The old values for the audit log; the UPDATE itself never reads them
+        Map<Long, List<EmployeeFieldChange>> changes = new HashMap<>();
+        findAllById(ids).forEach((id, employee) -> changes.put(id, EmployeeFieldUpdaters.diff(employee, values)));
+
+        employeeRepository.bulkUpdate(ids, values);
+
+        // Reload so listeners get the same events as single updates, and to find the missing ids
+        Map<Long, Employee> updated = findAllById(ids);
+        updated.forEach((id, employee) -> eventPublisher.publishEvent(new EmployeeChangedEvent(
+                EmployeeChangedEvent.Type.UPDATED, id, employee, changes.getOrDefault(id, List.of()))));
+
+        return EmployeeBatchResultDto.of(ids.stream()
+                .map(id -> updated.containsKey(id)
+                        ? new EmployeeBatchResultDto.Item(id, EmployeeBatchResultDto.Status.UPDATED, null)
+                        : new EmployeeBatchResultDto.Item(id, EmployeeBatchResultDto.Status.NOT_FOUND,
+                                "Employee not found with id: " + id))
+                .toList());
+    }
+
+    // Same rule as a single delete: ongoing employees are rejected. The rest go in one DELETE.
+    @Transactional
+    public EmployeeBatchResultDto deleteEmployees(List<Long> ids) {
+        checkBatchSize(ids.size());
+        Map<Long, Employee> employees = findAllById(ids);
+
+        List<EmployeeBatchResultDto.Item> results = new ArrayList<>(ids.size());
+        List<Employee> deletable = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (Long id : ids) {
+            Employee employee = id == null ? null : employees.get(id);
+            if (id == null) {
+                results.add(new EmployeeBatchResultDto.Item(null, EmployeeBatchResultDto.Status.INVALID,
+                        "Missing employee id"));
+            } else if (!seen.add(id)) {
+                results.add(new EmployeeBatchResultDto.Item(id, EmployeeBatchResultDto.Status.INVALID,
+                        "Employee appears more than once in the batch: " + id));
+            } else if (employee == null) {
+                results.add(new EmployeeBatchResultDto.Item(id, EmployeeBatchResultDto.Status.NOT_FOUND,
+                        "Cannot delete. Employee not found with id: " + id));
+            } else if (employee.isOngoing()) {
+                results.add(new EmployeeBatchResultDto.Item(id, EmployeeBatchResultDto.Status.REJECTED,
+                        "Cannot delete an ongoing employee"));
+            } else {
+                deletable.add(employee);
+                results.add(new EmployeeBatchResultDto.Item(id, EmployeeBatchResultDto.Status.DELETED, null));
+            }
+        }
+
+        if (!deletable.isEmpty()) {
+            // The DELETE repeats the checks above against the version that was read, so a row
+            // updated (or made ongoing) by a concurrent writer since is left alone and reported
+            Map<Long, Long> versions = new HashMap<>();
+            deletable.forEach(employee -> versions.put(employee.getId(), employee.getVersion()));
+            int deleted = employeeRepository.deleteUnchanged(versions);
+            Set<Long> changed = deleted == deletable.size() ? Set.of()
+                    : findAllById(List.copyOf(versions.keySet())).keySet();
+
+            for (int i = 0; i < results.size(); i++) {
+                Long id = results.get(i).getId();
+                if (changed.contains(id) && results.get(i).getStatus() == EmployeeBatchResultDto.Status.DELETED) {
+                    results.set(i, new EmployeeBatchResultDto.Item(id, EmployeeBatchResultDto.Status.CONFLICT,
+                            "Employee " + id + " was changed by another request; reload and try again"));
+                }
+            }
+            for (Employee employee : deletable) {
+                if (!changed.contains(employee.getId())) {
+                    eventPublisher.publishEvent(
+                            new EmployeeChangedEvent(EmployeeChangedEvent.Type.DELETED, employee.getId(), employee));
+                }
+            }
+        }
+        return EmployeeBatchResultDto.of(results);
+    }
+
+    // The filter answers the common "definitely new" case without a query; a "maybe" (a real
+    // duplicate or a false positive) is settled by the replica's email index or the database
+    private void checkEmailAvailable(String email) {
+        if (email == null) {
+            return;
+        }
+        if (!emailFilter.mightContain(email)) {
+            emailChecksSkipped.increment();
+            return;
+        }
+        if (replica.isReady()) {
+            if (replica.containsEmail(email)) {
+                throw new DuplicateEmailException(email);
+            }
+            return;
+        }
+        emailChecksQueried.increment();
+        if (employeeRepository.existsByEmail(email)) {
+            throw new DuplicateEmailException(email);
+        }
+    }
+
+    // Two concurrent writes of the same email can both pass the check. The loser hits the unique
+    // constraint, flushed here so it surfaces as the same 409 rather than as an error at commit.
+    private Employee save(Employee employee, boolean newEmail) {
+        if (!newEmail) {
+            return employeeRepository.save(employee);
+        }
+        try {
+            return employeeRepository.saveAndFlush(employee);
+        } catch (DataIntegrityViolationException e) {
+            if (e.getCause() instanceof org.hibernate.exception.ConstraintViolationException violation
+                    && violation.getKind() == ConstraintKind.UNIQUE) {
+                throw new DuplicateEmailException(employee.getEmail());
+            }
+            throw e;
+        }
+    }
+
+    private static void checkVersion(Employee employee, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(employee.getVersion())) {
+            throw new PreconditionFailedException(versionMismatch(employee, expectedVersion));
+        }
+    }
+
+    private static String versionMismatch(Employee employee, Long expectedVersion) {
+        return "Employee " + employee.getId() + " is at version " + employee.getVersion() + ", not "
+                + expectedVersion;
+    }
+
+    private void checkBatchSize(int size) {
+        if (size == 0) {
+            throw new IllegalArgumentException("Batch is empty");
+        }
+        if (size > maxBatchSize) {
+            throw new IllegalArgumentException("Batch size must not exceed " + maxBatchSize);
+        }
+    }
+
+    private Map<Long, Employee> findAllById(List<Long> ids) {
+        return employeeRepository.findAllById(ids.stream().filter(Objects::nonNull).distinct().toList()).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+    }
+
+    // The dates the employee would have once the (already checked) updates are applied
+    private static String checkDates(Employee employee, Map<String, Object> updates) {
+        LocalDate startDate = updates.containsKey("startDate")
+                ? (LocalDate) EmployeeFieldUpdaters.convert("startDate", updates.get("startDate"))
+                : employee.getStartDate();
+        LocalDate finishDate = updates.containsKey("finishDate")
+                ? (LocalDate) EmployeeFieldUpdaters.convert("finishDate", updates.get("finishDate"))
+                : employee.getFinishDate();
+        return checkDates(startDate, finishDate);
+    }
+
+    private static String checkDates(LocalDate startDate, LocalDate finishDate) {
+        if (startDate != null && finishDate != null && startDate.isAfter(finishDate)) {
+            return "Start date must be before finish date";
+        }
+        return null;
+    }
+
+    // Converts and validates each value without touching the entity; null if they are all fine
+    private String checkValues(Map<String, Object> updates) {
+        Set<ConstraintViolation<Employee>> violations = new HashSet<>();
+        try {
+            for (Map.Entry<String, Object> update : updates.entrySet()) {
+                Object converted = EmployeeFieldUpdaters.convert(update.getKey(), update.getValue());
+                violations.addAll(validator.validateValue(Employee.class, update.getKey(), converted));
+            }
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
     }
 }
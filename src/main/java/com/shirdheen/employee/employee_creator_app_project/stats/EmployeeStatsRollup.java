@@ -0,0 +1,269 @@
+package com.shirdheen.employee.employee_creator_app_project.stats;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeDto;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeStatsDto;
+import com.shirdheen.employee.employee_creator_app_project.model.ContractType;
+import com.shirdheen.employee.employee_creator_app_project.model.Employee;
+import com.shirdheen.employee.employee_creator_app_project.model.EmploymentType;
+
+// Headcount and payroll totals per employmentType x contractType, maintained incrementally.
+// Each employee's last contribution is remembered, so an update subtracts the old values
+// before adding the new ones and a delete only needs the id.
+//
+// Salaries also go into a log-scale histogram per cell. Percentiles are read from the
+// histogram, so a summary costs the same whether there are ten employees or ten million.
+@Component
+public class EmployeeStatsRollup {
+
+    // Each bucket is 1% wider than the previous one; reporting the bucket midpoint keeps
+    // percentiles within 0.5% of the true value
+    private static final double BUCKET_GROWTH = 1.01;
+    private static final double LOG_GROWTH = Math.log(BUCKET_GROWTH);
+    // Covers salaries up to about 10^9; anything larger lands in the last bucket
+    private static final int BUCKETS = 2100;
+
+    private static final EmploymentType[] EMPLOYMENT_TYPES = EmploymentType.values();
+    private static final ContractType[] CONTRACT_TYPES = ContractType.values();
+
+    private record Contribution(EmploymentType employmentType, ContractType contractType, long salaryCents,
+            int salaryBucket, int hoursPerWeek) {
+    }
+
+    private static final class Cell {
+        long headcount;
+        long salaryCents;
+        long hoursPerWeek;
+        final long[] salaryBuckets = new long[BUCKETS];
+
+        void add(Contribution contribution, int sign) {
+            headcount += sign;
+            salaryCents += sign * contribution.salaryCents();
+            hoursPerWeek += sign * contribution.hoursPerWeek();
+            if (contribution.salaryBucket() >= 0) {
+                salaryBuckets[contribution.salaryBucket()] += sign;
+            }
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Cell[][] cells = new Cell[EMPLOYMENT_TYPES.length][CONTRACT_TYPES.length];
+    // employee id -> what it currently adds to its cell
+    private final Map<Long, Contribution> contributions = new HashMap<>();
+    // Changes committed while a rebuild streams the table, replayed over it once it finishes;
+    // a null contribution is a removal. Null when no rebuild is running.
+    private Map<Long, Contribution> changedDuringRebuild;
+
+    private volatile boolean ready;
+
+    public EmployeeStatsRollup() {
+        resetCells();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return contributions.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Empties the rollup for a reload. Until finishRebuild, put and remove are held back so a
+    // row the reload streams before a commit cannot overwrite that commit's change.
+    public void beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            changedDuringRebuild = new HashMap<>();
+            contributions.clear();
+            resetCells();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addToRebuild(EmployeeDto employee) {
+        Contribution contribution = contributionOf(employee.getEmploymentType(), employee.getContractType(),
+                employee.getSalary(), employee.getHoursPerWeek());
+        lock.writeLock().lock();
+        try {
+            applyLocked(employee.getId(), contribution);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void finishRebuild() {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild.forEach(this::applyLocked);
+            changedDuringRebuild = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(Employee employee) {
+        change(employee.getId(), contributionOf(employee.getEmploymentType(), employee.getContractType(),
+                employee.getSalary(), employee.getHoursPerWeek()));
+    }
+
+    public void put(EmployeeDto employee) {
+        change(employee.getId(), contributionOf(employee.getEmploymentType(), employee.getContractType(),
+                employee.getSalary(), employee.getHoursPerWeek()));
+    }
+
+    public void remove(Long id) {
+        change(id, null);
+    }
+
+    // An employee without both types is in no cell, so it counts as removed
+    private static Contribution contributionOf(EmploymentType employmentType, ContractType contractType,
+            Double salary, Integer hoursPerWeek) {
+        if (employmentType == null || contractType == null) {
+            return null;
+        }
+        return new Contribution(employmentType, contractType,
+                salary == null ? 0 : Math.round(salary * 100), salary == null ? -1 : bucketOf(salary),
+                hoursPerWeek == null ? 0 : hoursPerWeek);
+    }
+
+    private void change(Long id, Contribution contribution) {
+        lock.writeLock().lock();
+        try {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(id, contribution);
+            } else {
+                applyLocked(id, contribution);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void applyLocked(Long id, Contribution contribution) {
+        Contribution previous = contribution == null ? contributions.remove(id) : contributions.put(id, contribution);
+        if (previous != null) {
+            cellOf(previous).add(previous, -1);
+        }
+        if (contribution != null) {
+            cellOf(contribution).add(contribution, 1);
+        }
+    }
+
+    // One row per non-empty group; with neither flag set, a single company-wide row
+    public List<EmployeeStatsDto> summarize(boolean byEmploymentType, boolean byContractType) {
+        EmploymentType[] employmentGroups = byEmploymentType ? EMPLOYMENT_TYPES : new EmploymentType[] { null };
+        ContractType[] contractGroups = byContractType ? CONTRACT_TYPES : new ContractType[] { null };
+
+        List<EmployeeStatsDto> groups = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (EmploymentType employmentType : employmentGroups) {
+                for (ContractType contractType : contractGroups) {
+                    List<Cell> members = new ArrayList<>();
+                    for (EmploymentType e : EMPLOYMENT_TYPES) {
+                        for (ContractType c : CONTRACT_TYPES) {
+                            if ((employmentType == null || employmentType == e)
+                                    && (contractType == null || contractType == c)) {
+                                members.add(cells[e.ordinal()][c.ordinal()]);
+                            }
+                        }
+                    }
+                    EmployeeStatsDto group = summarize(employmentType, contractType, members);
+                    if (group != null) {
+                        groups.add(group);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return groups;
+    }
+
+    private static EmployeeStatsDto summarize(EmploymentType employmentType, ContractType contractType,
+            List<Cell> members) {
+        long headcount = 0;
+        long salaryCents = 0;
+        long hoursPerWeek = 0;
+        for (Cell cell : members) {
+            headcount += cell.headcount;
+            salaryCents += cell.salaryCents;
+            hoursPerWeek += cell.hoursPerWeek;
+        }
+        if (headcount == 0) {
+            return null;
+        }
+
+        return new EmployeeStatsDto(employmentType, contractType, headcount, salaryCents / 100.0,
+                Math.round((double) salaryCents / headcount) / 100.0, hoursPerWeek,
+                percentile(members, 0.50), percentile(members, 0.90), percentile(members, 0.99));
+    }
+
+    // Nearest-rank percentile over the merged histograms of the given cells
+    private static Double percentile(List<Cell> members, double quantile) {
+        long total = 0;
+        for (Cell cell : members) {
+            for (long count : cell.salaryBuckets) {
+                total += count;
+            }
+        }
+        if (total == 0) {
+            return null;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            for (Cell cell : members) {
+                seen += cell.salaryBuckets[bucket];
+            }
+            if (seen >= rank) {
+                return bucketValue(bucket);
+            }
+        }
+        return bucketValue(BUCKETS - 1);
+    }
+
+    private static int bucketOf(double salary) {
+        if (salary < 1) {
+            return 0;
+        }
+        return (int) Math.min(BUCKETS - 1, Math.floor(Math.log(salary) / LOG_GROWTH));
+    }
+
+    // Geometric midpoint of the bucket, rounded to cents
+    private static double bucketValue(int bucket) {
+        if (bucket == 0) {
+            return 0;
+        }
+        return Math.round(Math.pow(BUCKET_GROWTH, bucket + 0.5) * 100) / 100.0;
+    }
+
+    private Cell cellOf(Contribution contribution) {
+        return cells[contribution.employmentType().ordinal()][contribution.contractType().ordinal()];
+    }
+
+    private void resetCells() {
+        for (int e = 0; e < cells.length; e++) {
+            for (int c = 0; c < cells[e].length; c++) {
+                cells[e][c] = new Cell();
+            }
+        }
+    }
+}
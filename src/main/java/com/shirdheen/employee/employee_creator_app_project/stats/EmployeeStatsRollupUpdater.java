@@ -0,0 +1,46 @@
+package com.shirdheen.employee.employee_creator_app_project.stats;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.shirdheen.employee.employee_creator_app_project.event.EmployeeChangedEvent;
+import com.shirdheen.employee.employee_creator_app_project.service.EmployeeService;
+
+// Loads the stats rollup once the app is up and keeps it in sync with committed writes
+@Component
+public class EmployeeStatsRollupUpdater {
+
+    private final EmployeeService employeeService;
+    private final EmployeeStatsRollup statsRollup;
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeStatsRollupUpdater.class);
+
+    public EmployeeStatsRollupUpdater(EmployeeService employeeService, EmployeeStatsRollup statsRollup) {
+        this.employeeService = employeeService;
+        this.statsRollup = statsRollup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        statsRollup.beginRebuild();
+        employeeService.streamEmployees(statsRollup::addToRebuild);
+        statsRollup.finishRebuild();
+        logger.info("Stats rollup built with {} employees in {} ms", statsRollup.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    @Order(EmployeeChangedEvent.READ_MODEL_ORDER)
+    @TransactionalEventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (event.getType() == EmployeeChangedEvent.Type.DELETED) {
+            statsRollup.remove(event.getId());
+        } else {
+            statsRollup.put(event.getEmployee());
+        }
+    }
+}
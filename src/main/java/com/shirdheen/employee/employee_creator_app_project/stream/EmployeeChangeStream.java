@@ -0,0 +1,245 @@
+package com.shirdheen.employee.employee_creator_app_project.stream;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeChangeDto;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeDto;
+import com.shirdheen.employee.employee_creator_app_project.event.EmployeeChangedEvent;
+import com.shirdheen.employee.employee_creator_app_project.service.EmployeeDerivedAttributes;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+// Fans committed employee changes out to server-sent-event subscribers.
+//
+// Every change gets a sequence number and is kept in a bounded replay log, so a client that
+// reconnects with Last-Event-ID gets what it missed. If that has already fallen out of the log
+// (or the id is from before a restart) it gets a "reset" event and should reload the list.
+//
+// Idle subscribers hold no thread: the request goes async and only the emitter is kept. Each
+// subscriber has its own bounded queue drained by a short-lived virtual thread, so a slow
+// client only ever blocks its own writer. A subscriber whose queue overflows is dropped and
+// can resume from the log when it reconnects.
+@Component
+public class EmployeeChangeStream {
+
+    private record Outgoing(String id, String name, String data) {
+
+        SseEmitter.SseEventBuilder toEvent() {
+            if (data == null) {
+                return SseEmitter.event().comment("keep-alive");
+            }
+            return SseEmitter.event().id(id).name(name).data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    private record LoggedChange(long sequence, Outgoing event) {
+    }
+
+    private static final Outgoing HEARTBEAT = new Outgoing(null, null, null);
+
+    private final ObjectMapper objectMapper;
+    private final EmployeeDerivedAttributes derivedAttributes;
+    private final int replaySize;
+    private final int subscriberBuffer;
+    private final long timeoutMillis;
+
+    // A new epoch per start, so ids from before a restart are recognised as unknown
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Deque<LoggedChange> replayLog = new ArrayDeque<>();
+    private long sequence;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Writers run on virtual threads whatever spring.threads.virtual.enabled says: a write to
+    // a slow client parks a virtual thread instead of tying up a pool thread
+    private final ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("employee-events-heartbeat").daemon().factory());
+    private final Counter dropped;
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeChangeStream.class);
+
+    public EmployeeChangeStream(ObjectMapper objectMapper, EmployeeDerivedAttributes derivedAttributes,
+            MeterRegistry meterRegistry,
+            @Value("${employee.events.replay-size:10000}") int replaySize,
+            @Value("${employee.events.subscriber-buffer:1000}") int subscriberBuffer,
+            @Value("${employee.events.timeout:30m}") Duration timeout,
+            @Value("${employee.events.heartbeat:30s}") Duration heartbeat) {
+        this.objectMapper = objectMapper;
+        this.derivedAttributes = derivedAttributes;
+        this.replaySize = replaySize;
+        this.subscriberBuffer = subscriberBuffer;
+        this.timeoutMillis = timeout.toMillis();
+        Gauge.builder("employee.events.subscribers", subscribers, Set::size).register(meterRegistry);
+        this.dropped = Counter.builder("employee.events.dropped")
+                .description("Subscribers disconnected because they fell too far behind").register(meterRegistry);
+        // Keeps idle connections open through proxies and finds clients that went away
+        heartbeats.scheduleAtFixedRate(() -> subscribers.forEach(subscriber -> subscriber.enqueue(HEARTBEAT)),
+                heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // Clients should subscribe before loading the list, so nothing falls between the two
+    public SseEmitter subscribe(String lastEventId) {
+        Subscriber subscriber = new Subscriber(new SseEmitter(timeoutMillis));
+        SseEmitter emitter = subscriber.emitter;
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        // Under the log lock, so no change can slip between the backlog and the live feed
+        synchronized (replayLog) {
+            backlog(lastEventId).forEach(subscriber::enqueue);
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @Order(EmployeeChangedEvent.READ_MODEL_ORDER)
+    @TransactionalEventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        EmployeeDto employee = event.getType() == EmployeeChangedEvent.Type.DELETED ? null
+                : derivedAttributes.current().apply(new EmployeeDto(event.getEmployee()));
+        String data;
+        try {
+            // Serialised once here, not once per subscriber
+            data = objectMapper.writeValueAsString(new EmployeeChangeDto(event.getType(), event.getId(), employee));
+        } catch (JsonProcessingException e) {
+            logger.warn("Could not serialise change event for employee {}", event.getId(), e);
+            return;
+        }
+
+        synchronized (replayLog) {
+            sequence++;
+            Outgoing outgoing = new Outgoing(id(sequence), event.getType().name().toLowerCase(Locale.ROOT), data);
+            replayLog.addLast(new LoggedChange(sequence, outgoing));
+            if (replayLog.size() > replaySize) {
+                replayLog.removeFirst();
+            }
+            subscribers.forEach(subscriber -> subscriber.enqueue(outgoing));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeats.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        writers.shutdown();
+    }
+
+    // What a (re)connecting client needs before the live feed; caller holds the log lock
+    private List<Outgoing> backlog(String lastEventId) {
+        List<Outgoing> backlog = new ArrayList<>();
+        if (lastEventId == null || lastEventId.isBlank()) {
+            // Gives EventSource an id to resume from even if nothing changes for a while
+            backlog.add(new Outgoing(id(sequence), "ready", "{}"));
+            return backlog;
+        }
+
+        long lastSeen = parse(lastEventId);
+        long oldest = replayLog.isEmpty() ? sequence + 1 : replayLog.peekFirst().sequence();
+        if (lastSeen < 0 || lastSeen > sequence || lastSeen + 1 < oldest || sequence - lastSeen > subscriberBuffer) {
+            backlog.add(new Outgoing(id(sequence), "reset", "{}"));
+            return backlog;
+        }
+
+        for (LoggedChange change : replayLog) {
+            if (change.sequence() > lastSeen) {
+                backlog.add(change.event());
+            }
+        }
+        return backlog;
+    }
+
+    private String id(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    // The sequence number in an id from this run, or -1 for anything else
+    private long parse(String eventId) {
+        int dash = eventId.lastIndexOf('-');
+        if (dash < 0 || !epoch.equals(eventId.substring(0, dash))) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Outgoing> queue = new LinkedBlockingQueue<>(subscriberBuffer);
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        // Never blocks: callers hold the log lock
+        void enqueue(Outgoing event) {
+            if (!queue.offer(event)) {
+                if (event != HEARTBEAT && subscribers.remove(this)) {
+                    dropped.increment();
+                    // complete() waits for any write in progress, so it runs on a writer thread
+                    writers.execute(emitter::complete);
+                }
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                writers.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                Outgoing next;
+                while ((next = queue.poll()) != null) {
+                    try {
+                        emitter.send(next.toEvent());
+                    } catch (IOException | IllegalStateException e) {
+                        // Client went away or the emitter already completed. The container
+                        // reports the broken connection itself and completes the request.
+                        subscribers.remove(this);
+                        queue.clear();
+                        return;
+                    }
+                }
+                draining.set(false);
+                // Re-check so an event queued just before the flag was cleared isn't stranded
+            } while (!queue.isEmpty() && draining.compareAndSet(false, true));
+        }
+    }
+}
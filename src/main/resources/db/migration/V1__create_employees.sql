@@ -0,0 +1,20 @@
+-- Baseline: the employees table as Hibernate created it with ddl-auto=update.
+-- Databases that already have it are baselined at this version instead of running it.
+CREATE TABLE employees (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    first_name VARCHAR(100) NOT NULL,
+    middle_name VARCHAR(255),
+    last_name VARCHAR(100) NOT NULL,
+    email VARCHAR(100) NOT NULL,
+    mobile_number VARCHAR(255) NOT NULL,
+    residential_address VARCHAR(255),
+    contract_type ENUM('CONTRACT', 'PERMANENT') NOT NULL,
+    start_date DATE NOT NULL,
+    finish_date DATE,
+    ongoing BIT NOT NULL,
+    employment_type ENUM('FULL_TIME', 'PART_TIME') NOT NULL,
+    salary FLOAT(53) NOT NULL,
+    hours_per_week INTEGER,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_employees_email UNIQUE (email)
+);
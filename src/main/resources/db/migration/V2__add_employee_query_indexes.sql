@@ -0,0 +1,16 @@
+-- Indexes matched to the EmployeeRepository query shapes. Every list query orders by
+-- (last_name, id), so each filter index ends with those columns and the rows come back
+-- already sorted, with no filesort.
+
+-- Unfiltered listing, keyset pages and the export/stream cursor
+CREATE INDEX idx_employees_last_name_id ON employees (last_name, id);
+
+-- /filter with employmentType, alone or together with contractType
+CREATE INDEX idx_employees_employment_contract_name ON employees (employment_type, contract_type, last_name, id);
+CREATE INDEX idx_employees_employment_name ON employees (employment_type, last_name, id);
+
+-- /filter with contractType only
+CREATE INDEX idx_employees_contract_name ON employees (contract_type, last_name, id);
+
+-- Probation, anniversary and tenure queries are startDate ranges
+CREATE INDEX idx_employees_start_date ON employees (start_date);
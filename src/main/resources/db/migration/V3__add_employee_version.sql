@@ -0,0 +1,3 @@
+-- Optimistic locking: Hibernate bumps the version on every update and only writes
+-- WHERE version = <the version it read>, so concurrent PATCHes can't overwrite each other
+ALTER TABLE employees ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
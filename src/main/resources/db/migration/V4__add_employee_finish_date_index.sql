@@ -0,0 +1,3 @@
+-- Contracts ending in a date range, and the "started or finished between" window, which
+-- MySQL answers by merging this index with idx_employees_start_date
+CREATE INDEX idx_employees_finish_date ON employees (finish_date);
@@ -0,0 +1,15 @@
+-- Append-only history of committed employee changes, written in batches by EmployeeAuditLog.
+-- No foreign key: the history of a deleted employee is kept. changes holds the field-level
+-- diff of an update as a JSON array of {field, oldValue, newValue}.
+CREATE TABLE employee_audit (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    employee_id BIGINT NOT NULL,
+    change_type VARCHAR(10) NOT NULL,
+    version BIGINT,
+    changes TEXT,
+    changed_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- One employee's history in the order it was written
+CREATE INDEX idx_employee_audit_employee ON employee_audit (employee_id, id);
@@ -0,0 +1,6 @@
+-- Emails are stored trimmed and lower-cased (EmployeeEmailFilter.normalize) since new writes
+-- started normalizing them; this brings rows written before that into line, so lookups and
+-- the unique key compare like with like. MySQL's default case-insensitive collation already
+-- kept two rows from differing only in case, so this cannot create a duplicate there. No
+-- WHERE clause: under that collation email <> LOWER(email) is false for the very rows to fix.
+UPDATE employees SET email = LOWER(TRIM(email));
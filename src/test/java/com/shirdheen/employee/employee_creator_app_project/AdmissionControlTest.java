@@ -0,0 +1,255 @@
+package com.shirdheen.employee.employee_creator_app_project;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shirdheen.employee.employee_creator_app_project.admission.AdmissionControlFilter;
+import com.shirdheen.employee.employee_creator_app_project.admission.RequestClass;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// A burst of 8 cost units and a refill of one unit per second, so a client runs out within
+// a test and stays out for its duration
+@SpringBootTest(properties = {
+        "employee.admission.enabled=true",
+        "employee.admission.client.rate=1",
+        "employee.admission.client.burst=8",
+        "employee.admission.client-header=X-Client-Id" })
+@AutoConfigureMockMvc
+class AdmissionControlTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private static final AtomicInteger CLIENTS = new AtomicInteger();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void classifiesRequestsByCost() {
+        assertEquals(RequestClass.LOOKUP, RequestClass.of("GET", "/api/employees/42"));
+        assertEquals(RequestClass.LOOKUP, RequestClass.of("GET", "/api/employees/42/history"));
+        assertEquals(RequestClass.WRITE, RequestClass.of("PATCH", "/api/employees/42"));
+        assertEquals(RequestClass.WRITE, RequestClass.of("POST", "/api/employees"));
+        assertEquals(RequestClass.QUERY, RequestClass.of("GET", "/api/employees/search"));
+        assertEquals(RequestClass.QUERY, RequestClass.of("GET", "/api/employees/page"));
+        assertEquals(RequestClass.BULK, RequestClass.of("GET", "/api/employees"));
+        assertEquals(RequestClass.BULK, RequestClass.of("GET", "/api/employees/filter"));
+        assertEquals(RequestClass.BULK, RequestClass.of("PATCH", "/api/employees/bulk"));
+        assertEquals(RequestClass.BULK, RequestClass.of("GET", "/api/employees/exports/7/file"));
+        assertNull(RequestClass.of("GET", "/api/employees/events"));
+        assertNull(RequestClass.of("OPTIONS", "/api/employees"));
+        assertNull(RequestClass.of("GET", "/actuator/health"));
+    }
+
+    @Test
+    void refusesAClientOnceItsBurstIsSpentWithoutAffectingOthers() throws Exception {
+        double rejectedBefore = rejectedLookups();
+        for (int i = 0; i < 8; i++) {
+            mockMvc.perform(get("/api/employees/999999").header("X-Client-Id", "greedy"))
+                    .andExpect(status().isNotFound());
+        }
+
+        mockMvc.perform(get("/api/employees/999999").header("X-Client-Id", "greedy"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.status").value(429));
+        mockMvc.perform(get("/api/employees/999999").header("X-Client-Id", "polite"))
+                .andExpect(status().isNotFound());
+
+        assertEquals(rejectedBefore + 1, rejectedLookups());
+    }
+
+    @Test
+    void chargesExpensiveRequestsMore() throws Exception {
+        // A full listing costs the whole burst; the next lookup has to wait
+        mockMvc.perform(get("/api/employees").header("X-Client-Id", "lister")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/employees/999999").header("X-Client-Id", "lister"))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void keysClientsByTheAddressTheProxyAppended() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AdmissionControlFilter filter = filter(registry, "X-Forwarded-For", 32, Duration.ofSeconds(10), pool(0));
+
+        // A made-up first address does not buy a new bucket
+        assertEquals(200, respond(filter, "GET", "/api/employees", "203.0.113.1, 10.0.0.7"));
+        assertEquals(429, respond(filter, "GET", "/api/employees", "203.0.113.2, 10.0.0.7"));
+        assertEquals(200, respond(filter, "GET", "/api/employees", "203.0.113.2, 10.0.0.8"));
+    }
+
+    @Test
+    void refusesRequestsBeyondTheirClassConcurrencyLimit() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        // Capacity 8: one full listing at a time, eight lookups
+        AdmissionControlFilter filter = filter(registry, "", 8, Duration.ofSeconds(10), pool(0));
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> holding = hold(executor, filter, "/api/employees", release);
+
+            assertEquals(503, respond(filter, "GET", "/api/employees", null));
+            assertEquals(1, rejected(registry, "bulk", "concurrency"));
+            // Other classes have lanes of their own
+            assertEquals(200, respond(filter, "GET", "/api/employees/1", null));
+
+            release.countDown();
+            assertEquals(200, holding.get(10, TimeUnit.SECONDS));
+            assertEquals(200, respond(filter, "GET", "/api/employees", null));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shedsAClassToAQuarterOfItsLimitWhileItIsSlow() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        // Capacity 8, so eight lookups normally and two once lookups average over 1ms
+        AdmissionControlFilter filter = filter(registry, "", 8, Duration.ofMillis(1), pool(0));
+        MockHttpServletResponse slow = new MockHttpServletResponse();
+        filter.doFilter(request("GET", "/api/employees/1", null), slow, (request, response) -> sleep(20));
+        assertEquals(200, slow.getStatus());
+
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<Integer>> holding = List.of(hold(executor, filter, "/api/employees/1", release),
+                    hold(executor, filter, "/api/employees/1", release));
+
+            assertEquals(503, respond(filter, "GET", "/api/employees/1", null));
+            assertEquals(1, rejected(registry, "lookup", "latency"));
+
+            release.countDown();
+            for (Future<Integer> request : holding) {
+                assertEquals(200, request.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void refusesQueriesButNotLookupsWhileThreadsWaitForAConnection() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        // The threshold is 5 waiting threads
+        AdmissionControlFilter filter = filter(registry, "", 32, Duration.ofSeconds(10), pool(5));
+
+        assertEquals(503, respond(filter, "GET", "/api/employees/search", null));
+        assertEquals(503, respond(filter, "GET", "/api/employees", null));
+        assertEquals(200, respond(filter, "GET", "/api/employees/1", null));
+        assertEquals(200, respond(filter, "PATCH", "/api/employees/1", null));
+        assertEquals(1, rejected(registry, "query", "pool_pressure"));
+        assertEquals(1, rejected(registry, "bulk", "pool_pressure"));
+    }
+
+    // A filter on its own: a burst of 8 per client, no refill to speak of and a pool that always
+    // has the given number of threads waiting for a connection
+    private AdmissionControlFilter filter(MeterRegistry registry, String clientHeader, int capacity,
+            Duration shedLatency, HikariDataSource dataSource) {
+        return new AdmissionControlFilter(dataSource, objectMapper, registry, 0.001, 8, 1000, clientHeader, capacity,
+                5, shedLatency);
+    }
+
+    private static HikariDataSource pool(int threadsAwaitingConnection) throws SQLException {
+        HikariPoolMXBean pool = mock(HikariPoolMXBean.class);
+        when(pool.getThreadsAwaitingConnection()).thenReturn(threadsAwaitingConnection);
+        HikariDataSource dataSource = mock(HikariDataSource.class);
+        when(dataSource.isWrapperFor(HikariDataSource.class)).thenReturn(true);
+        when(dataSource.unwrap(HikariDataSource.class)).thenReturn(dataSource);
+        when(dataSource.getHikariPoolMXBean()).thenReturn(pool);
+        return dataSource;
+    }
+
+    // Each request from its own client unless forwardedFor says otherwise, so the rate limit
+    // stays out of the way
+    private static MockHttpServletRequest request(String method, String uri, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr("192.0.2." + CLIENTS.incrementAndGet() % 250);
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        return request;
+    }
+
+    private static int respond(AdmissionControlFilter filter, String method, String uri, String forwardedFor)
+            throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(method, uri, forwardedFor), response, new MockFilterChain());
+        return response.getStatus();
+    }
+
+    // Starts a request whose handler runs until release, and returns once it holds its slot
+    private static Future<Integer> hold(ExecutorService executor, AdmissionControlFilter filter, String uri,
+            CountDownLatch release) throws InterruptedException {
+        CountDownLatch entered = new CountDownLatch(1);
+        Future<Integer> status = executor.submit(() -> {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request("GET", uri, null), response, (request, ignored) -> {
+                entered.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            return response.getStatus();
+        });
+        assertTrue(entered.await(10, TimeUnit.SECONDS));
+        return status;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static double rejected(MeterRegistry registry, String requestClass, String reason) {
+        return registry.get("employee.admission.rejected").tags("class", requestClass, "reason", reason).counter()
+                .count();
+    }
+
+    private double rejectedLookups() {
+        return meterRegistry.get("employee.admission.rejected")
+                .tags("class", "lookup", "reason", "rate_limited").counter().count();
+    }
+}
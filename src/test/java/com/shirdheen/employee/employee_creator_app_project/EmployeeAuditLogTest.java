@@ -0,0 +1,241 @@
+package com.shirdheen.employee.employee_creator_app_project;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shirdheen.employee.employee_creator_app_project.audit.EmployeeAuditEntry;
+import com.shirdheen.employee.employee_creator_app_project.audit.EmployeeAuditLog;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeBulkUpdateDto;
+import com.shirdheen.employee.employee_creator_app_project.event.EmployeeChangedEvent;
+import com.shirdheen.employee.employee_creator_app_project.model.Employee;
+import com.shirdheen.employee.employee_creator_app_project.repository.EmployeeAuditRepository;
+import com.shirdheen.employee.employee_creator_app_project.service.EmployeeService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeAuditLogTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void historyHoldsFieldDiffsAndSurvivesTheDelete() throws Exception {
+        Long id = employeeService.createEmployee(TestEmployees.employee("Grace", "Hopper", "audit.one@example.com")).getId();
+        // The unchanged first name is left out of the diff
+        employeeService.updateEmployee(id, Map.of("salary", 110000, "firstName", "Grace"));
+        employeeService.bulkUpdateEmployees(new EmployeeBulkUpdateDto(List.of(id), Map.of("hoursPerWeek", 30)));
+        employeeService.deleteEmployee(id);
+
+        JsonNode history = history(id);
+        assertEquals(4, history.size());
+        assertEquals("CREATED", history.get(0).get("type").asText());
+        assertTrue(history.get(0).get("changes").isEmpty());
+
+        JsonNode update = history.get(1);
+        assertEquals("UPDATED", update.get("type").asText());
+        assertEquals(1, update.get("version").asLong());
+        assertEquals(1, update.get("changes").size());
+        assertEquals("salary", update.get("changes").get(0).get("field").asText());
+        assertEquals(100000.0, update.get("changes").get(0).get("oldValue").asDouble());
+        assertEquals(110000.0, update.get("changes").get(0).get("newValue").asDouble());
+
+        JsonNode bulk = history.get(2).get("changes").get(0);
+        assertEquals("hoursPerWeek", bulk.get("field").asText());
+        assertEquals(38, bulk.get("oldValue").asInt());
+        assertEquals(30, bulk.get("newValue").asInt());
+
+        assertEquals("DELETED", history.get(3).get("type").asText());
+    }
+
+    @Test
+    void unknownEmployeesHaveNoHistory() throws Exception {
+        assertEquals(0, history(Long.MAX_VALUE).size());
+    }
+
+    @Test
+    void writersSpillRatherThanWaitOnAFullBufferAndTheSpillIsWrittenLater(@TempDir Path spillDirectory)
+            throws Exception {
+        // The first batch hangs in the database, as if the pool had no connection to give it
+        CountDownLatch release = new CountDownLatch(1);
+        List<Long> inserted = new CopyOnWriteArrayList<>();
+        EmployeeAuditRepository repository = mock(EmployeeAuditRepository.class);
+        doAnswer(invocation -> {
+            assertTrue(release.await(10, TimeUnit.SECONDS));
+            List<EmployeeAuditEntry> entries = invocation.getArgument(0);
+            entries.forEach(entry -> inserted.add(entry.employeeId()));
+            return null;
+        }).when(repository).insertAll(any());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EmployeeAuditLog auditLog = auditLog(repository, meterRegistry, spillDirectory, 2);
+
+        long started = System.nanoTime();
+        for (long id = 1; id <= 10; id++) {
+            auditLog.onEmployeeChanged(created(id));
+        }
+        // Ten writes, none of them waiting on the stuck batch for longer than max-wait
+        assertTrue(System.nanoTime() - started < TimeUnit.SECONDS.toNanos(5));
+        // At most two entries held by the flusher and two in the buffer
+        assertTrue(meterRegistry.counter("employee.audit.spilled").count() >= 6);
+
+        release.countDown();
+        auditLog.flush();
+        assertEquals(LongStream.rangeClosed(1, 10).boxed().toList(), inserted.stream().sorted().toList());
+        assertEquals(0, spillFiles(spillDirectory).size());
+        auditLog.shutdown();
+    }
+
+    @Test
+    void anEntryTheDatabaseKeepsRefusingIsMovedAsideAndTheRestAreWritten(@TempDir Path spillDirectory)
+            throws Exception {
+        List<Long> inserted = new ArrayList<>();
+        EmployeeAuditRepository repository = mock(EmployeeAuditRepository.class);
+        doAnswer(invocation -> {
+            List<EmployeeAuditEntry> entries = invocation.getArgument(0);
+            if (entries.stream().anyMatch(entry -> entry.employeeId() == 13)) {
+                throw new DataIntegrityViolationException("Value too long for column changes");
+            }
+            entries.forEach(entry -> inserted.add(entry.employeeId()));
+            return null;
+        }).when(repository).insertAll(any());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EmployeeAuditLog auditLog = auditLog(repository, meterRegistry, spillDirectory, 10);
+        for (long id = 12; id <= 14; id++) {
+            auditLog.onEmployeeChanged(created(id));
+        }
+
+        // max-attempts is 2: one failure is retried as a batch, the second splits it up
+        assertThrows(DataIntegrityViolationException.class, auditLog::flush);
+        auditLog.flush();
+
+        assertEquals(List.of(12L, 14L), inserted);
+        assertEquals(1, meterRegistry.counter("employee.audit.rejected").count());
+        List<String> rejected = Files.readAllLines(spillDirectory.resolve("rejected.ndjson"));
+        assertEquals(1, rejected.size());
+        assertEquals(13, objectMapper.readTree(rejected.get(0)).get("employeeId").asLong());
+        auditLog.shutdown();
+    }
+
+    @Test
+    void entriesAreKeptWhileTheDatabaseIsUnreachable(@TempDir Path spillDirectory) throws Exception {
+        AtomicBoolean reachable = new AtomicBoolean();
+        List<Long> inserted = new ArrayList<>();
+        EmployeeAuditRepository repository = mock(EmployeeAuditRepository.class);
+        doAnswer(invocation -> {
+            if (!reachable.get()) {
+                throw new CannotGetJdbcConnectionException("Connection refused");
+            }
+            List<EmployeeAuditEntry> entries = invocation.getArgument(0);
+            entries.forEach(entry -> inserted.add(entry.employeeId()));
+            return null;
+        }).when(repository).insertAll(any());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EmployeeAuditLog auditLog = auditLog(repository, meterRegistry, spillDirectory, 10);
+        auditLog.onEmployeeChanged(created(21));
+        auditLog.onEmployeeChanged(created(22));
+
+        for (int attempt = 0; attempt < 4; attempt++) {
+            assertThrows(CannotGetJdbcConnectionException.class, auditLog::flush);
+        }
+        reachable.set(true);
+        auditLog.flush();
+
+        assertEquals(List.of(21L, 22L), inserted);
+        assertEquals(0, meterRegistry.counter("employee.audit.rejected").count());
+        auditLog.shutdown();
+    }
+
+    @Test
+    void whatShutdownCannotWriteIsSpilledAndWrittenByTheNextStart(@TempDir Path spillDirectory) throws Exception {
+        EmployeeAuditRepository down = mock(EmployeeAuditRepository.class);
+        doThrow(new CannotGetJdbcConnectionException("Connection refused")).when(down).insertAll(any());
+        EmployeeAuditLog stopping = auditLog(down, new SimpleMeterRegistry(), spillDirectory, 10);
+        for (long id = 31; id <= 35; id++) {
+            stopping.onEmployeeChanged(created(id));
+        }
+        stopping.shutdown();
+        assertFalse(spillFiles(spillDirectory).isEmpty());
+
+        List<Long> inserted = new ArrayList<>();
+        EmployeeAuditRepository up = mock(EmployeeAuditRepository.class);
+        doAnswer(invocation -> {
+            List<EmployeeAuditEntry> entries = invocation.getArgument(0);
+            entries.forEach(entry -> inserted.add(entry.employeeId()));
+            return null;
+        }).when(up).insertAll(any());
+        EmployeeAuditLog starting = auditLog(up, new SimpleMeterRegistry(), spillDirectory, 10);
+        starting.flush();
+
+        assertEquals(List.of(31L, 32L, 33L, 34L, 35L), inserted);
+        assertEquals(0, spillFiles(spillDirectory).size());
+        starting.shutdown();
+    }
+
+    // Buffer and batches of the given size, a flusher that only runs once a batch is full or
+    // when asked, 50ms of waiting for room and two attempts per batch
+    private EmployeeAuditLog auditLog(EmployeeAuditRepository repository, MeterRegistry meterRegistry,
+            Path spillDirectory, int size) throws IOException {
+        return new EmployeeAuditLog(repository, objectMapper, meterRegistry, true, size, size, Duration.ofHours(1),
+                Duration.ofMillis(50), 2, spillDirectory);
+    }
+
+    private static EmployeeChangedEvent created(long id) {
+        Employee employee = TestEmployees.employee("audit." + id + "@example.com");
+        employee.setId(id);
+        return new EmployeeChangedEvent(EmployeeChangedEvent.Type.CREATED, id, employee);
+    }
+
+    private static List<Path> spillFiles(Path spillDirectory) throws IOException {
+        try (Stream<Path> files = Files.list(spillDirectory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("spill-")).toList();
+        }
+    }
+
+    private JsonNode history(Long id) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get("/api/employees/" + id + "/history"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+}
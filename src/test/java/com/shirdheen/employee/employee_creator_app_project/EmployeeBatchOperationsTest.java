@@ -0,0 +1,126 @@
+package com.shirdheen.employee.employee_creator_app_project;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeBatchResultDto;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeBatchUpdateDto;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeBulkUpdateDto;
+import com.shirdheen.employee.employee_creator_app_project.model.ContractType;
+import com.shirdheen.employee.employee_creator_app_project.model.Employee;
+import com.shirdheen.employee.employee_creator_app_project.repository.EmployeeRepository;
+import com.shirdheen.employee.employee_creator_app_project.service.EmployeeService;
+
+@SpringBootTest
+class EmployeeBatchOperationsTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void batchUpdateLoadsOnceAndSharesOneBatchedUpdateStatement() {
+        Long first = save("batch.one@example.com", false);
+        Long second = save("batch.two@example.com", false);
+        Long third = save("batch.three@example.com", true);
+
+        RecordingStatementInspector.clear();
+        EmployeeBatchResultDto result = employeeService.updateEmployees(List.of(
+                new EmployeeBatchUpdateDto(first, Map.of("salary", 110000), null),
+                new EmployeeBatchUpdateDto(second, Map.of("salary", 120000), null),
+                new EmployeeBatchUpdateDto(third, Map.of("salary", -1), null)));
+
+        assertEquals(2, result.getSucceeded());
+        assertEquals(EmployeeBatchResultDto.Status.INVALID, result.getResults().get(2).getStatus());
+        assertEquals(1, count("select"));
+        assertEquals(1, count("update"));
+        assertEquals(120000.0, employeeRepository.findById(second).orElseThrow().getSalary());
+        assertEquals(100000.0, employeeRepository.findById(third).orElseThrow().getSalary());
+    }
+
+    @Test
+    void bulkUpdateIsOneStatementAndBatchDeleteKeepsOngoingEmployees() {
+        Long first = save("bulk.one@example.com", false);
+        Long second = save("bulk.two@example.com", true);
+
+        RecordingStatementInspector.clear();
+        employeeService.bulkUpdateEmployees(
+                new EmployeeBulkUpdateDto(List.of(first, second), Map.of("contractType", "CONTRACT")));
+        assertEquals(1, count("update"));
+        assertEquals(ContractType.CONTRACT, employeeRepository.findById(second).orElseThrow().getContractType());
+
+        RecordingStatementInspector.clear();
+        EmployeeBatchResultDto result = employeeService.deleteEmployees(List.of(first, second));
+        assertEquals(EmployeeBatchResultDto.Status.DELETED, result.getResults().get(0).getStatus());
+        assertEquals(EmployeeBatchResultDto.Status.REJECTED, result.getResults().get(1).getStatus());
+        assertEquals(1, count("delete"));
+        assertFalse(employeeRepository.existsById(first));
+    }
+
+    @Test
+    void batchDeleteLeavesEmployeesChangedSinceTheyWereReadAndReportsThem() {
+        Long changed = save("delete.changed@example.com", false);
+        Long unchanged = save("delete.unchanged@example.com", false);
+
+        TransactionTemplate concurrent = new TransactionTemplate(transactionManager);
+        concurrent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        EmployeeBatchResultDto result = new TransactionTemplate(transactionManager).execute(status -> {
+            // Both are read here, then another request commits an update to one of them
+            employeeRepository.findAllById(List.of(changed, unchanged));
+            concurrent.executeWithoutResult(inner -> employeeService.updateEmployee(changed, Map.of("ongoing", true)));
+            return employeeService.deleteEmployees(List.of(changed, unchanged));
+        });
+
+        assertEquals(EmployeeBatchResultDto.Status.CONFLICT, result.getResults().get(0).getStatus());
+        assertEquals(EmployeeBatchResultDto.Status.DELETED, result.getResults().get(1).getStatus());
+        assertEquals(1, result.getSucceeded());
+        assertTrue(employeeRepository.existsById(changed));
+        assertFalse(employeeRepository.existsById(unchanged));
+    }
+
+    @Test
+    void updatesCannotPutTheStartDateAfterTheFinishDate() {
+        Long id = save("dates.batch@example.com", false);
+
+        IllegalArgumentException rejected = assertThrows(IllegalArgumentException.class,
+                () -> employeeService.updateEmployee(id, Map.of("finishDate", "2019-12-31")));
+        assertEquals("Start date must be before finish date", rejected.getMessage());
+
+        EmployeeBatchResultDto result = employeeService.updateEmployees(List.of(
+                new EmployeeBatchUpdateDto(id, Map.of("startDate", "2031-01-01", "finishDate", "2030-01-01"), null)));
+        assertEquals(EmployeeBatchResultDto.Status.INVALID, result.getResults().get(0).getStatus());
+        assertEquals("Start date must be before finish date", result.getResults().get(0).getMessage());
+        assertNull(employeeRepository.findById(id).orElseThrow().getFinishDate());
+    }
+
+    private long count(String verb) {
+        return RecordingStatementInspector.statements().stream()
+                .filter(sql -> sql.trim().toLowerCase(Locale.ROOT).startsWith(verb))
+                .count();
+    }
+
+    private Long save(String email, boolean ongoing) {
+        Employee employee = TestEmployees.employee(email);
+        employee.setOngoing(ongoing);
+        return employeeRepository.save(employee).getId();
+    }
+}
@@ -0,0 +1,228 @@
+package com.shirdheen.employee.employee_creator_app_project;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.shirdheen.employee.employee_creator_app_project.cache.EmployeeCache;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeDto;
+import com.shirdheen.employee.employee_creator_app_project.event.EmployeeChangedEvent;
+import com.shirdheen.employee.employee_creator_app_project.event.EmployeeFieldChange;
+import com.shirdheen.employee.employee_creator_app_project.model.ContractType;
+import com.shirdheen.employee.employee_creator_app_project.model.Employee;
+import com.shirdheen.employee.employee_creator_app_project.model.EmploymentType;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class EmployeeCacheTest {
+
+    private EmployeeCache employeeCache;
+
+    @BeforeEach
+    void setUp() {
+        employeeCache = new EmployeeCache(true, 100, Duration.ofMinutes(5), Duration.ofMinutes(5),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void secondReadIsServedFromCache() {
+        AtomicInteger loads = new AtomicInteger();
+        EmployeeDto employee = employee(1L);
+
+        employeeCache.getById(1L, () -> { loads.incrementAndGet(); return employee; });
+        EmployeeDto cached = employeeCache.getById(1L, () -> { loads.incrementAndGet(); return employee; });
+
+        assertNotSame(employee, cached);
+        assertEquals(1L, cached.getId());
+        assertEquals(1, loads.get());
+        assertEquals(1, employeeCache.stats().getEmployeeHits());
+        assertEquals(1, employeeCache.stats().getEmployeeMisses());
+    }
+
+    @Test
+    void loadThatRacedAnInvalidationIsNotCached() {
+        EmployeeDto stale = employee(1L);
+
+        // The write commits while the read is still in flight
+        employeeCache.getById(1L, () -> { employeeCache.invalidate(1L); return stale; });
+
+        EmployeeDto fresh = employee(1L);
+        assertSame(fresh, employeeCache.getById(1L, () -> fresh));
+        assertNotSame(fresh, employeeCache.getById(1L, () -> fresh));
+        assertEquals(1, employeeCache.stats().getStalePutsSkipped());
+    }
+
+    @Test
+    void cachedFilterResolvesOnlyMissingRows() {
+        AtomicInteger queries = new AtomicInteger();
+        List<EmployeeDto> rows = List.of(employee(1L), employee(2L));
+
+        employeeCache.getFiltered(EmploymentType.FULL_TIME, ContractType.PERMANENT,
+                () -> { queries.incrementAndGet(); return rows; }, ids -> List.of());
+        employeeCache.getById(2L, () -> rows.get(1));
+
+        List<Long> requested = new ArrayList<>();
+        List<EmployeeDto> result = employeeCache.getFiltered(EmploymentType.FULL_TIME, ContractType.PERMANENT,
+                () -> { queries.incrementAndGet(); return rows; },
+                ids -> { requested.addAll(ids); return List.of(rows.get(0)); });
+
+        assertEquals(1, queries.get());
+        assertEquals(List.of(1L), requested);
+        assertEquals(List.of(1L, 2L), result.stream().map(EmployeeDto::getId).toList());
+    }
+
+    @Test
+    void writesDropFilterResults() {
+        AtomicInteger queries = new AtomicInteger();
+        employeeCache.getFiltered(EmploymentType.PART_TIME, null,
+                () -> { queries.incrementAndGet(); return List.of(employee(1L)); }, ids -> List.of(employee(1L)));
+
+        employeeCache.invalidate(7L);
+        employeeCache.getFiltered(EmploymentType.PART_TIME, null,
+                () -> { queries.incrementAndGet(); return List.of(employee(1L)); }, ids -> List.of(employee(1L)));
+
+        assertEquals(2, queries.get());
+    }
+
+    @Test
+    void writesDropOnlyTheFiltersOfTheRowsTheyTouch() {
+        Map<String, AtomicInteger> queries = new HashMap<>();
+        filters().forEach(key -> read(key, queries));
+
+        // Moved from part time to full time: every filter that held it or now should
+        employeeCache.onEmployeeChanged(updated(7L, EmploymentType.FULL_TIME, ContractType.PERMANENT,
+                new EmployeeFieldChange("employmentType", EmploymentType.PART_TIME, EmploymentType.FULL_TIME)));
+        filters().forEach(key -> read(key, queries));
+
+        Map<String, Integer> expected = new HashMap<>();
+        filters().forEach(key -> expected.put(key, 1));
+        List.of("FULL_TIME/PERMANENT", "FULL_TIME/null", "null/PERMANENT", "PART_TIME/PERMANENT", "PART_TIME/null")
+                .forEach(key -> expected.put(key, 2));
+        assertEquals(expected, counts(queries));
+
+        // A salary change neither moves the row between filters nor reorders them
+        employeeCache.onEmployeeChanged(updated(7L, EmploymentType.FULL_TIME, ContractType.PERMANENT,
+                new EmployeeFieldChange("salary", 90000.0, 95000.0)));
+        filters().forEach(key -> read(key, queries));
+        assertEquals(expected, counts(queries));
+
+        // Deletes and creates drop the row's own three
+        employeeCache.onEmployeeChanged(new EmployeeChangedEvent(EmployeeChangedEvent.Type.DELETED, 8L,
+                entity(8L, EmploymentType.PART_TIME, ContractType.CONTRACT)));
+        filters().forEach(key -> read(key, queries));
+        List.of("PART_TIME/CONTRACT", "PART_TIME/null", "null/CONTRACT")
+                .forEach(key -> expected.merge(key, 1, Integer::sum));
+        assertEquals(expected, counts(queries));
+    }
+
+    // A mixed load of filter reads with one write in ten, one in five of those changing a type:
+    // the filter queries it takes when writes drop only their own filters, against dropping all
+    @Test
+    void targetedInvalidationSavesFilterQueriesUnderLoad() {
+        int everything = filterQueriesUnderLoad(false);
+        int targeted = filterQueriesUnderLoad(true);
+
+        assertEquals(4223, everything);
+        assertEquals(943, targeted);
+    }
+
+    private int filterQueriesUnderLoad(boolean targeted) {
+        employeeCache = new EmployeeCache(true, 1000, Duration.ofMinutes(5), Duration.ofMinutes(5),
+                new SimpleMeterRegistry());
+        SplittableRandom random = new SplittableRandom(11);
+        EmploymentType[] employmentTypes = new EmploymentType[200];
+        ContractType[] contractTypes = new ContractType[200];
+        for (int i = 0; i < 200; i++) {
+            employmentTypes[i] = EmploymentType.values()[random.nextInt(2)];
+            contractTypes[i] = ContractType.values()[random.nextInt(2)];
+        }
+
+        List<String> keys = filters();
+        Map<String, AtomicInteger> queries = new HashMap<>();
+        for (int operation = 0; operation < 10000; operation++) {
+            if (random.nextInt(10) > 0) {
+                read(keys.get(random.nextInt(keys.size())), queries);
+                continue;
+            }
+
+            int row = random.nextInt(200);
+            List<EmployeeFieldChange> changes = new ArrayList<>();
+            if (random.nextInt(5) == 0) {
+                EmploymentType previous = employmentTypes[row];
+                employmentTypes[row] = EmploymentType.values()[1 - previous.ordinal()];
+                changes.add(new EmployeeFieldChange("employmentType", previous, employmentTypes[row]));
+            } else {
+                changes.add(new EmployeeFieldChange("hoursPerWeek", 38, 30));
+            }
+            if (targeted) {
+                employeeCache.onEmployeeChanged(new EmployeeChangedEvent(EmployeeChangedEvent.Type.UPDATED,
+                        (long) row, entity(row, employmentTypes[row], contractTypes[row]), changes));
+            } else {
+                employeeCache.invalidate((long) row);
+            }
+        }
+        return counts(queries).values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    // Every cached filter, as "employmentType/contractType" with null for any
+    private static List<String> filters() {
+        List<String> keys = new ArrayList<>();
+        EmploymentType[] employmentTypes = { EmploymentType.FULL_TIME, EmploymentType.PART_TIME, null };
+        ContractType[] contractTypes = { ContractType.PERMANENT, ContractType.CONTRACT, null };
+        for (EmploymentType employmentType : employmentTypes) {
+            for (ContractType contractType : contractTypes) {
+                if (employmentType != null || contractType != null) {
+                    keys.add(employmentType + "/" + contractType);
+                }
+            }
+        }
+        return keys;
+    }
+
+    private void read(String key, Map<String, AtomicInteger> queries) {
+        String[] types = key.split("/");
+        employeeCache.getFiltered(types[0].equals("null") ? null : EmploymentType.valueOf(types[0]),
+                types[1].equals("null") ? null : ContractType.valueOf(types[1]),
+                () -> {
+                    queries.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+                    return List.of();
+                }, ids -> List.of());
+    }
+
+    private static Map<String, Integer> counts(Map<String, AtomicInteger> queries) {
+        Map<String, Integer> counts = new HashMap<>();
+        queries.forEach((key, count) -> counts.put(key, count.get()));
+        return counts;
+    }
+
+    private static EmployeeChangedEvent updated(Long id, EmploymentType employmentType, ContractType contractType,
+            EmployeeFieldChange change) {
+        return new EmployeeChangedEvent(EmployeeChangedEvent.Type.UPDATED, id,
+                entity(id, employmentType, contractType), List.of(change));
+    }
+
+    private static Employee entity(long id, EmploymentType employmentType, ContractType contractType) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setEmploymentType(employmentType);
+        employee.setContractType(contractType);
+        return employee;
+    }
+
+    private EmployeeDto employee(Long id) {
+        EmployeeDto employee = new EmployeeDto();
+        employee.setId(id);
+        return employee;
+    }
+}
@@ -0,0 +1,66 @@
+package com.shirdheen.employee.employee_creator_app_project;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import com.shirdheen.employee.employee_creator_app_project.cache.EmployeeChangeCounter;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeDto;
+import com.shirdheen.employee.employee_creator_app_project.email.EmployeeEmailFilter;
+import com.shirdheen.employee.employee_creator_app_project.event.EmployeeChangedEvent;
+import com.shirdheen.employee.employee_creator_app_project.replica.EmployeeReplica;
+import com.shirdheen.employee.employee_creator_app_project.search.EmployeeSearchIndex;
+import com.shirdheen.employee.employee_creator_app_project.service.EmployeeService;
+
+// A list ETag is taken before the list is read, so it is only safe if every read model has a
+// write by the time the counter moves
+@SpringBootTest(properties = { "employee.replica.enabled=true", "employee.audit.enabled=false" })
+class EmployeeChangeCounterTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeSearchIndex searchIndex;
+
+    @Autowired
+    private EmployeeEmailFilter emailFilter;
+
+    @Autowired
+    private EmployeeReplica replica;
+
+    @MockitoSpyBean
+    private EmployeeChangeCounter changeCounter;
+
+    @Test
+    void counterMovesOnlyOnceEveryReadModelHasTheWrite() {
+        // What the read models held for the changed employee at the moment the counter moved
+        List<String> seen = new ArrayList<>();
+        doAnswer(invocation -> {
+            EmployeeChangedEvent event = invocation.getArgument(0);
+            EmployeeDto replicated = replica.findById(event.getId());
+            seen.add((replicated == null ? null : replicated.getLastName())
+                    + " search=" + searchIndex.search(event.getEmployee().getLastName(), 5).contains(event.getId())
+                    + " email=" + emailFilter.mightContain(event.getEmployee().getEmail()));
+            return invocation.callRealMethod();
+        }).when(changeCounter).onEmployeeChanged(any());
+
+        String before = changeCounter.current();
+        Long id = employeeService.createEmployee(
+                TestEmployees.employee("Counter", "Zanzibarian", "counter.order@example.com")).getId();
+        employeeService.updateEmployee(id, Map.of("lastName", "Quixotically"));
+
+        assertNotEquals(before, changeCounter.current());
+        assertEquals(List.of("Zanzibarian search=true email=true", "Quixotically search=true email=true"), seen);
+    }
+}
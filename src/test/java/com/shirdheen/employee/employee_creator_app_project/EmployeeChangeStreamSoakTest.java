@@ -0,0 +1,200 @@
+package com.shirdheen.employee.employee_creator_app_project;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.tomcat.TomcatConnectorCustomizer;
+import org.springframework.context.annotation.Bean;
+
+import com.shirdheen.employee.employee_creator_app_project.service.EmployeeService;
+import com.shirdheen.employee.employee_creator_app_project.stream.EmployeeChangeStream;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Holds many reading subscribers plus a few that never read, pushes changes through
+// EmployeeService and checks every reading subscriber got all of them, in order, while the
+// ones that never read overflowed their small buffers and were dropped. Scale it up with
+// -Dsoak.subscribers=5000 -Dsoak.changes=5000 for a longer run. Changes are produced only as
+// fast as the reading subscribers keep up, as clients on one machine with the server can't
+// read a burst as fast as it is written.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = { "employee.events.heartbeat=1s",
+                "employee.events.subscriber-buffer=" + EmployeeChangeStreamSoakTest.BUFFER })
+class EmployeeChangeStreamSoakTest {
+
+    private static final int SUBSCRIBERS = Integer.getInteger("soak.subscribers", 200);
+    private static final int CHANGES = Integer.getInteger("soak.changes", 300);
+    private static final int STALLED = 5;
+    static final int BUFFER = 32;
+
+    @TestConfiguration
+    static class SmallSendBuffers {
+
+        @Bean
+        TomcatConnectorCustomizer smallSendBuffers() {
+            return connector -> connector.setProperty("socket.txBufSize", "4096");
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeChangeStream changeStream;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void readingSubscribersGetEveryChangeAndCanResumeWhileStalledOnesAreDropped() throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        URI events = URI.create("http://localhost:" + port + "/api/employees/events");
+        int baseline = changeStream.subscriberCount();
+        double droppedBefore = meterRegistry.get("employee.events.dropped").counter().count();
+
+        List<EventCollector> collectors = new ArrayList<>();
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            EventCollector collector = new EventCollector();
+            collectors.add(collector);
+            client.sendAsync(HttpRequest.newBuilder(events).build(),
+                    HttpResponse.BodyHandlers.fromLineSubscriber(collector));
+        }
+
+        // Subscribers that never read must not hold anyone else up. Tiny receive windows here and
+        // send buffers in the server keep the kernel from absorbing what they don't read, so their
+        // queues fill up.
+        List<Socket> stalled = new ArrayList<>();
+        for (int i = 0; i < STALLED; i++) {
+            Socket socket = new Socket();
+            socket.setReceiveBufferSize(1024);
+            socket.connect(new InetSocketAddress("localhost", port));
+            OutputStream out = socket.getOutputStream();
+            out.write(("GET /api/employees/events HTTP/1.1\r\nHost: localhost\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            stalled.add(socket);
+        }
+
+        await(() -> changeStream.subscriberCount() >= baseline + SUBSCRIBERS + STALLED, Duration.ofSeconds(30));
+
+        // Each change waits until every reading subscriber is less than half a buffer behind
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < CHANGES / 2; i++) {
+            ids.add(employeeService.createEmployee(TestEmployees.employee("soak." + i + "@example.com")).getId());
+            keepUp(collectors, ids.size());
+        }
+        for (int i = 0; i < ids.size(); i++) {
+            employeeService.updateEmployee(ids.get(i), Map.of("salary", 120000));
+            keepUp(collectors, ids.size() + i + 1);
+        }
+        int expected = ids.size() * 2;
+
+        await(() -> collectors.stream().allMatch(collector -> collector.changes.size() >= expected),
+                Duration.ofSeconds(60));
+        for (EventCollector collector : collectors) {
+            assertEquals(expected, collector.changes.size());
+            assertTrue(collector.changes.get(0).startsWith("created"));
+            assertTrue(collector.changes.get(expected - 1).startsWith("updated"));
+        }
+
+        // A reconnect less than a buffer behind gets exactly what it missed replayed
+        int missed = BUFFER / 2;
+        EventCollector resumed = new EventCollector();
+        client.sendAsync(HttpRequest.newBuilder(events)
+                .header("Last-Event-ID", collectors.get(0).ids.get(expected - missed)).build(),
+                HttpResponse.BodyHandlers.fromLineSubscriber(resumed));
+        await(() -> resumed.changes.size() >= missed, Duration.ofSeconds(30));
+        assertEquals(collectors.get(0).ids.subList(expected - missed + 1, expected + 1), resumed.ids.subList(0, missed));
+
+        // One from further back than a buffer holds is told to reload instead
+        EventCollector reset = new EventCollector();
+        client.sendAsync(HttpRequest.newBuilder(events)
+                .header("Last-Event-ID", collectors.get(0).ids.get(ids.size())).build(),
+                HttpResponse.BodyHandlers.fromLineSubscriber(reset));
+        await(() -> !reset.ids.isEmpty(), Duration.ofSeconds(30));
+        assertEquals(List.of(collectors.get(0).ids.get(expected)), reset.ids);
+        assertTrue(reset.changes.isEmpty());
+
+        // Only the subscribers that never read overflowed their buffers
+        assertEquals(STALLED, meterRegistry.get("employee.events.dropped").counter().count() - droppedBefore);
+        await(() -> changeStream.subscriberCount() == baseline + SUBSCRIBERS + 2, Duration.ofSeconds(30));
+
+        for (Socket socket : stalled) {
+            socket.close();
+        }
+        client.shutdownNow();
+    }
+
+    private static void keepUp(List<EventCollector> collectors, int produced) throws InterruptedException {
+        await(() -> collectors.stream().allMatch(collector -> collector.changes.size() > produced - BUFFER / 2),
+                Duration.ofSeconds(60));
+    }
+
+    private static void await(BooleanSupplier condition, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Timed out after " + timeout);
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    // Records the name of every change event and every event id, in arrival order
+    private static final class EventCollector implements Flow.Subscriber<String> {
+
+        final List<String> changes = new CopyOnWriteArrayList<>();
+        final List<String> ids = new CopyOnWriteArrayList<>();
+        private String name;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (line.startsWith("id:")) {
+                ids.add(line.substring(3));
+            } else if (line.startsWith("event:")) {
+                name = line.substring(6);
+            } else if (line.startsWith("data:") && name != null && !"ready".equals(name) && !"reset".equals(name)) {
+                changes.add(name);
+            } else if (line.isEmpty()) {
+                name = null;
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
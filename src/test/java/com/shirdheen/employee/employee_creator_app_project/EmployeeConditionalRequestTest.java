@@ -0,0 +1,76 @@
+package com.shirdheen.employee.employee_creator_app_project;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.shirdheen.employee.employee_creator_app_project.model.Employee;
+import com.shirdheen.employee.employee_creator_app_project.repository.EmployeeRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeConditionalRequestTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Test
+    void etagsAnswerNotModifiedUntilTheEmployeeChangesAndIfMatchGuardsUpdates() throws Exception {
+        Long id = employeeRepository.save(TestEmployees.employee("etag.one@example.com")).getId();
+
+        String etag = mockMvc.perform(get("/api/employees/" + id)).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String listEtag = mockMvc.perform(get("/api/employees")).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/employees/" + id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified()).andExpect(content().string(""));
+        mockMvc.perform(get("/api/employees").header(HttpHeaders.IF_NONE_MATCH, listEtag))
+                .andExpect(status().isNotModified()).andExpect(content().string(""));
+
+        mockMvc.perform(patch("/api/employees/" + id).header(HttpHeaders.IF_MATCH, "W/\"41-20200101\"")
+                .contentType(MediaType.APPLICATION_JSON).content("{\"salary\": 120000}"))
+                .andExpect(status().isPreconditionFailed());
+        String updatedEtag = mockMvc.perform(patch("/api/employees/" + id).header(HttpHeaders.IF_MATCH, etag)
+                .contentType(MediaType.APPLICATION_JSON).content("{\"salary\": 120000}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, updatedEtag);
+
+        mockMvc.perform(get("/api/employees/" + id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/employees").header(HttpHeaders.IF_NONE_MATCH, listEtag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void writeFromAStaleCopyIsRejected() throws Exception {
+        Employee stale = employeeRepository.save(TestEmployees.employee("etag.two@example.com"));
+
+        mockMvc.perform(patch("/api/employees/" + stale.getId())
+                .contentType(MediaType.APPLICATION_JSON).content("{\"salary\": 130000}"))
+                .andExpect(status().isOk());
+
+        // The stale copy still carries version 0, so its write must not overwrite the PATCH
+        stale.setSalary(90000.0);
+        assertThrows(OptimisticLockingFailureException.class, () -> employeeRepository.save(stale));
+        assertEquals(130000.0, employeeRepository.findById(stale.getId()).orElseThrow().getSalary());
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.shirdheen.employee.employee_creator_app_project;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeCursor;
+
+class EmployeeCursorTest {
+
+    @Test
+    void roundTripsLastNameAndId() {
+        EmployeeCursor cursor = EmployeeCursor.decode(new EmployeeCursor("O'Brien-Smith", 42L).encode());
+
+        assertEquals("O'Brien-Smith", cursor.getLastName());
+        assertEquals(42L, cursor.getId());
+    }
+
+    @Test
+    void blankCursorMeansFirstPage() {
+        assertNull(EmployeeCursor.decode(null));
+        assertNull(EmployeeCursor.decode(""));
+    }
+
+    @Test
+    void rejectsTamperedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> EmployeeCursor.decode("not-a-cursor"));
+    }
+}
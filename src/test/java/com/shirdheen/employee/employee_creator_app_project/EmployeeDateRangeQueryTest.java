@@ -0,0 +1,88 @@
+package com.shirdheen.employee.employee_creator_app_project;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shirdheen.employee.employee_creator_app_project.model.ContractType;
+import com.shirdheen.employee.employee_creator_app_project.model.Employee;
+import com.shirdheen.employee.employee_creator_app_project.repository.EmployeeRepository;
+
+// Dates far in the past or future keep other tests' employees out of the results
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeDateRangeQueryTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        if (employeeRepository.existsByEmail("range.a@example.com")) {
+            return;
+        }
+        employeeRepository.save(employee("a", ContractType.CONTRACT, LocalDate.of(2089, 6, 1), LocalDate.of(2091, 3, 10)));
+        employeeRepository.save(employee("b", ContractType.CONTRACT, LocalDate.of(2089, 6, 1), LocalDate.of(2091, 4, 15)));
+        employeeRepository.save(employee("c", ContractType.PERMANENT, LocalDate.of(2091, 3, 20), null));
+        employeeRepository.save(employee("d", ContractType.PERMANENT, LocalDate.of(1950, 1, 1), null));
+        employeeRepository.save(employee("e", ContractType.CONTRACT, LocalDate.of(1950, 6, 1), LocalDate.of(1960, 1, 1)));
+    }
+
+    @Test
+    void dateRangesComposeWithTheOtherFilters() throws Exception {
+        assertEquals(List.of("a"), lastNames(
+                "contractType=CONTRACT&finishDateFrom=2091-03-01&finishDateBefore=2091-03-31&size=50"));
+        assertEquals(List.of("a", "c"), lastNames("startOrFinishFrom=2091-03-01&startOrFinishBefore=2091-04-01&size=50"));
+        assertEquals(List.of("d"), lastNames("minTenureYears=70&ongoing=true&size=50"));
+        assertEquals(List.of("d", "e"), lastNames("minTenureYears=70&maxTenureYears=80&size=50"));
+        // One per page, following the cursors
+        assertEquals(List.of("a", "b", "c"), lastNames("startOrFinishFrom=2091-03-01&startOrFinishBefore=2091-05-01&size=1"));
+    }
+
+    @Test
+    void invalidFiltersAreBadRequests() throws Exception {
+        mockMvc.perform(get("/api/employees/page?minTenureYears=-1")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/employees/page?finishDateFrom=soon")).andExpect(status().isBadRequest());
+    }
+
+    // Last names across every page of the query, each with the "range-" prefix stripped
+    private List<String> lastNames(String query) throws Exception {
+        List<String> names = new ArrayList<>();
+        String cursor = null;
+        do {
+            String url = "/api/employees/page?" + query + (cursor == null ? "" : "&cursor=" + cursor);
+            JsonNode page = objectMapper.readTree(mockMvc.perform(get(url)).andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            page.get("items").forEach(item -> names.add(item.get("lastName").asText().substring("range-".length())));
+            cursor = page.get("next").isNull() ? null : page.get("next").asText();
+        } while (cursor != null);
+        return names;
+    }
+
+    private static Employee employee(String name, ContractType contractType, LocalDate startDate,
+            LocalDate finishDate) {
+        Employee employee = TestEmployees.contractor("range." + name + "@example.com", startDate, finishDate);
+        employee.setLastName("range-" + name);
+        employee.setContractType(contractType);
+        return employee;
+    }
+}
@@ -0,0 +1,50 @@
+package com.shirdheen.employee.employee_creator_app_project;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeDto;
+import com.shirdheen.employee.employee_creator_app_project.service.EmployeeDerivedAttributes;
+
+class EmployeeDerivedAttributesTest {
+
+    @Test
+    void probationCutoffMatchesWholeMonthRuleForEveryDay() {
+        // Two years covers month ends, leap days and year boundaries
+        for (LocalDate asOf = LocalDate.of(2023, 1, 1); asOf.isBefore(LocalDate.of(2025, 1, 1)); asOf = asOf.plusDays(1)) {
+            EmployeeDerivedAttributes.AsOf snapshot = EmployeeDerivedAttributes.asOf(asOf);
+            for (LocalDate start = asOf.minusDays(120); start.isBefore(asOf.minusDays(60)); start = start.plusDays(1)) {
+                boolean expected = ChronoUnit.MONTHS.between(start, asOf) < 3;
+                assertEquals(expected, snapshot.apply(employee(start)).isOnProbation(),
+                        "start " + start + " as of " + asOf);
+            }
+        }
+    }
+
+    @Test
+    void tenureCutoffMatchesWholeYearRuleForEveryDay() {
+        for (LocalDate asOf = LocalDate.of(2023, 1, 1); asOf.isBefore(LocalDate.of(2025, 1, 1)); asOf = asOf.plusDays(1)) {
+            LocalDate cutoff = EmployeeDerivedAttributes.asOf(asOf).tenureBelowStartsOnOrAfter(5);
+            assertEquals(4, ChronoUnit.YEARS.between(cutoff, asOf), "as of " + asOf);
+            assertEquals(5, ChronoUnit.YEARS.between(cutoff.minusDays(1), asOf), "as of " + asOf);
+        }
+    }
+
+    @Test
+    void anniversaryUsesTheSnapshotMonth() {
+        EmployeeDerivedAttributes.AsOf snapshot = EmployeeDerivedAttributes.asOf(LocalDate.of(2025, 3, 31));
+
+        assertEquals(true, snapshot.apply(employee(LocalDate.of(2019, 3, 1))).isHasWorkAnniversary());
+        assertEquals(false, snapshot.apply(employee(LocalDate.of(2019, 4, 1))).isHasWorkAnniversary());
+    }
+
+    private EmployeeDto employee(LocalDate startDate) {
+        EmployeeDto employee = new EmployeeDto();
+        employee.setStartDate(startDate);
+        return employee;
+    }
+}
@@ -0,0 +1,141 @@
+package com.shirdheen.employee.employee_creator_app_project;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.ConstraintViolationException.ConstraintKind;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shirdheen.employee.employee_creator_app_project.email.EmployeeEmailFilter;
+import com.shirdheen.employee.employee_creator_app_project.exception.GlobalExceptionHandler;
+import com.shirdheen.employee.employee_creator_app_project.repository.EmployeeRepository;
+import com.shirdheen.employee.employee_creator_app_project.service.EmployeeService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeEmailUniquenessTest {
+
+    private static final int CREATES = 16;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void parallelDuplicateCreatesLeaveOneEmployeeAndAnswerTheRestWithConflict() throws Exception {
+        // Spellings that only differ in case and whitespace are the same address
+        String[] spellings = { "race@example.com", "Race@Example.com", " RACE@example.COM ", "race@EXAMPLE.com" };
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CREATES);
+        List<Future<Integer>> statuses = new ArrayList<>();
+        for (int i = 0; i < CREATES; i++) {
+            String body = body(spellings[i % spellings.length]);
+            statuses.add(executor.submit(() -> {
+                start.await();
+                return mockMvc.perform(post("/api/employees").contentType(MediaType.APPLICATION_JSON).content(body))
+                        .andReturn().getResponse().getStatus();
+            }));
+        }
+        start.countDown();
+
+        int created = 0;
+        int conflicts = 0;
+        for (Future<Integer> status : statuses) {
+            switch (status.get()) {
+                case 201 -> created++;
+                case 409 -> conflicts++;
+                default -> throw new AssertionError("Unexpected status " + status.get());
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(1, created);
+        assertEquals(CREATES - 1, conflicts);
+        assertEquals(1, employeeRepository.findByEmailIn(List.of("race@example.com")).size());
+
+        // Once committed, the pre-check catches it before the insert and answers the same way
+        assertEquals(409, mockMvc.perform(post("/api/employees").contentType(MediaType.APPLICATION_JSON)
+                .content(body("RACE@example.com"))).andReturn().getResponse().getStatus());
+    }
+
+    @Test
+    void aDefinitelyNewEmailIsCreatedWithoutLookingItUp() {
+        RecordingStatementInspector.clear();
+        employeeService.createEmployee(TestEmployees.employee("brand.new@example.com"));
+
+        assertEquals(0, RecordingStatementInspector.statements().stream()
+                .filter(sql -> sql.trim().toLowerCase(Locale.ROOT).startsWith("select"))
+                .count());
+    }
+
+    @Test
+    void filterHasNoFalseNegativesAndAsksForARebuildOnceFull() {
+        EmployeeEmailFilter filter = new EmployeeEmailFilter(0.01, 1000);
+        filter.beginRebuild(0);
+        filter.finishRebuild();
+        for (int i = 0; i < 1000; i++) {
+            filter.add("Person." + i + "@Example.com");
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(filter.mightContain("person." + i + "@example.com "));
+            if (filter.mightContain("stranger." + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 30, falsePositives + " false positives");
+        assertFalse(filter.isSaturated());
+
+        filter.add("one.too.many@example.com");
+        assertTrue(filter.isSaturated());
+    }
+
+    @Test
+    void onlyUniqueKeyViolationsAreConflicts() {
+        GlobalExceptionHandler handler = new GlobalExceptionHandler();
+        SQLException root = new SQLException("constraint violated");
+
+        assertEquals(HttpStatus.CONFLICT, handler.handleDataIntegrityViolation(new DataIntegrityViolationException(
+                "duplicate", new ConstraintViolationException("duplicate", root, null, ConstraintKind.UNIQUE,
+                        "uk_employees_email")))
+                .getStatusCode());
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, handler.handleDataIntegrityViolation(
+                new DataIntegrityViolationException("null", new ConstraintViolationException("null", root, null,
+                        ConstraintKind.OTHER, "email")))
+                .getStatusCode());
+    }
+
+    private String body(String email) throws Exception {
+        return objectMapper.writeValueAsString(TestEmployees.employee(email));
+    }
+
+}
@@ -0,0 +1,251 @@
+package com.shirdheen.employee.employee_creator_app_project;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeePageFilterDto;
+import com.shirdheen.employee.employee_creator_app_project.exporter.EmployeeExportJob;
+import com.shirdheen.employee.employee_creator_app_project.exporter.EmployeeExportService;
+import com.shirdheen.employee.employee_creator_app_project.model.Employee;
+import com.shirdheen.employee.employee_creator_app_project.repository.EmployeeRepository;
+import com.shirdheen.employee.employee_creator_app_project.service.EmployeeService;
+
+// Start dates far in the future keep other tests' employees out of the exports. One worker with
+// one queue slot, so a third concurrent export is turned away, and only three jobs are kept.
+@SpringBootTest(properties = { "employee.export.max-queued=1", "employee.export.retained-jobs=3" })
+@AutoConfigureMockMvc
+class EmployeeExportTest {
+
+    private static final String FILTER = "startDateFrom=2095-01-01";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeExportService exportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoSpyBean
+    private EmployeeService employeeService;
+
+    @BeforeEach
+    void setUp() {
+        if (employeeRepository.existsByEmail("export.a@example.com")) {
+            return;
+        }
+        employeeRepository.save(employee("a", "Ada", LocalDate.of(2095, 3, 1)));
+        employeeRepository.save(employee("b", "Quoted, \"Bea\"", LocalDate.of(2096, 7, 15)));
+    }
+
+    @Test
+    void csvExportHoldsTheFilteredEmployees() throws Exception {
+        String id = exportAndWait("CSV");
+
+        String csv = mockMvc.perform(get("/api/employees/exports/" + id + "/file"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"employees.csv\""))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lines = csv.split("\r\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("id,firstName,middleName,lastName,email,"));
+        assertTrue(lines[1].contains(",Ada,,export-a,export.a@example.com,"));
+        assertTrue(lines[1].contains(",PERMANENT,FULL_TIME,2095-03-01,,true,"));
+        assertTrue(lines[2].contains(",\"Quoted, \"\"Bea\"\"\",,export-b,"));
+    }
+
+    @Test
+    void xlsxExportIsAWorkbookWithOneRowPerEmployee() throws Exception {
+        String id = exportAndWait("XLSX");
+
+        byte[] xlsx = mockMvc.perform(get("/api/employees/exports/" + id + "/file"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        Map<String, String> parts = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(xlsx))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                parts.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        assertTrue(parts.keySet().containsAll(List.of("[Content_Types].xml", "_rels/.rels",
+                "xl/workbook.xml", "xl/_rels/workbook.xml.rels", "xl/styles.xml", "xl/worksheets/sheet1.xml")));
+        String sheet = parts.get("xl/worksheets/sheet1.xml");
+        assertEquals(3, sheet.split("<row>").length - 1);
+        assertTrue(sheet.contains(">Quoted, \"Bea\"</t>"));
+        // 2095-03-01 as a spreadsheet serial day
+        assertTrue(sheet.contains("<v>" + (LocalDate.of(2095, 3, 1).toEpochDay() + 25569) + "</v>"));
+    }
+
+    @Test
+    void deletingAnExportRemovesItsFile() throws Exception {
+        String id = exportAndWait("CSV");
+        Path file = exportService.getFile(UUID.fromString(id));
+        assertTrue(Files.exists(file));
+
+        mockMvc.perform(delete("/api/employees/exports/" + id)).andExpect(status().isNoContent());
+
+        assertFalse(Files.exists(file));
+        mockMvc.perform(get("/api/employees/exports/" + id)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void invalidExportsAreBadRequests() throws Exception {
+        mockMvc.perform(post("/api/employees/exports?format=PDF")).andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/employees/exports?format=CSV&minTenureYears=-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void cancellingARunningExportStopsItAndRemovesItsFiles() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        holdExports(started, release);
+
+        String location = submit("CSV", status().isAccepted());
+        EmployeeExportJob job;
+        try {
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            job = exportService.getJob(UUID.fromString(location.substring(location.lastIndexOf('/') + 1)));
+            assertEquals(EmployeeExportJob.State.RUNNING, job.getState());
+
+            mockMvc.perform(delete(location)).andExpect(status().isNoContent());
+            mockMvc.perform(get(location)).andExpect(status().isNotFound());
+        } finally {
+            release.countDown();
+        }
+
+        // The worker stops at its first row and cleans up after itself
+        for (int attempt = 0; attempt < 100 && job.getState() == EmployeeExportJob.State.RUNNING; attempt++) {
+            Thread.sleep(50);
+        }
+        assertEquals(EmployeeExportJob.State.CANCELLED, job.getState());
+        assertEquals(0, job.getRowsWritten().get());
+        assertFalse(Files.exists(job.getFile()));
+        assertFalse(Files.exists(job.getFile().resolveSibling(job.getFile().getFileName() + ".part")));
+    }
+
+    @Test
+    void exportsBeyondTheQueueAreTurnedAwayWith503() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        holdExports(started, release);
+
+        String running;
+        String queued;
+        try {
+            // The first holds the only worker, the second takes the only queue slot
+            running = submit("CSV", status().isAccepted());
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            queued = submit("CSV", status().isAccepted());
+            submit("CSV", status().isServiceUnavailable());
+        } finally {
+            release.countDown();
+        }
+
+        waitFor(running);
+        waitFor(queued);
+    }
+
+    @Test
+    void exportsBeingDownloadedAreNotEvicted() throws Exception {
+        UUID id = UUID.fromString(exportAndWait("CSV"));
+        Path file = exportService.getFile(id);
+
+        try (InputStream download = exportService.openFile(id)) {
+            // More exports than are retained; without the open download this one would go first
+            for (int i = 0; i < 4; i++) {
+                exportAndWait("CSV");
+            }
+            assertTrue(Files.exists(file));
+            assertEquals(3, new String(download.readAllBytes(), StandardCharsets.UTF_8).split("\r\n").length);
+        }
+
+        exportAndWait("CSV");
+        assertFalse(Files.exists(file));
+        mockMvc.perform(get("/api/employees/exports/" + id)).andExpect(status().isNotFound());
+    }
+
+    // Holds every export inside its query until release, counting started down as each begins
+    private void holdExports(CountDownLatch started, CountDownLatch release) {
+        doAnswer(invocation -> {
+            started.countDown();
+            assertTrue(release.await(10, TimeUnit.SECONDS));
+            return invocation.callRealMethod();
+        }).when(employeeService).streamEmployees(any(EmployeePageFilterDto.class), any(), any());
+    }
+
+    private String submit(String format, ResultMatcher expected) throws Exception {
+        return mockMvc.perform(post("/api/employees/exports?format=" + format + "&" + FILTER))
+                .andExpect(expected)
+                .andReturn().getResponse().getHeader("Location");
+    }
+
+    // Submits an export of the seeded employees and polls until it has completed
+    private String exportAndWait(String format) throws Exception {
+        return waitFor(submit(format, status().isAccepted()));
+    }
+
+    private String waitFor(String location) throws Exception {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            JsonNode status = objectMapper.readTree(mockMvc.perform(get(location)).andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            String state = status.get("state").asText();
+            if (state.equals("COMPLETED")) {
+                assertEquals(2, status.get("rowsWritten").asLong());
+                return status.get("id").asText();
+            }
+            assertFalse(state.equals("FAILED") || state.equals("CANCELLED"), status.toString());
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Export did not complete: " + location);
+    }
+
+    private static Employee employee(String name, String firstName, LocalDate startDate) {
+        Employee employee = TestEmployees.employee(firstName, "export-" + name, "export." + name + "@example.com");
+        employee.setStartDate(startDate);
+        employee.setOngoing(true);
+        return employee;
+    }
+}
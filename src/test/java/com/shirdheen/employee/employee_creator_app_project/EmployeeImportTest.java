@@ -0,0 +1,215 @@
+package com.shirdheen.employee.employee_creator_app_project;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shirdheen.employee.employee_creator_app_project.model.Employee;
+import com.shirdheen.employee.employee_creator_app_project.repository.EmployeeBatchWriter;
+import com.shirdheen.employee.employee_creator_app_project.repository.EmployeeRepository;
+import com.shirdheen.employee.employee_creator_app_project.service.EmployeeService;
+
+// Chunks of two rows, so one small file crosses several chunk (and transaction) boundaries,
+// and one worker with one queue slot, so a third concurrent import is turned away
+@SpringBootTest(properties = { "employee.import.batch-size=2", "employee.import.workers=1",
+        "employee.import.max-queued=1" })
+@AutoConfigureMockMvc
+class EmployeeImportTest {
+
+    private static final String HEADER = "firstName,lastName,email,mobileNumber,residentialAddress,contractType,"
+            + "employmentType,startDate,finishDate,ongoing,salary,hoursPerWeek\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoSpyBean
+    private EmployeeBatchWriter batchWriter;
+
+    @Test
+    void csvImportWritesTheValidRowsAndReportsEveryOtherByNumber() throws Exception {
+        employeeService.createEmployee(TestEmployees.employee("import.existing@example.com"));
+
+        String csv = HEADER
+                + "Ada,Import,import.ada@example.com,+61 412345678,,PERMANENT,FULL_TIME,2021-02-01,,false,90000,\n"
+                // One record over two lines, with a quoted comma and doubled quotes
+                + "Bea,Import,import.bea@example.com,+61 412345678,\"12 Quoted St, \"\"Unit\"\" 4\nSydney\","
+                + "CONTRACT,PART_TIME,2021-02-01,2022-02-01,false,50000,20\r\n"
+                + "Cy,Import\n"
+                + "Dee,Import,import.dee@example.com,+61 412345678,,PERMANENT,SOMETIMES,2021-02-01,,false,90000,38\n"
+                // Ada's email again, in a later chunk once hers is committed
+                + "Ada,Again,Import.Ada@example.com,+61 412345678,,PERMANENT,FULL_TIME,2021-02-01,,false,90000,38\n"
+                + "Eve,Import,import.eve@example.com,+61 412345678,,CONTRACT,FULL_TIME,2023-01-01,2022-01-01,false,90000,38\n"
+                + "Gus,Import,import.gus@example.com,+61 412345678,,PERMANENT,FULL_TIME,2021-02-01,,false,90000,38\n"
+                + "Gus,Twice,import.gus@example.com,+61 412345678,,PERMANENT,FULL_TIME,2021-02-01,,false,90000,38\n"
+                + "Fay,Import,import.existing@example.com,+61 412345678,,PERMANENT,FULL_TIME,2021-02-01,,false,90000,38\n";
+
+        JsonNode job = importAndWait(upload("employees.csv", csv), "COMPLETED");
+
+        assertEquals(9, job.get("rowsProcessed").asLong());
+        assertEquals(3, job.get("rowsImported").asLong());
+        assertEquals(6, job.get("rowsFailed").asLong());
+        Map<Long, String> errors = errors(job);
+        assertEquals(List.of(3L, 4L, 5L, 6L, 8L, 9L), List.copyOf(errors.keySet()));
+        assertEquals("Expected 12 columns but found 2", errors.get(3L));
+        assertEquals("Invalid value for field 'employmentType': SOMETIMES", errors.get(4L));
+        assertEquals("Email already in use: import.ada@example.com", errors.get(5L));
+        assertEquals("Start date must be before finish date", errors.get(6L));
+        assertEquals("Email appears more than once in the file: import.gus@example.com", errors.get(8L));
+        assertEquals("Email already in use: import.existing@example.com", errors.get(9L));
+
+        Employee ada = imported("import.ada@example.com");
+        assertEquals("Import", ada.getLastName());
+        assertNull(ada.getHoursPerWeek());
+        assertNull(ada.getFinishDate());
+        Employee bea = imported("import.bea@example.com");
+        assertEquals("12 Quoted St, \"Unit\" 4\nSydney", bea.getResidentialAddress());
+        assertEquals(LocalDate.of(2022, 2, 1), bea.getFinishDate());
+        assertEquals(20, bea.getHoursPerWeek());
+        assertEquals("Import", imported("import.gus@example.com").getLastName());
+    }
+
+    @Test
+    void ndjsonImportFailsOnlyTheLinesItCannotUse() throws Exception {
+        String ndjson = """
+                {"firstName":"Hal","lastName":"Import","email":"import.hal@example.com","mobileNumber":"+61 412345678","contractType":"PERMANENT","employmentType":"FULL_TIME","startDate":"2021-02-01","ongoing":true,"salary":70000,"hoursPerWeek":38}
+                {"firstName":"Ivy",
+                {"firstName":"Ivy","nickname":"Iv","lastName":"Import","email":"import.ivy@example.com"}
+
+                [1, 2]
+                {"firstName":"Jo","lastName":"Import","email":"import.jo@example.com","mobileNumber":"+61 412345678","contractType":"CONTRACT","employmentType":"PART_TIME","startDate":"2021-02-01","finishDate":"2021-08-01","ongoing":false,"salary":"35000.5"}
+                """;
+
+        JsonNode job = importAndWait(upload("employees.ndjson", ndjson), "COMPLETED");
+
+        assertEquals(2, job.get("rowsImported").asLong());
+        // Blank lines are skipped but still counted, so rows are line numbers
+        Map<Long, String> errors = errors(job);
+        assertEquals(List.of(2L, 3L, 5L), List.copyOf(errors.keySet()));
+        assertEquals("Field 'nickname' not found in Employee entity.", errors.get(3L));
+        assertTrue(errors.get(2L).startsWith("Malformed JSON: "));
+        assertTrue(errors.get(5L).startsWith("Malformed JSON: "));
+
+        assertTrue(imported("import.hal@example.com").isOngoing());
+        assertEquals(35000.5, imported("import.jo@example.com").getSalary());
+    }
+
+    @Test
+    void csvWithAnUnknownColumnFailsTheWholeJob() throws Exception {
+        JsonNode job = importAndWait(upload("employees.csv", "firstName,nickname\nKit,K\n"), "FAILED");
+
+        assertEquals("Field 'nickname' not found in Employee entity.", job.get("message").asText());
+        assertEquals(0, job.get("rowsImported").asLong());
+    }
+
+    @Test
+    void uploadsThatCannotBeImportedAreBadRequests() throws Exception {
+        mockMvc.perform(multipart("/api/employees/imports").file(upload("employees.csv", "")))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(multipart("/api/employees/imports").file(upload("employees.txt", HEADER)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void importsBeyondTheQueueAreTurnedAwayWith503() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).when(batchWriter).insertAll(any(), anyInt());
+
+        String running;
+        String queued;
+        try {
+            // The first holds the only worker, the second takes the only queue slot
+            running = submit(upload("employees.csv", HEADER + row("import.q1@example.com")), status().isAccepted());
+            queued = submit(upload("employees.csv", HEADER + row("import.q2@example.com")), status().isAccepted());
+            submit(upload("employees.csv", HEADER + row("import.q3@example.com")), status().isServiceUnavailable());
+        } finally {
+            release.countDown();
+        }
+
+        assertEquals(1, waitFor(running, "COMPLETED").get("rowsImported").asLong());
+        assertEquals(1, waitFor(queued, "COMPLETED").get("rowsImported").asLong());
+        assertFalse(employeeRepository.existsByEmail("import.q3@example.com"));
+    }
+
+    private Employee imported(String email) {
+        return employeeRepository.findByEmailIn(List.of(email)).get(0);
+    }
+
+    private static String row(String email) {
+        return "Lee,Import," + email + ",+61 412345678,,PERMANENT,FULL_TIME,2021-02-01,,false,90000,38\n";
+    }
+
+    private static MockMultipartFile upload(String fileName, String content) {
+        return new MockMultipartFile("file", fileName, "application/octet-stream",
+                content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private JsonNode importAndWait(MockMultipartFile file, String finalState) throws Exception {
+        return waitFor(submit(file, status().isAccepted()), finalState);
+    }
+
+    private String submit(MockMultipartFile file, ResultMatcher expected) throws Exception {
+        return mockMvc.perform(multipart("/api/employees/imports").file(file))
+                .andExpect(expected)
+                .andReturn().getResponse().getHeader("Location");
+    }
+
+    // Polls the job until it reaches finalState; any other final state fails the test
+    private JsonNode waitFor(String location, String finalState) throws Exception {
+        for (int attempt = 0; attempt < 200; attempt++) {
+            JsonNode job = objectMapper.readTree(mockMvc.perform(get(location)).andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            String state = job.get("state").asText();
+            if (state.equals(finalState)) {
+                return job;
+            }
+            assertFalse(state.equals("COMPLETED") || state.equals("FAILED"), job.toString());
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Import did not reach " + finalState + ": " + location);
+    }
+
+    // Rows fail in the order each check runs, not file order, so these are keyed by row number
+    private static Map<Long, String> errors(JsonNode job) {
+        Map<Long, String> errors = new TreeMap<>();
+        job.get("errors").forEach(error -> errors.put(error.get("row").asLong(), error.get("message").asText()));
+        return errors;
+    }
+}
@@ -0,0 +1,111 @@
+package com.shirdheen.employee.employee_creator_app_project;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.shirdheen.employee.employee_creator_app_project.format.EmployeeListFormat;
+import com.shirdheen.employee.employee_creator_app_project.model.ContractType;
+import com.shirdheen.employee.employee_creator_app_project.model.Employee;
+import com.shirdheen.employee.employee_creator_app_project.model.EmploymentType;
+import com.shirdheen.employee.employee_creator_app_project.repository.EmployeeRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeListFormatTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void smileAndColumnsCarryTheSameEmployeesAsJson() throws Exception {
+        employeeRepository.save(employee("format.one@example.com", ContractType.PERMANENT, null));
+        employeeRepository.save(employee("format.two@example.com", ContractType.CONTRACT, LocalDate.of(2026, 6, 30)));
+
+        for (String url : List.of("/api/employees", "/api/employees/filter?contractType=CONTRACT")) {
+            JsonNode json = objectMapper.readTree(body(get(url)));
+            JsonNode smile = new SmileMapper().readTree(
+                    body(get(url).header(HttpHeaders.ACCEPT, EmployeeListFormat.SMILE_VALUE)));
+            JsonNode columns = objectMapper.readTree(
+                    body(get(url).header(HttpHeaders.ACCEPT, EmployeeListFormat.COLUMNS_VALUE)));
+
+            assertEquals(json, smile);
+            assertEquals(json, rows(columns));
+        }
+    }
+
+    private byte[] body(RequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+        assertEquals(200, result.getResponse().getStatus());
+        return result.getResponse().getContentAsByteArray();
+    }
+
+    // Turns the columnar blocks back into the row objects the JSON format sends
+    private static ArrayNode rows(JsonNode columns) {
+        Map<String, JsonNode> dictionaries = new LinkedHashMap<>();
+        columns.get("dictionaries").fields().forEachRemaining(entry -> dictionaries.put(entry.getKey(), entry.getValue()));
+
+        ArrayNode rows = JsonNodeFactory.instance.arrayNode();
+        for (JsonNode block : columns.get("blocks")) {
+            List<ObjectNode> blockRows = new ArrayList<>();
+            for (int i = 0; i < block.get("rows").asInt(); i++) {
+                blockRows.add(rows.addObject());
+            }
+            for (Iterator<JsonNode> names = columns.get("columns").elements(); names.hasNext();) {
+                String name = names.next().asText();
+                JsonNode values = block.get(name);
+                for (int i = 0; i < blockRows.size(); i++) {
+                    JsonNode value = values.get(i);
+                    if (!value.isNull() && dictionaries.containsKey(name)) {
+                        value = dictionaries.get(name).get(value.asInt());
+                    } else if (!value.isNull() && name.endsWith("Date")) {
+                        value = JsonNodeFactory.instance.textNode(LocalDate.ofEpochDay(value.asLong()).toString());
+                    }
+                    blockRows.get(i).set(name, value);
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static Employee employee(String email, ContractType contractType, LocalDate finishDate) {
+        Employee employee = TestEmployees.employee(email);
+        employee.setContractType(contractType);
+        employee.setEmploymentType(EmploymentType.PART_TIME);
+        employee.setFinishDate(finishDate);
+        employee.setOngoing(finishDate == null);
+        employee.setHoursPerWeek(20);
+        return employee;
+    }
+}
@@ -0,0 +1,125 @@
+package com.shirdheen.employee.employee_creator_app_project;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shirdheen.employee.employee_creator_app_project.model.Employee;
+import com.shirdheen.employee.employee_creator_app_project.repository.EmployeeRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeListingEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void pagesCoverEveryEmployeeOnceWhileRowsAreInserted() throws Exception {
+        for (int i = 0; i < 12; i++) {
+            employeeRepository.save(TestEmployees.employee("Page", "page-" + i, "page." + i + "@example.com"));
+        }
+        Set<Long> before = ids(employeeRepository.findAll());
+
+        List<Long> walked = new ArrayList<>();
+        Long late = null;
+        String cursor = null;
+        do {
+            JsonNode page = objectMapper.readTree(mockMvc
+                    .perform(get("/api/employees/page?size=5" + (cursor == null ? "" : "&cursor=" + cursor)))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            page.get("items").forEach(item -> walked.add(item.get("id").asLong()));
+            cursor = page.get("next").isNull() ? null : page.get("next").asText();
+
+            // Offsets would repeat a row here; the cursor is a key, so nothing shifts under it
+            if (late == null) {
+                employeeRepository.save(TestEmployees.employee("Page", "AAA-page-early", "page.early@example.com"));
+                late = employeeRepository.save(TestEmployees.employee("Page", "zzz-page-late", "page.late@example.com"))
+                        .getId();
+            }
+        } while (cursor != null);
+
+        assertEquals(walked.size(), new HashSet<>(walked).size(), "an employee was listed twice");
+        assertTrue(walked.containsAll(before), "an employee was skipped");
+        // Rows inserted ahead of the cursor still turn up
+        assertTrue(walked.contains(late));
+    }
+
+    @Test
+    void pageSizeIsBounded() throws Exception {
+        mockMvc.perform(get("/api/employees/page?size=0")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/employees/page?size=501")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/employees/page?cursor=not-a-cursor")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamWritesEveryEmployeeAsOneJsonLineInPageOrder() throws Exception {
+        employeeRepository.save(TestEmployees.employee("Stream", "stream-a", "stream.a@example.com"));
+
+        MvcResult started = mockMvc.perform(get("/api/employees/stream")).andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE))
+                .andReturn();
+
+        List<Long> streamed = new ArrayList<>();
+        for (String line : result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isBlank()) {
+                streamed.add(objectMapper.readTree(line).get("id").asLong());
+            }
+        }
+        assertEquals(pagedIds(), streamed);
+
+        // Nothing changed, so the ETag still matches and no rows are read
+        mockMvc.perform(get("/api/employees/stream")
+                .header(HttpHeaders.IF_NONE_MATCH, result.getResponse().getHeader(HttpHeaders.ETAG)))
+                .andExpect(status().isNotModified());
+    }
+
+    // Every id in (lastName, id) order, one maximum-size page at a time
+    private List<Long> pagedIds() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            JsonNode page = objectMapper.readTree(mockMvc
+                    .perform(get("/api/employees/page?size=500" + (cursor == null ? "" : "&cursor=" + cursor)))
+                    .andReturn().getResponse().getContentAsString());
+            page.get("items").forEach(item -> ids.add(item.get("id").asLong()));
+            cursor = page.get("next").isNull() ? null : page.get("next").asText();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private static Set<Long> ids(List<Employee> employees) {
+        Set<Long> ids = new HashSet<>();
+        employees.forEach(employee -> ids.add(employee.getId()));
+        return ids;
+    }
+}
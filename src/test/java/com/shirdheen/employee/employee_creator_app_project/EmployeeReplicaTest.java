@@ -0,0 +1,200 @@
+package com.shirdheen.employee.employee_creator_app_project;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeBatchUpdateDto;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeBulkUpdateDto;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeDto;
+import com.shirdheen.employee.employee_creator_app_project.exception.DuplicateEmailException;
+import com.shirdheen.employee.employee_creator_app_project.model.ContractType;
+import com.shirdheen.employee.employee_creator_app_project.model.Employee;
+import com.shirdheen.employee.employee_creator_app_project.model.EmploymentType;
+import com.shirdheen.employee.employee_creator_app_project.replica.EmployeeReplica;
+import com.shirdheen.employee.employee_creator_app_project.replica.EmployeeReplicaUpdater;
+import com.shirdheen.employee.employee_creator_app_project.repository.EmployeeRepository;
+import com.shirdheen.employee.employee_creator_app_project.service.EmployeeDerivedAttributes;
+import com.shirdheen.employee.employee_creator_app_project.service.EmployeeService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+
+// The audit log is off so its flusher can't borrow a connection while reads are being checked
+@SpringBootTest(properties = { "employee.replica.enabled=true", "employee.audit.enabled=false" })
+class EmployeeReplicaTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeReplica replica;
+
+    @Autowired
+    private EmployeeReplicaUpdater replicaUpdater;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // The database is shared with other test classes, which also write behind the replica's back
+    @BeforeEach
+    void reload() {
+        replicaUpdater.rebuild();
+    }
+
+    @Test
+    void matchesTheJpaPathAfterEveryKindOfWrite() throws Exception {
+        Long ada = employeeService.createEmployee(employee("Ada", "Lovelace", "replica.ada@example.com",
+                EmploymentType.FULL_TIME, ContractType.PERMANENT)).getId();
+        Long alan = employeeService.createEmployee(employee("Alan", "Turing", "replica.alan@example.com",
+                EmploymentType.PART_TIME, ContractType.CONTRACT)).getId();
+        Long grace = employeeService.createEmployee(employee("Grace", "Hopper", "replica.grace@example.com",
+                EmploymentType.FULL_TIME, ContractType.CONTRACT)).getId();
+        Long edsger = employeeService.createEmployee(employee("Edsger", "Dijkstra", "replica.edsger@example.com",
+                EmploymentType.PART_TIME, ContractType.PERMANENT)).getId();
+
+        // A rename that moves Ada to the end of the lastName order, a batch and a bulk update, and a delete
+        employeeService.updateEmployee(ada, Map.of("lastName", "Zuse", "salary", 120000));
+        employeeService.updateEmployees(List.of(
+                new EmployeeBatchUpdateDto(alan, Map.of("employmentType", "FULL_TIME"), null),
+                new EmployeeBatchUpdateDto(grace, Map.of("email", "replica.hopper@example.com"), null)));
+        employeeService.bulkUpdateEmployees(
+                new EmployeeBulkUpdateDto(List.of(alan, edsger), Map.of("hoursPerWeek", 30)));
+        employeeService.deleteEmployee(edsger);
+
+        assertSameRows(employeeRepository.findAllDtos(), employeeService.getAllEmployees());
+        for (EmploymentType employmentType : values(EmploymentType.values())) {
+            for (ContractType contractType : values(ContractType.values())) {
+                assertSameRows(jpaFilter(employmentType, contractType),
+                        employeeService.filterEmployees(employmentType, contractType));
+            }
+        }
+        EmployeeDerivedAttributes.AsOf asOf = EmployeeDerivedAttributes.asOf(LocalDate.of(2024, 3, 15));
+        assertSameRows(
+                employeeRepository.findAllDtos().stream()
+                        .filter(employee -> employee.getEmploymentType() == EmploymentType.FULL_TIME)
+                        .filter(employee -> !employee.getStartDate().isBefore(asOf.probationStartsOnOrAfter()))
+                        .toList(),
+                employeeService.filterEmployees(EmploymentType.FULL_TIME, null, true, null, asOf));
+
+        for (Long id : List.of(ada, alan, grace)) {
+            assertEquals(json(employeeRepository.findDtoById(id).orElseThrow()),
+                    json(employeeService.getEmployeeById(id)));
+        }
+        assertEquals(1, employeeService.getEmployeeById(ada).getVersion());
+        assertThrows(EntityNotFoundException.class, () -> employeeService.getEmployeeById(edsger));
+
+        List<EmployeeDto> found = employeeService.searchEmployees("hopper", 10);
+        assertTrue(found.stream().anyMatch(employee -> employee.getId().equals(grace)));
+        for (EmployeeDto employee : found) {
+            assertEquals(json(employeeRepository.findDtoById(employee.getId()).orElseThrow()), json(employee));
+        }
+
+        // Our own rows keep the database's order; the rest may differ only in letter case
+        List<Long> ours = List.of(grace, alan, ada);
+        assertEquals(ours, employeeService.getAllEmployees().stream().map(EmployeeDto::getId)
+                .filter(ours::contains).toList());
+        assertEquals(ours, employeeRepository.findAllDtos().stream().map(EmployeeDto::getId)
+                .filter(ours::contains).toList());
+    }
+
+    @Test
+    void readsDoNotTouchTheDatabase() {
+        Long id = employeeService.createEmployee(employee("Barbara", "Liskov", "replica.barbara@example.com",
+                EmploymentType.FULL_TIME, ContractType.PERMANENT)).getId();
+        double acquiredBefore = meterRegistry.get("hikaricp.connections.acquire").timer().count();
+        RecordingStatementInspector.clear();
+
+        employeeService.getAllEmployees();
+        employeeService.filterEmployees(EmploymentType.FULL_TIME, ContractType.PERMANENT);
+        employeeService.getEmployeeById(id);
+        employeeService.searchEmployees("liskov", 10);
+        employeeService.streamEmployees(employee -> {
+        });
+
+        assertTrue(RecordingStatementInspector.statements().isEmpty());
+        assertEquals(acquiredBefore, meterRegistry.get("hikaricp.connections.acquire").timer().count());
+    }
+
+    @Test
+    void readersKeepTheirCopiesAndTheEmailIndexCatchesDuplicates() {
+        Long id = employeeService.createEmployee(employee("Frances", "Allen", "replica.frances@example.com",
+                EmploymentType.FULL_TIME, ContractType.PERMANENT)).getId();
+
+        employeeService.getEmployeeById(id).setLastName("Changed");
+        assertEquals("Allen", employeeService.getEmployeeById(id).getLastName());
+
+        assertThrows(DuplicateEmailException.class, () -> employeeService.createEmployee(employee("Fran", "Allen",
+                "Replica.Frances@example.com", EmploymentType.PART_TIME, ContractType.CONTRACT)));
+        assertFalse(replica.containsEmail("replica.nobody@example.com"));
+    }
+
+    private List<EmployeeDto> jpaFilter(EmploymentType employmentType, ContractType contractType) {
+        return employeeRepository.findAllDtos().stream()
+                .filter(employee -> employmentType == null || employee.getEmploymentType() == employmentType)
+                .filter(employee -> contractType == null || employee.getContractType() == contractType)
+                .toList();
+    }
+
+    // Same rows with the same values, and the replica's list in (lastName ignoring case, id) order
+    private void assertSameRows(List<EmployeeDto> expected, List<EmployeeDto> actual) throws Exception {
+        Map<Long, String> expectedById = new TreeMap<>();
+        for (EmployeeDto employee : expected) {
+            expectedById.put(employee.getId(), json(employee));
+        }
+        Map<Long, String> actualById = new TreeMap<>();
+        for (EmployeeDto employee : actual) {
+            actualById.put(employee.getId(), json(employee));
+        }
+        assertEquals(expectedById, actualById);
+
+        List<EmployeeDto> sorted = new ArrayList<>(actual);
+        sorted.sort(Comparator.comparing(EmployeeDto::getLastName, String.CASE_INSENSITIVE_ORDER)
+                .thenComparing(EmployeeDto::getId));
+        assertEquals(sorted.stream().map(EmployeeDto::getId).toList(),
+                actual.stream().map(EmployeeDto::getId).toList());
+    }
+
+    private String json(EmployeeDto employee) throws Exception {
+        return objectMapper.writeValueAsString(employee);
+    }
+
+    // Every value plus null for "any"
+    private static <T> List<T> values(T[] values) {
+        List<T> withAny = new ArrayList<>(Arrays.asList(values));
+        withAny.add(null);
+        return withAny;
+    }
+
+    private static Employee employee(String firstName, String lastName, String email, EmploymentType employmentType,
+            ContractType contractType) {
+        Employee employee = TestEmployees.employee(firstName, lastName, email);
+        employee.setContractType(contractType);
+        employee.setEmploymentType(employmentType);
+        employee.setStartDate(LocalDate.of(2024, 1, 8));
+        employee.setFinishDate(contractType == ContractType.CONTRACT ? LocalDate.of(2026, 1, 8) : null);
+        employee.setSalary(95000.0);
+        return employee;
+    }
+}
@@ -0,0 +1,51 @@
+package com.shirdheen.employee.employee_creator_app_project;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeCursor;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeDto;
+import com.shirdheen.employee.employee_creator_app_project.event.EmployeeChangedEvent;
+import com.shirdheen.employee.employee_creator_app_project.metrics.RequestMetricsStatementInspector;
+
+class EmployeeRuntimeHintsTest {
+
+    @Test
+    void registersTheDtosAndTheHibernateHooks() throws Exception {
+        RuntimeHints hints = new RuntimeHints();
+        new EmployeeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(EmployeeDto.class.getMethod("getEmail")).test(hints));
+        // Property types are followed from the registered DTOs
+        assertTrue(RuntimeHintsPredicates.reflection().onType(EmployeeChangedEvent.Type.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onConstructor(RequestMetricsStatementInspector.class.getConstructor()).test(hints));
+    }
+
+    @Test
+    void registersEveryDto() throws Exception {
+        RuntimeHints hints = new RuntimeHints();
+        new EmployeeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter((reader, factory) -> true);
+        List<String> missing = new ArrayList<>();
+        for (BeanDefinition dto : scanner.findCandidateComponents(EmployeeDto.class.getPackageName())) {
+            Class<?> type = Class.forName(dto.getBeanClassName());
+            // The cursor travels as an encoded token, never as JSON
+            if (type != EmployeeCursor.class && !RuntimeHintsPredicates.reflection().onType(type).test(hints)) {
+                missing.add(type.getSimpleName());
+            }
+        }
+        assertEquals(List.of(), missing);
+    }
+}
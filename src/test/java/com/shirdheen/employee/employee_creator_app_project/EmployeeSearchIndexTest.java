@@ -0,0 +1,93 @@
+package com.shirdheen.employee.employee_creator_app_project;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeDto;
+import com.shirdheen.employee.employee_creator_app_project.model.Employee;
+import com.shirdheen.employee.employee_creator_app_project.search.EmployeeSearchIndex;
+
+class EmployeeSearchIndexTest {
+
+    private EmployeeSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new EmployeeSearchIndex();
+        searchIndex.put(employee(1L, "John", "Smith", "john.smith@example.com"));
+        searchIndex.put(employee(2L, "Jane", "Smithers", "jane.s@example.com"));
+        searchIndex.put(employee(3L, "Alice", "Jones", "alice@acme.com"));
+    }
+
+    @Test
+    void ranksExactMatchesAbovePrefixMatches() {
+        assertEquals(List.of(1L, 2L), searchIndex.search("smith", 10));
+    }
+
+    @Test
+    void matchesSubstringsLikeTheOldQuery() {
+        assertEquals(List.of(1L, 2L), searchIndex.search("mith", 10));
+        assertEquals(List.of(1L), searchIndex.search("n.smi", 10));
+    }
+
+    @Test
+    void toleratesSingleTypos() {
+        assertEquals(List.of(3L), searchIndex.search("jnoes", 10));
+        assertEquals(List.of(1L), searchIndex.search("smiht", 10).subList(0, 1));
+        assertTrue(searchIndex.search("alcie", 10).contains(3L));
+    }
+
+    @Test
+    void requiresEveryWordToMatch() {
+        assertEquals(List.of(1L), searchIndex.search("john smith", 10));
+    }
+
+    @Test
+    void respectsLimit() {
+        assertEquals(1, searchIndex.search("example", 1).size());
+    }
+
+    @Test
+    void reflectsUpdatesAndRemovals() {
+        searchIndex.put(employee(1L, "John", "Baker", "john.baker@example.com"));
+        assertEquals(List.of(2L), searchIndex.search("smith", 10));
+
+        searchIndex.remove(2L);
+        assertTrue(searchIndex.search("smith", 10).isEmpty());
+        assertEquals(2, searchIndex.size());
+    }
+
+    @Test
+    void changesCommittedDuringARebuildWinOverTheRowsItRead() {
+        searchIndex.beginRebuild();
+        // The rebuild reads John and Jane before they change, and Alice after she was deleted
+        searchIndex.addToRebuild(new EmployeeDto(employee(1L, "John", "Smith", "john.smith@example.com")));
+        searchIndex.remove(1L);
+        searchIndex.put(employee(2L, "Jane", "Baker", "jane.b@example.com"));
+        searchIndex.addToRebuild(new EmployeeDto(employee(2L, "Jane", "Smithers", "jane.s@example.com")));
+        searchIndex.put(employee(4L, "Grace", "Smith", "grace@example.com"));
+        assertFalse(searchIndex.isReady());
+
+        searchIndex.finishRebuild();
+
+        assertTrue(searchIndex.isReady());
+        assertEquals(List.of(4L), searchIndex.search("smith", 10));
+        assertEquals(List.of(2L), searchIndex.search("baker", 10));
+        assertEquals(2, searchIndex.size());
+    }
+
+    private Employee employee(Long id, String firstName, String lastName, String email) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setFirstName(firstName);
+        employee.setLastName(lastName);
+        employee.setEmail(email);
+        return employee;
+    }
+}
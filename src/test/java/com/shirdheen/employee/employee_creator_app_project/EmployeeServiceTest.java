@@ -1,18 +1,53 @@
 package com.shirdheen.employee.employee_creator_app_project;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
 
+import com.shirdheen.employee.employee_creator_app_project.model.ContractType;
+import com.shirdheen.employee.employee_creator_app_project.model.Employee;
 import com.shirdheen.employee.employee_creator_app_project.repository.EmployeeRepository;
+import com.shirdheen.employee.employee_creator_app_project.search.EmployeeSearchIndex;
 import com.shirdheen.employee.employee_creator_app_project.service.EmployeeService;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validator;
+
 class EmployeeServiceTest {
     
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private EmployeeSearchIndex searchIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private EmployeeService employeeService;
 
@@ -22,4 +57,51 @@ class EmployeeServiceTest {
     void setUp() {
         closeable = MockitoAnnotations.openMocks(this);
     }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        closeable.close();
+    }
+
+    @Test
+    void updateEmployeeConvertsRawJsonValues() {
+        Employee employee = new Employee();
+        employee.setId(1L);
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+        when(employeeRepository.save(any(Employee.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        employeeService.updateEmployee(1L, Map.of(
+                "contractType", "CONTRACT",
+                "startDate", "2024-02-01",
+                "salary", 85000,
+                "hoursPerWeek", "38",
+                "ongoing", true));
+
+        assertEquals(ContractType.CONTRACT, employee.getContractType());
+        assertEquals(LocalDate.of(2024, 2, 1), employee.getStartDate());
+        assertEquals(85000.0, employee.getSalary());
+        assertEquals(38, employee.getHoursPerWeek());
+        assertEquals(true, employee.isOngoing());
+        verify(validator).validateProperty(employee, "salary");
+        verify(validator, never()).validate(any());
+    }
+
+    @Test
+    void updateEmployeeRejectsIdAndUnknownFieldsBeforeLoading() {
+        assertThrows(IllegalArgumentException.class, () -> employeeService.updateEmployee(1L, Map.of("id", 2)));
+        assertThrows(IllegalArgumentException.class,
+                () -> employeeService.updateEmployee(1L, Map.of("nickname", "JJ")));
+        verify(employeeRepository, never()).findById(any());
+    }
+
+    @Test
+    void updateEmployeeRejectsUnconvertibleValues() {
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(new Employee()));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> employeeService.updateEmployee(1L, Map.of("employmentType", "FREELANCE")));
+        assertThrows(IllegalArgumentException.class,
+                () -> employeeService.updateEmployee(1L, Map.of("startDate", "tomorrow")));
+        verify(validator, never()).validateProperty(any(), anyString());
+    }
 }
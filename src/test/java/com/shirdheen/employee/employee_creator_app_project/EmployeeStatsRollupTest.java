@@ -0,0 +1,96 @@
+package com.shirdheen.employee.employee_creator_app_project;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeDto;
+import com.shirdheen.employee.employee_creator_app_project.dto.EmployeeStatsDto;
+import com.shirdheen.employee.employee_creator_app_project.model.ContractType;
+import com.shirdheen.employee.employee_creator_app_project.model.EmploymentType;
+import com.shirdheen.employee.employee_creator_app_project.stats.EmployeeStatsRollup;
+
+class EmployeeStatsRollupTest {
+
+    private final EmployeeStatsRollup rollup = new EmployeeStatsRollup();
+
+    @Test
+    void updatesMoveContributionsBetweenGroupsAndDeletesSubtractThem() {
+        rollup.put(employee(1L, EmploymentType.FULL_TIME, ContractType.PERMANENT, 100000.0, 38));
+        rollup.put(employee(2L, EmploymentType.FULL_TIME, ContractType.PERMANENT, 80000.0, 38));
+        rollup.put(employee(3L, EmploymentType.PART_TIME, ContractType.CONTRACT, 40000.0, 20));
+
+        // Employee 2 moves to part-time and gets a raise; employee 3 leaves
+        rollup.put(employee(2L, EmploymentType.PART_TIME, ContractType.PERMANENT, 90000.0, 24));
+        rollup.remove(3L);
+
+        List<EmployeeStatsDto> byEmploymentType = rollup.summarize(true, false);
+        assertEquals(2, byEmploymentType.size());
+        assertEquals(EmploymentType.FULL_TIME, byEmploymentType.get(0).getEmploymentType());
+        assertNull(byEmploymentType.get(0).getContractType());
+        assertEquals(1, byEmploymentType.get(0).getHeadcount());
+        assertEquals(100000.0, byEmploymentType.get(0).getTotalSalary());
+        assertEquals(1, byEmploymentType.get(1).getHeadcount());
+        assertEquals(90000.0, byEmploymentType.get(1).getTotalSalary());
+        assertEquals(24, byEmploymentType.get(1).getTotalHoursPerWeek());
+
+        // Empty groups are left out
+        assertTrue(rollup.summarize(false, true).stream()
+                .noneMatch(group -> group.getContractType() == ContractType.CONTRACT));
+
+        EmployeeStatsDto overall = rollup.summarize(false, false).get(0);
+        assertEquals(2, overall.getHeadcount());
+        assertEquals(190000.0, overall.getTotalSalary());
+        assertEquals(95000.0, overall.getAverageSalary());
+    }
+
+    @Test
+    void percentilesAreWithinHalfAPercent() {
+        for (long id = 1; id <= 1000; id++) {
+            rollup.put(employee(id, EmploymentType.FULL_TIME, ContractType.PERMANENT, id * 100.0, 38));
+        }
+
+        EmployeeStatsDto overall = rollup.summarize(false, false).get(0);
+        assertEquals(50000.0, overall.getSalaryP50(), 250.0);
+        assertEquals(90000.0, overall.getSalaryP90(), 450.0);
+        assertEquals(99000.0, overall.getSalaryP99(), 495.0);
+    }
+
+    @Test
+    void changesCommittedDuringARebuildWinOverTheRowsItRead() {
+        rollup.beginRebuild();
+        assertFalse(rollup.isReady());
+        rollup.addToRebuild(employee(1L, EmploymentType.FULL_TIME, ContractType.PERMANENT, 100000.0, 38));
+        // Committed after the rebuild read them: 1 got a raise, 2 was created, 3 was deleted
+        rollup.put(employee(1L, EmploymentType.FULL_TIME, ContractType.PERMANENT, 120000.0, 38));
+        rollup.put(employee(2L, EmploymentType.PART_TIME, ContractType.CONTRACT, 40000.0, 20));
+        rollup.remove(3L);
+        // Read by the rebuild after those commits, from a snapshot taken before them
+        rollup.addToRebuild(employee(2L, EmploymentType.PART_TIME, ContractType.CONTRACT, 30000.0, 20));
+        rollup.addToRebuild(employee(3L, EmploymentType.PART_TIME, ContractType.CONTRACT, 50000.0, 20));
+        rollup.finishRebuild();
+
+        assertTrue(rollup.isReady());
+        assertEquals(2, rollup.size());
+        EmployeeStatsDto overall = rollup.summarize(false, false).get(0);
+        assertEquals(2, overall.getHeadcount());
+        assertEquals(160000.0, overall.getTotalSalary());
+        assertEquals(58, overall.getTotalHoursPerWeek());
+    }
+
+    private EmployeeDto employee(Long id, EmploymentType employmentType, ContractType contractType, Double salary,
+            Integer hoursPerWeek) {
+        EmployeeDto employee = new EmployeeDto();
+        employee.setId(id);
+        employee.setEmploymentType(employmentType);
+        employee.setContractType(contractType);
+        employee.setSalary(salary);
+        employee.setHoursPerWeek(hoursPerWeek);
+        return employee;
+    }
+}
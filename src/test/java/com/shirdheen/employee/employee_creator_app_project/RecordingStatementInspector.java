@@ -0,0 +1,27 @@
+package com.shirdheen.employee.employee_creator_app_project;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.shirdheen.employee.employee_creator_app_project.metrics.RequestMetricsStatementInspector;
+
+// Registered in the test application.properties so tests can see the SQL Hibernate issues.
+// Extends the application's inspector so request tracing keeps working in tests.
+public class RecordingStatementInspector extends RequestMetricsStatementInspector {
+
+    private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        statements.add(sql);
+        return super.inspect(sql);
+    }
+
+    public static void clear() {
+        statements.clear();
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(statements);
+    }
+}
@@ -0,0 +1,60 @@
+package com.shirdheen.employee.employee_creator_app_project;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.shirdheen.employee.employee_creator_app_project.dto.SlowRequestDto;
+import com.shirdheen.employee.employee_creator_app_project.metrics.SlowRequestLog;
+import com.shirdheen.employee.employee_creator_app_project.repository.EmployeeRepository;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// A zero threshold makes every request "slow", so each one is traced
+@SpringBootTest(properties = "employee.metrics.trace.slow-threshold=0ms")
+@AutoConfigureMockMvc
+class RequestMetricsFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SlowRequestLog slowRequestLog;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Test
+    void recordsStatementsAndPayloadPerEndpointAndTracesTheQueries() throws Exception {
+        Long id = employeeRepository.save(TestEmployees.employee("ada.metrics@example.com")).getId();
+
+        mockMvc.perform(get("/api/employees/page?size=5")).andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.get("employee.request.sql.statements")
+                .tags("method", "GET", "uri", "/api/employees/page").summary();
+        assertEquals(1, statements.count());
+        assertEquals(1, statements.totalAmount());
+        assertTrue(meterRegistry.get("employee.response.size")
+                .tags("method", "GET", "uri", "/api/employees/page").summary().totalAmount() > 0);
+
+        mockMvc.perform(get("/api/employees/" + id)).andExpect(status().isOk());
+
+        SlowRequestDto trace = slowRequestLog.recent().get(0);
+        assertEquals("/api/employees/{id}", trace.getUri());
+        assertEquals(1, trace.getStatements());
+        assertFalse(trace.getQueries().isEmpty());
+        assertTrue(trace.getQueries().get(0).getSql().contains("employees"));
+    }
+}
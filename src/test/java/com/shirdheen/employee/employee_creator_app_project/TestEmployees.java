@@ -0,0 +1,44 @@
+package com.shirdheen.employee.employee_creator_app_project;
+
+import java.time.LocalDate;
+
+import com.shirdheen.employee.employee_creator_app_project.model.ContractType;
+import com.shirdheen.employee.employee_creator_app_project.model.Employee;
+import com.shirdheen.employee.employee_creator_app_project.model.EmploymentType;
+
+// Valid employees for tests to save or post. Tests set the fields they are about on top.
+final class TestEmployees {
+
+    private TestEmployees() {
+    }
+
+    // Ada Lovelace: permanent, full time, 38 hours on 100000 since 2020-01-06 and not ongoing,
+    // so she can be deleted
+    static Employee employee(String email) {
+        return employee("Ada", "Lovelace", email);
+    }
+
+    static Employee employee(String firstName, String lastName, String email) {
+        Employee employee = new Employee();
+        employee.setFirstName(firstName);
+        employee.setLastName(lastName);
+        employee.setEmail(email);
+        employee.setMobileNumber("+61 412345678");
+        employee.setContractType(ContractType.PERMANENT);
+        employee.setEmploymentType(EmploymentType.FULL_TIME);
+        employee.setStartDate(LocalDate.of(2020, 1, 6));
+        employee.setSalary(100000.0);
+        employee.setHoursPerWeek(38);
+        return employee;
+    }
+
+    // A fixed-term contract, ongoing only without a finish date
+    static Employee contractor(String email, LocalDate startDate, LocalDate finishDate) {
+        Employee employee = employee(email);
+        employee.setContractType(ContractType.CONTRACT);
+        employee.setStartDate(startDate);
+        employee.setFinishDate(finishDate);
+        employee.setOngoing(finishDate == null);
+        return employee;
+    }
+}